@@ -2,6 +2,8 @@ plugins {
     java
     id("org.springframework.boot") version "4.0.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
+    id("org.graalvm.buildtools.native") version "0.11.1" apply false
 }
 
 group = "dev.jade"
@@ -20,6 +22,25 @@ configurations {
     }
 }
 
+/*
+ Startup profiles, chosen per environment (see scripts/measure-startup.sh):
+   -Paot     Spring AOT-processed JVM build; run with -Dspring.aot.enabled=true
+   -Pnative  GraalVM native image via ./gradlew nativeCompile (implies AOT)
+ ./gradlew cdsArchive [-Paot] trains a class-data-sharing archive for the JVM build.
+
+ AOT decides every @ConditionalOnProperty and @ConditionalOnWebApplication at build
+ time, from the configuration processAot sees. The servlet/reactive stack
+ (spring.main.web-application-type) and the idempotency, search, broadcaster and
+ rate-limit backends are fixed into the artifact; set them in application.properties
+ before building, and rebuild to change them. AotConditionGuard refuses to start an
+ AOT build whose runtime configuration disagrees with a registered bean.
+*/
+if (project.hasProperty("native")) {
+    apply(plugin = "org.graalvm.buildtools.native")
+} else if (project.hasProperty("aot")) {
+    apply(plugin = "org.springframework.boot.aot")
+}
+
 repositories {
     mavenCentral()
 }
@@ -29,13 +50,20 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.mapstruct:mapstruct:1.6.3")
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("tools.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
 
     // Database & Migration
     implementation("org.springframework.boot:spring-boot-flyway")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-mysql")
     runtimeOnly("com.mysql:mysql-connector-j")
+    implementation("org.springframework:spring-r2dbc")
+    runtimeOnly("io.asyncer:r2dbc-mysql")
+    runtimeOnly("io.r2dbc:r2dbc-pool")
 
     // Security
     implementation("org.springframework.boot:spring-boot-starter-security")
@@ -44,6 +72,7 @@ dependencies {
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.13.0")
 
     // Infrastructure & Dev Tools
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     developmentOnly("org.springframework.boot:spring-boot-docker-compose")
 
@@ -61,3 +90,47 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Microbenchmarks live in src/jmh and run with ./gradlew jmh
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val cdsLauncher = javaToolchains.launcherFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+
+val cdsExtract by tasks.registering(Exec::class) {
+    group = "distribution"
+    description = "Extracts the boot jar into the unpacked layout a CDS archive is trained on."
+    dependsOn(tasks.bootJar)
+    executable = cdsLauncher.get().executablePath.asFile.path
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(
+            "-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.path,
+            "extract", "--force", "--destination", cdsDirectory.get().asFile.path
+        )
+    })
+}
+
+// The training run refreshes the full context, so it needs the configured database to be reachable.
+tasks.register<Exec>("cdsArchive") {
+    group = "distribution"
+    description = "Trains build/cds/application.jsa; start with -XX:SharedArchiveFile=application.jsa."
+    dependsOn(cdsExtract)
+    val useAot = project.hasProperty("aot")
+    executable = cdsLauncher.get().executablePath.asFile.path
+    argumentProviders.add(CommandLineArgumentProvider {
+        val directory = cdsDirectory.get().asFile
+        buildList {
+            add("-XX:ArchiveClassesAtExit=" + directory.resolve("application.jsa").path)
+            add("-Dspring.context.exit=onRefresh")
+            if (useAot) add("-Dspring.aot.enabled=true")
+            add("-jar")
+            add(directory.resolve(tasks.bootJar.get().archiveFileName.get()).path)
+        }
+    })
+}
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Runs the same k6 scenario against the servlet and the reactive serving mode
+# and records latency together with what each mode costs the server: live
+# threads, resident memory and open database connections, sampled every few
+# seconds while the load runs.
+#
+#   ./gradlew bootJar
+#   scripts/load/compare-stacks.sh [vus]
+#
+# Needs k6 on the PATH, the datasource from application.properties reachable,
+# and a file-descriptor limit above the client count (ulimit -n).
+#
+set -euo pipefail
+
+VUS="${1:-10000}"
+PORT="${PORT:-18080}"
+DB_PORT="${DB_PORT:-3306}"
+SAMPLE_SECONDS="${SAMPLE_SECONDS:-5}"
+OUT_DIR="build/load/$(date +%Y%m%d-%H%M%S)"
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+mkdir -p "$OUT_DIR"
+
+sample() {
+    local pid="$1" out="$2"
+    echo "epoch,threads,rss_kb,db_connections" >"$out"
+    while kill -0 "$pid" 2>/dev/null; do
+        local threads rss connections
+        threads="$(ps -o nlwp= -p "$pid" | tr -d ' ')"
+        rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+        connections="$(ss -Htnp state established "( dport = :$DB_PORT )" 2>/dev/null | grep -c "pid=$pid," || true)"
+        echo "$(date +%s),$threads,$rss,$connections" >>"$out"
+        sleep "$SAMPLE_SECONDS"
+    done
+}
+
+run_mode() {
+    local mode="$1"
+    local log="$OUT_DIR/$mode.log"
+    java -jar "$JAR" --server.port="$PORT" --spring.main.web-application-type="$mode" >"$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started ExpenseTrackerApplication" "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: process exited before startup completed, see $log" >&2
+            return 1
+        fi
+        sleep 0.2
+    done
+
+    sample "$pid" "$OUT_DIR/$mode-resources.csv" &
+    local sampler=$!
+
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" \
+        --summary-export "$OUT_DIR/$mode-summary.json" scripts/load/expenses.js || true
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    wait "$sampler" 2>/dev/null || true
+
+    awk -F, -v mode="$mode" 'NR > 1 {
+            if ($2 > threads) threads = $2
+            if ($3 > rss) rss = $3
+            if ($4 > connections) connections = $4
+        }
+        END { printf "%-8s peak threads %6d  peak RSS %8.1f MB  peak DB connections %4d\n",
+              mode, threads, rss / 1024, connections }' "$OUT_DIR/$mode-resources.csv"
+}
+
+run_mode servlet
+run_mode reactive
+echo "Latency summaries and raw samples: $OUT_DIR"
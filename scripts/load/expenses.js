@@ -0,0 +1,69 @@
+// k6 scenario for /api/expenses: a mix of paged reads and creates from many
+// concurrent clients, each using one of a pool of pre-registered users.
+//
+//   k6 run -e BASE_URL=http://localhost:18080 -e VUS=10000 scripts/load/expenses.js
+//
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '10000', 10);
+const USERS = parseInt(__ENV.USERS || '200', 10);
+const WRITE_RATIO = parseFloat(__ENV.WRITE_RATIO || '0.1');
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        expenses: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: __ENV.RAMP || '2m', target: VUS },
+                { duration: __ENV.HOLD || '5m', target: VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{op:list}': ['p(95)<500', 'p(99)<1500'],
+        'http_req_duration{op:create}': ['p(95)<800', 'p(99)<2000'],
+    },
+};
+
+export function setup() {
+    const run = Date.now();
+    const tokens = [];
+    for (let i = 0; i < USERS; i++) {
+        const credentials = JSON.stringify({ email: `load-${run}-${i}@example.com`, password: 'load-test-password', confirmPassword: 'load-test-password' });
+        const res = http.post(`${BASE_URL}/api/auth/register`, credentials, { headers: JSON_HEADERS });
+        check(res, { registered: (r) => r.status === 201 });
+        tokens.push(res.json('token'));
+    }
+    return { tokens };
+}
+
+export default function (data) {
+    const token = data.tokens[(__VU - 1) % data.tokens.length];
+    const headers = { ...JSON_HEADERS, Authorization: `Bearer ${token}` };
+
+    if (Math.random() < WRITE_RATIO) {
+        const body = JSON.stringify({
+            description: `load expense ${__VU}-${__ITER}`,
+            amount: (Math.random() * 100 + 1).toFixed(2),
+            entryDate: new Date().toISOString().slice(0, 10),
+        });
+        const res = http.post(`${BASE_URL}/api/expenses`, body, { headers, tags: { op: 'create' } });
+        check(res, { created: (r) => r.status === 201 });
+    } else {
+        const page = Math.floor(Math.random() * 3);
+        const res = http.get(`${BASE_URL}/api/expenses?page=${page}&size=20`, { headers, tags: { op: 'list' } });
+        check(res, { listed: (r) => r.status === 200 });
+    }
+
+    // Think time keeps each client's request rate realistic, so 10k clients
+    // measure concurrency handling rather than raw throughput.
+    sleep(1 + Math.random());
+}
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+#
+# Measures startup time and resident memory of each startup mode so the mode can
+# be chosen per environment. Every mode needs the datasource from
+# application.properties to be reachable.
+#
+#   ./gradlew bootJar -Paot && ./gradlew cdsArchive -Paot
+#   ./gradlew nativeCompile -Pnative
+#   scripts/measure-startup.sh [runs]
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+CDS_DIR="build/cds"
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+EXTRACTED_JAR="$CDS_DIR/$(basename "$JAR")"
+NATIVE_BIN="build/native/nativeCompile/ExpenseTracker"
+
+measure() {
+    local mode="$1"
+    shift
+    local total_ms=0 total_rss=0
+    for _ in $(seq "$RUNS"); do
+        local log
+        log="$(mktemp)"
+        "$@" --server.port="$PORT" >"$log" 2>&1 &
+        local pid=$!
+        until grep -q "Started ExpenseTrackerApplication" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$mode: process exited before startup completed, see $log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        local seconds rss
+        seconds="$(grep -o "Started ExpenseTrackerApplication in [0-9.]*" "$log" | awk '{print $4}')"
+        rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+        total_ms=$(awk -v t="$total_ms" -v s="$seconds" 'BEGIN {print t + s * 1000}')
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-12s startup %8.0f ms   rss %6d MB\n" "$mode" \
+        "$(awk -v t="$total_ms" -v n="$RUNS" 'BEGIN {print t / n}')" \
+        $((total_rss / RUNS / 1024))
+}
+
+measure "jvm" java -jar "$JAR"
+measure "jvm+aot" java -Dspring.aot.enabled=true -jar "$JAR"
+if [[ -f "$CDS_DIR/application.jsa" ]]; then
+    measure "jvm+aot+cds" java -XX:SharedArchiveFile="$CDS_DIR/application.jsa" \
+        -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+fi
+if [[ -x "$NATIVE_BIN" ]]; then
+    measure "native" "$NATIVE_BIN"
+fi
@@ -0,0 +1,88 @@
+-- Seeds one million categorized and tagged expenses for a benchmark user and
+-- times the join-based tag queries that the in-memory bitmaps replace (see
+-- TagFilterBenchmark for the bitmap side). Run against a scratch database that
+-- has been migrated.
+--
+--   mysql -u root expense_db < scripts/tags/benchmark-tag-filter.sql
+--
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO users (email, password)
+VALUES ('tags-benchmark@example.com', 'not-a-real-hash');
+SET @user_id = LAST_INSERT_ID();
+
+INSERT INTO categories (user_id, name)
+VALUES (@user_id, 'groceries'), (@user_id, 'transport'), (@user_id, 'housing'), (@user_id, 'utilities'),
+       (@user_id, 'dining'), (@user_id, 'entertainment'), (@user_id, 'health'), (@user_id, 'other');
+
+INSERT INTO tags (user_id, name)
+VALUES (@user_id, 'work'), (@user_id, 'family'), (@user_id, 'travel'), (@user_id, 'commute'),
+       (@user_id, 'health'), (@user_id, 'gift'), (@user_id, 'subscription'), (@user_id, 'shared'),
+       (@user_id, 'reimbursable'), (@user_id, 'cash'), (@user_id, 'online'), (@user_id, 'weekend');
+
+SELECT MIN(category_id) INTO @first_category FROM categories WHERE user_id = @user_id;
+SELECT MIN(tag_id) INTO @first_tag FROM tags WHERE user_id = @user_id;
+
+INSERT INTO expenses (user_id, description, amount, entry_date, category_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT @user_id,
+       CONCAT('expense ', n),
+       1 + (n % 50000) / 100,
+       DATE_ADD('2015-01-01', INTERVAL n % 3650 DAY),
+       @first_category + (n * 7) % 8
+FROM seq;
+
+-- Zero to three tags per expense, five apart, as in the JMH benchmark.
+INSERT INTO expense_tags (expense_id, tag_id)
+SELECT e.expense_id, @first_tag + (e.expense_id * 11 + k.k * 5) % 12
+FROM expenses e
+         JOIN (SELECT 0 AS k UNION ALL SELECT 1 UNION ALL SELECT 2) k ON k.k < e.expense_id % 4
+WHERE e.user_id = @user_id;
+
+ANALYZE TABLE expenses, expense_tags, tags, categories;
+
+-- Single tag, first page (the shape ExpenseSpecifications.labelled builds).
+EXPLAIN ANALYZE
+SELECT e.expense_id
+FROM expenses e
+WHERE e.user_id = @user_id
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('travel'))
+ORDER BY e.entry_date DESC, e.expense_id DESC
+LIMIT 20;
+
+-- Two tags, both required: one EXISTS per group.
+EXPLAIN ANALYZE
+SELECT e.expense_id
+FROM expenses e
+WHERE e.user_id = @user_id
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('work'))
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('reimbursable'))
+ORDER BY e.entry_date DESC, e.expense_id DESC
+LIMIT 20;
+
+-- (commute OR travel) AND shared, within one category.
+EXPLAIN ANALYZE
+SELECT e.expense_id
+FROM expenses e
+         JOIN categories c ON c.category_id = e.category_id
+WHERE e.user_id = @user_id
+  AND c.name = 'transport'
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('commute', 'travel'))
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('shared'))
+ORDER BY e.entry_date DESC, e.expense_id DESC
+LIMIT 20;
+
+-- The count query Spring Data issues alongside the page above.
+EXPLAIN ANALYZE
+SELECT COUNT(*)
+FROM expenses e
+WHERE e.user_id = @user_id
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('work'))
+  AND EXISTS (SELECT 1 FROM expense_tags et JOIN tags t ON t.tag_id = et.tag_id
+              WHERE et.expense_id = e.expense_id AND t.name IN ('reimbursable'));
@@ -0,0 +1,98 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a one-year aggregate over the columnar store with the same aggregate
+ * computed over managed {@link Expense} entities, which is what an ORM-based
+ * implementation pays once the rows are loaded.
+ *
+ * <p>The SQL side of the comparison needs a populated MySQL instance; run
+ * {@code SELECT SUM(amount), AVG(amount), MIN(amount), MAX(amount) FROM expenses
+ * WHERE user_id = ? AND entry_date BETWEEN ? AND ?} against the same data set.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpendingAggregateBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private UserExpenseColumns columns;
+    private List<Expense> entities;
+    private LocalDate from;
+    private LocalDate to;
+    private final UserExpenseColumns.RangeAggregate aggregate = new UserExpenseColumns.RangeAggregate();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+
+        long[] ids = new long[rows];
+        long[] cents = new long[rows];
+        int[] days = new int[rows];
+        entities = new ArrayList<>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = start.plusDays(random.nextInt(3650));
+            long amount = 100 + random.nextInt(50_000);
+
+            ids[i] = i;
+            cents[i] = amount;
+            days[i] = (int) date.toEpochDay();
+
+            Expense expense = new Expense();
+            expense.setExpenseId((long) i);
+            expense.setAmount(BigDecimal.valueOf(amount, 2));
+            expense.setEntryDate(date);
+            entities.add(expense);
+        }
+
+        columns = new UserExpenseColumns();
+        columns.completeLoad(ids, cents, days, rows);
+
+        from = LocalDate.of(2020, 1, 1);
+        to = LocalDate.of(2020, 12, 31);
+    }
+
+    @Benchmark
+    public long columnar() {
+        columns.aggregate((int) from.toEpochDay(), (int) to.toEpochDay(), aggregate);
+        return aggregate.sum + aggregate.min + aggregate.max;
+    }
+
+    @Benchmark
+    public BigDecimal entities() {
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (Expense expense : entities) {
+            LocalDate date = expense.getEntryDate();
+            if (date.isBefore(from) || date.isAfter(to)) {
+                continue;
+            }
+            BigDecimal amount = expense.getAmount();
+            sum = sum.add(amount);
+            min = min == null || amount.compareTo(min) < 0 ? amount : min;
+            max = max == null || amount.compareTo(max) > 0 ? amount : max;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialize/deserialize cost of a {@code PagedModel<ExpenseResponse>} page in
+ * each negotiated format. Raw and gzipped payload sizes are printed once per
+ * trial so bytes on the wire can be compared alongside the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private PagedModel<ExpenseResponse> page;
+    private byte[] encoded;
+
+    public record PageBody(List<ExpenseResponse> content, PagedModel.PageMetadata page) {
+    }
+
+    @Setup
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+
+        List<ExpenseResponse> content = new ArrayList<>(pageSize);
+        Instant now = Instant.parse("2026-01-15T10:15:30Z");
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new ExpenseResponse(
+                    (long) i + 1,
+                    42L,
+                    "Expense number " + i,
+                    BigDecimal.valueOf(1_000 + i * 37L, 2),
+                    LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                    "groceries",
+                    List.of("family", "weekly"),
+                    now,
+                    now
+            ));
+        }
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L));
+        encoded = mapper.writeValueAsBytes(page);
+
+        System.out.printf("%n%s page of %d: %d bytes raw, %d bytes gzip%n",
+                format, pageSize, encoded.length, gzippedSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageBody deserialize() {
+        return mapper.readValue(encoded, PageBody.class);
+    }
+
+    private static int gzippedSize(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,68 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency of the in-memory inverted index, up to one million
+ * descriptions in a single index (far more than any one user holds).
+ *
+ * <p>The FULLTEXT backend is measured against MySQL with
+ * {@code scripts/search/benchmark-fulltext.sql}, which seeds the same
+ * vocabulary at one million rows.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpenseSearchBenchmark {
+
+    private static final String[] MERCHANTS = {
+            "uber", "lyft", "rent", "groceries", "coffee", "netflix", "spotify", "gym",
+            "electricity", "water", "internet", "pharmacy", "cinema", "restaurant", "taxi", "parking"
+    };
+    private static final String[] QUALIFIERS = {
+            "monthly", "weekly", "trip", "airport", "downtown", "family", "office", "late", "shared", "annual"
+    };
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private InvertedIndex index;
+    private final List<String> commonTerm = List.of("uber");
+    private final List<String> prefixTerms = List.of("rest", "fam");
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2024, 12, 31);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        index = new InvertedIndex();
+        for (int i = 0; i < rows; i++) {
+            String description = MERCHANTS[random.nextInt(MERCHANTS.length)] + " "
+                    + QUALIFIERS[random.nextInt(QUALIFIERS.length)] + " " + random.nextInt(1000);
+            index.put(i, start.plusDays(random.nextInt(3650)), description);
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> singleTermFirstPage() {
+        return index.search(commonTerm, null, null, null, 21);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefixTermsWithinYear() {
+        return index.search(prefixTerms, from, to, null, 21);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of tag queries to expense ids by one user's bitmaps, up to one
+ * million labelled expenses.
+ *
+ * <p>The join-based query it replaces is measured against MySQL with
+ * {@code scripts/tags/benchmark-tag-filter.sql}, which seeds the same tag and
+ * category distribution and runs the same three queries both ways.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagFilterBenchmark {
+
+    private static final String[] TAGS = {
+            "work", "family", "travel", "commute", "health", "gift", "subscription", "shared",
+            "reimbursable", "cash", "online", "weekend"
+    };
+    private static final String[] CATEGORIES = {
+            "groceries", "transport", "housing", "utilities", "dining", "entertainment", "health", "other"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private UserTagBitmaps bitmaps;
+    private final TagQuery singleTag = TagQuery.of(null, List.of("travel"));
+    private final TagQuery twoTags = TagQuery.of(null, List.of("work", "reimbursable"));
+    private final TagQuery alternativesInCategory = TagQuery.of("transport", List.of("commute|travel", "shared"));
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[rows];
+        String[] categories = new String[rows];
+        String[][] tags = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = 1_000_000L + i * 3L;
+            categories[i] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            int count = random.nextInt(4);
+            tags[i] = new String[count];
+            int first = random.nextInt(TAGS.length);
+            for (int t = 0; t < count; t++) {
+                tags[i][t] = TAGS[(first + t * 5) % TAGS.length];
+            }
+        }
+        bitmaps = new UserTagBitmaps();
+        bitmaps.completeLoad(ids, categories, tags, rows);
+        System.out.printf("%n%d labelled expenses: ~%d bytes of bitmaps and ordinals%n", rows, bitmaps.estimatedBytes());
+    }
+
+    @Benchmark
+    public long[] singleTag() {
+        return bitmaps.match(singleTag);
+    }
+
+    @Benchmark
+    public long[] twoTagsBothRequired() {
+        return bitmaps.match(twoTags);
+    }
+
+    @Benchmark
+    public long[] alternativesWithinCategory() {
+        return bitmaps.match(alternativesInCategory);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.jade.expensetracker.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.core.userdetails.User;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejections per second for bad bearer tokens: the previous path (fresh parser
+ * per call, exception thrown and caught, a new exception for the resolver)
+ * against {@link JwtService#verify(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class TokenRejectionBenchmark {
+
+    private static final String SECRET = "ZGV2LWphZGUtZXhwZW5zZS10cmFja2VyLWJlbmNobWFyay1zZWNyZXQta2V5";
+
+    @Param({"garbage", "forged", "expired"})
+    private String kind;
+
+    private JwtService jwtService;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+        String valid = jwtService.generateToken(User.withUsername("bench@example.com").password("x").build());
+        token = switch (kind) {
+            case "garbage" -> "not-a-jwt-at-all";
+            case "forged" -> valid.substring(0, valid.lastIndexOf('.') + 1) + "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+            default -> Jwts.builder()
+                    .subject("bench@example.com")
+                    .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                    .expiration(new Date(System.currentTimeMillis() - 60_000))
+                    .signWith(key)
+                    .compact();
+        };
+    }
+
+    @Benchmark
+    public Object previousPath() {
+        try {
+            return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                    .parseSignedClaims(token).getPayload().getSubject();
+        } catch (RuntimeException e) {
+            // The old filter forwarded the caught exception; model the resolver's allocation.
+            return new RuntimeException(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public Claims fastPath() {
+        return jwtService.verify(token);
+    }
+}
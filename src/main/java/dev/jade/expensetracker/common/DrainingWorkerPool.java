@@ -0,0 +1,57 @@
+package dev.jade.expensetracker.common;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed pool of daemon threads, named {@code <name>-N}, that each run
+ * {@code drain} until it returns.
+ *
+ * <p>{@link #start} tops the pool up to {@code size} running drains and is cheap
+ * to call on every trigger, such as an event or a poll; a call while the pool is
+ * full does nothing. A drain is expected to loop until it finds no more work and
+ * to handle its own failures. Whatever it throws only frees its slot for the
+ * next {@link #start}.</p>
+ */
+public final class DrainingWorkerPool {
+
+    private final int size;
+    private final Runnable drain;
+    private final ExecutorService workers;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+
+    public DrainingWorkerPool(String name, int size, Runnable drain) {
+        this.size = size;
+        this.drain = drain;
+        this.workers = Executors.newFixedThreadPool(size, Thread.ofPlatform().name(name + "-", 0).daemon().factory());
+    }
+
+    public void start() {
+        int active;
+        while ((active = activeWorkers.get()) < size) {
+            if (activeWorkers.compareAndSet(active, active + 1)) {
+                try {
+                    workers.execute(this::runDrain);
+                } catch (RejectedExecutionException e) {
+                    activeWorkers.decrementAndGet();
+                    return; // shut down
+                }
+            }
+        }
+    }
+
+    /** Interrupts running drains; later calls to {@link #start} do nothing. */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void runDrain() {
+        try {
+            drain.run();
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package dev.jade.expensetracker.common;
 
+/**
+ * Stackless for the same reason as {@link ResourceNotFoundException}; always
+ * translated into a 409 by {@link GlobalExceptionHandler}.
+ */
 public class DuplicateResourceException extends RuntimeException {
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
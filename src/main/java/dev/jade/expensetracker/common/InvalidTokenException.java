@@ -0,0 +1,18 @@
+package dev.jade.expensetracker.common;
+
+/**
+ * Signals a bearer token that failed verification.
+ *
+ * <p>It carries no request-specific state and no stack trace, so
+ * {@code JwtAuthFilter} hands the shared {@link #INSTANCE} straight to the
+ * exception resolver instead of throwing, and rejecting a token allocates
+ * nothing on this side.</p>
+ */
+public final class InvalidTokenException extends RuntimeException {
+
+    public static final InvalidTokenException INSTANCE = new InvalidTokenException();
+
+    private InvalidTokenException() {
+        super("Invalid or expired token", null, false, false);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.jade.expensetracker.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's in-memory state in a {@link PerUserResidentCache}, built from a
+ * database snapshot and then kept current from committed changes.
+ *
+ * <p>A new instance starts out loading. Mutations that arrive before
+ * {@link #completeLoad} are queued and replayed on top of the snapshot, so a
+ * change that commits while the snapshot is read is never lost. Subclasses
+ * make their mutations idempotent per expense id, so one that is both in the
+ * snapshot and in the queue applies only once. Readers other than the loader
+ * wait in {@link #awaitLoad} for the one load in flight.</p>
+ *
+ * <p>Subclasses read under {@code lock.readLock()} and change state only
+ * through {@link #mutate} and {@link #completeLoad}.</p>
+ */
+public abstract class LoadableUserState {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean loaded;
+    private List<Runnable> pending = new ArrayList<>();
+
+    private final CountDownLatch loadDone = new CountDownLatch(1);
+    private volatile boolean loadFailed;
+
+    public abstract long estimatedBytes();
+
+    /** Runs {@code build} on the snapshot, then replays the mutations queued while it was read. */
+    protected final void completeLoad(Runnable build) {
+        lock.writeLock().lock();
+        try {
+            build.run();
+            List<Runnable> queued = pending;
+            pending = null;
+            loaded = true;
+            queued.forEach(Runnable::run);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loadDone.countDown();
+    }
+
+    /** Applies {@code change} under the write lock, or queues it while the snapshot is loading. */
+    protected final void mutate(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            } else {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public final boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Releases the readers waiting in {@link #awaitLoad}; the instance must not be used afterwards. */
+    final void failLoad() {
+        loadFailed = true;
+        loadDone.countDown();
+    }
+
+    /** Blocks until the load in flight has finished; {@code false} if it failed. */
+    final boolean awaitLoad() {
+        try {
+            loadDone.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a user to load", e);
+        }
+        return !loadFailed;
+    }
+}
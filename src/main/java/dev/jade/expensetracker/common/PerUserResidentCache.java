@@ -0,0 +1,117 @@
+package dev.jade.expensetracker.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-user states loaded on first use and kept resident, least recently used
+ * first out once their estimated footprint exceeds a byte budget.
+ *
+ * <p>The first caller for a user registers a fresh state and loads it; callers
+ * arriving meanwhile wait for that one load instead of starting their own. The
+ * state is registered before the snapshot is read, so a change committed after
+ * registration is either queued on the state or already in the snapshot. A
+ * failed load unregisters its state and releases the waiters, which then try
+ * again. Evicted users simply reload on their next use.</p>
+ */
+public final class PerUserResidentCache<T extends LoadableUserState> {
+
+    private final Supplier<T> factory;
+    private final BiConsumer<Long, T> loader;
+    private final long maxBytes;
+
+    private final Map<Long, T> users = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * @param loader reads the user's snapshot and completes the state's load;
+     *               an exception it throws fails the load and reaches the caller
+     */
+    public PerUserResidentCache(Supplier<T> factory, BiConsumer<Long, T> loader, long maxBytes) {
+        this.factory = factory;
+        this.loader = loader;
+        this.maxBytes = maxBytes;
+    }
+
+    /** The user's loaded state, loading it first if it is not resident. */
+    public T get(Long userId) {
+        while (true) {
+            T state;
+            boolean mustLoad = false;
+
+            synchronized (users) {
+                state = users.get(userId);
+                if (state == null) {
+                    state = factory.get();
+                    users.put(userId, state);
+                    mustLoad = true;
+                }
+            }
+
+            if (mustLoad) {
+                load(userId, state);
+                evictOverBudget();
+                return state;
+            }
+            if (state.awaitLoad()) {
+                return state;
+            }
+            // The load we waited for failed and unregistered its state; try again.
+        }
+    }
+
+    /**
+     * The user's state if it is resident, loaded or still loading, for applying a
+     * change; {@code null} otherwise, since the next load reads the committed state.
+     */
+    public T resident(Long userId) {
+        synchronized (users) {
+            return users.get(userId);
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (users) {
+            users.remove(userId);
+        }
+    }
+
+    /** Drops the least recently used users while over budget, always keeping the newest. */
+    public void evictOverBudget() {
+        synchronized (users) {
+            long total = 0;
+            for (T state : users.values()) {
+                total += state.estimatedBytes();
+            }
+
+            Iterator<T> eldestFirst = users.values().iterator();
+            while (total > maxBytes && users.size() > 1 && eldestFirst.hasNext()) {
+                total -= eldestFirst.next().estimatedBytes();
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private void load(Long userId, T state) {
+        try {
+            loader.accept(userId, state);
+            if (!state.isLoaded()) {
+                throw new IllegalStateException("Loading user " + userId + " did not complete its state");
+            }
+        } catch (RuntimeException e) {
+            synchronized (users) {
+                users.remove(userId, state);
+            }
+            state.failLoad();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.jade.expensetracker.common;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * An {@link ErrorResponse} body with fixed status and message, serialized once.
+ *
+ * <p>Only the timestamp changes between responses, so the JSON before and after
+ * it is kept as bytes and each response is a single array fill instead of a
+ * trip through the message converters. Intended for the high-volume rejections
+ * (bad tokens, rate limiting) that carry a constant message.</p>
+ */
+public final class PreSerializedError {
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    public PreSerializedError(HttpStatus status, String message) {
+        this.prefix = ("{\"status\":" + status.value()
+                + ",\"message\":\"" + escape(message)
+                + "\",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+        this.suffix = "\"}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] render(Instant timestamp) {
+        String time = timestamp.toString();
+        byte[] body = new byte[prefix.length + time.length() + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        for (int i = 0; i < time.length(); i++) {
+            body[prefix.length + i] = (byte) time.charAt(i); // ISO-8601 is plain ASCII
+        }
+        System.arraycopy(suffix, 0, body, prefix.length + time.length(), suffix.length);
+        return body;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
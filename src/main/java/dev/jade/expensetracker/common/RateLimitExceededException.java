@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.common;
+
+import lombok.Getter;
+
+/**
+ * Stackless: raised at a high rate by design when a client floods the API.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    public static final String DEFAULT_MESSAGE = "Rate limit exceeded, retry later";
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(DEFAULT_MESSAGE, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,7 +1,12 @@
 package dev.jade.expensetracker.common;
 
+/**
+ * Stackless: thrown for ordinary client mistakes and always translated into a
+ * 404 by {@link GlobalExceptionHandler}, so a captured stack trace would never
+ * be read but would still be paid for on every throw.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,100 @@
+package dev.jade.expensetracker.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fails startup when an AOT-processed build runs with a configuration its
+ * conditions were not evaluated for.
+ *
+ * <p>Spring AOT evaluates {@code @ConditionalOnProperty} and
+ * {@code @ConditionalOnWebApplication} once, in {@code processAot}, and the
+ * generated context registers only the beans that matched then. Switching
+ * {@code spring.main.web-application-type} or a backend property (idempotency
+ * store, search backend, stream broadcaster, rate-limit backend) at runtime
+ * would otherwise be ignored without a word. Before any bean is created, this
+ * re-evaluates the conditions of the application's own beans against the
+ * runtime environment and refuses to start on a mismatch. A bean left out at
+ * build time cannot be seen here, so turning an opt-in such as
+ * {@code warmup.enabled} on at runtime still needs a rebuild.</p>
+ */
+@Component
+public class AotConditionGuard implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final String BASE_PACKAGE = "dev.jade.expensetracker.";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getMergedBeanDefinition(name).getResolvableType().resolve();
+            if (type == null || !type.getName().startsWith(BASE_PACKAGE)) {
+                continue;
+            }
+
+            ConditionalOnProperty property = AnnotatedElementUtils.findMergedAnnotation(type, ConditionalOnProperty.class);
+            if (property != null && !matches(property)) {
+                mismatches.add(type.getSimpleName() + " was built for " + String.join(",", property.name())
+                        + "=" + (property.havingValue().isEmpty() ? "true" : property.havingValue()));
+            }
+            ConditionalOnWebApplication web = AnnotatedElementUtils.findMergedAnnotation(type, ConditionalOnWebApplication.class);
+            if (web != null && web.type() != ConditionalOnWebApplication.Type.ANY
+                    && !web.type().name().equals(webApplicationType().name())) {
+                mismatches.add(type.getSimpleName() + " was built for spring.main.web-application-type="
+                        + web.type().name().toLowerCase());
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("This AOT build was processed with different conditions than the runtime"
+                    + " configuration; rebuild with the same properties or run without -Dspring.aot.enabled: "
+                    + String.join("; ", mismatches));
+        }
+    }
+
+    private boolean matches(ConditionalOnProperty condition) {
+        String prefix = condition.prefix().isEmpty() || condition.prefix().endsWith(".")
+                ? condition.prefix()
+                : condition.prefix() + ".";
+        for (String name : condition.name()) {
+            String value = environment.getProperty(prefix + name);
+            boolean matched = value == null
+                    ? condition.matchIfMissing()
+                    : condition.havingValue().isEmpty()
+                    ? !"false".equalsIgnoreCase(value)
+                    : condition.havingValue().equalsIgnoreCase(value);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Both stacks are on the classpath, so an unset type means servlet, as SpringApplication deduces. */
+    private WebApplicationType webApplicationType() {
+        return environment.getProperty("spring.main.web-application-type", WebApplicationType.class,
+                WebApplicationType.SERVLET);
+    }
+}
@@ -0,0 +1,59 @@
+package dev.jade.expensetracker.config;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Infrastructure for the reactive serving mode ({@code spring.main.web-application-type=reactive}).
+ *
+ * <p>The expense endpoints run end to end on Netty event loops against an R2DBC
+ * pool. Everything else (auth, admin) keeps using JPA; those controllers return
+ * plain values and are invoked on virtual threads so they never block an event loop.</p>
+ *
+ * <p>The R2DBC transaction manager is deliberately not a bean: Boot only creates
+ * the JPA transaction manager while no other {@code TransactionManager} exists.</p>
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Configuration
+public class ReactiveStackConfig implements WebFluxConfigurer {
+
+    @Bean
+    public ConnectionFactory connectionFactory(
+            @Value("${reactive.r2dbc.url:r2dbc:pool:mysql://localhost:3306/expense_db?initialSize=10&maxSize=50}") String url,
+            @Value("${reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${reactive.r2dbc.password:${spring.datasource.password:}}") String password) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return ConnectionFactories.get(options);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("blocking-handler-");
+        executor.setVirtualThreads(true);
+        configurer.setExecutor(executor);
+    }
+}
@@ -0,0 +1,31 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import dev.jade.expensetracker.domain.analytics.dto.SpendingSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final SpendingAnalyticsService analyticsService;
+
+    @GetMapping("/spending")
+    public SpendingSummary getSpendingSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<String> tags) {
+        return analyticsService.summarize(from, to, category, tags);
+    }
+}
@@ -0,0 +1,38 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import dev.jade.expensetracker.domain.analytics.dto.SpendingSummary;
+import dev.jade.expensetracker.domain.expense.tag.ExpenseTagIndex;
+import dev.jade.expensetracker.domain.expense.tag.TagQuery;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SpendingAnalyticsService {
+
+    private final SpendingAnalyticsStore store;
+    private final ExpenseTagIndex tagIndex;
+
+    /** {@code category} and {@code tags} narrow the expenses as on {@code GET /api/expenses}. */
+    public SpendingSummary summarize(LocalDate from, LocalDate to, String category, List<String> tags) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        Long userId = getCurrentUser().getUserId();
+        TagQuery tagQuery = TagQuery.of(category, tags);
+        long[] expenseIds = tagQuery.isEmpty() ? null : tagIndex.match(userId, tagQuery);
+        return store.summarize(userId, from, to, expenseIds);
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,115 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import dev.jade.expensetracker.common.PerUserResidentCache;
+import dev.jade.expensetracker.domain.analytics.dto.SpendingSummary;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseAmountView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * In-process columnar store for per-user spending aggregates.
+ *
+ * <p>A user's expenses are loaded from {@link ExpenseRepository} the first time
+ * they are queried and are then kept current from committed
+ * {@link ExpenseChangedEvent}s, in a {@link PerUserResidentCache} bounded by
+ * {@code analytics.store.max-bytes}. The budget is checked whenever a load or a
+ * change grows a user's columns.</p>
+ */
+@Component
+public class SpendingAnalyticsStore {
+
+    private final ExpenseRepository expenseRepository;
+    private final PerUserResidentCache<UserExpenseColumns> users;
+
+    public SpendingAnalyticsStore(
+            ExpenseRepository expenseRepository,
+            @Value("${analytics.store.max-bytes:67108864}") long maxBytes) {
+        this.expenseRepository = expenseRepository;
+        this.users = new PerUserResidentCache<>(UserExpenseColumns::new, this::load, maxBytes);
+    }
+
+    public SpendingSummary summarize(Long userId, LocalDate from, LocalDate to) {
+        return summarize(userId, from, to, null);
+    }
+
+    /** Summarizes only the expenses in {@code expenseIds} (ascending), or all when it is {@code null}. */
+    public SpendingSummary summarize(Long userId, LocalDate from, LocalDate to, long[] expenseIds) {
+        UserExpenseColumns columns = users.get(userId);
+
+        UserExpenseColumns.RangeAggregate aggregate = new UserExpenseColumns.RangeAggregate();
+        columns.aggregate((int) from.toEpochDay(), (int) to.toEpochDay(), expenseIds, aggregate);
+
+        if (aggregate.count == 0) {
+            return new SpendingSummary(from, to, 0, BigDecimal.ZERO.setScale(2), null, null, null);
+        }
+
+        BigDecimal total = fromCents(aggregate.sum);
+        return new SpendingSummary(
+                from,
+                to,
+                aggregate.count,
+                total,
+                total.divide(BigDecimal.valueOf(aggregate.count), 2, RoundingMode.HALF_UP),
+                fromCents(aggregate.min),
+                fromCents(aggregate.max)
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserExpenseColumns columns = users.resident(event.userId());
+        if (columns == null) {
+            return;
+        }
+
+        if (event.type() == ExpenseChangedEvent.Type.DELETED) {
+            columns.remove(event.expenseId());
+        } else {
+            ExpenseResponse current = event.current();
+            long before = columns.estimatedBytes();
+            columns.upsert(current.expenseId(), toCents(current.amount()), (int) current.entryDate().toEpochDay());
+            if (columns.estimatedBytes() > before) {
+                users.evictOverBudget();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        users.evict(event.userId());
+    }
+
+    private void load(Long userId, UserExpenseColumns columns) {
+        List<ExpenseAmountView> rows = expenseRepository.findAmountViewsByUserId(userId);
+
+        int count = rows.size();
+        long[] ids = new long[count];
+        long[] cents = new long[count];
+        int[] days = new int[count];
+        for (int i = 0; i < count; i++) {
+            ExpenseAmountView row = rows.get(i);
+            ids[i] = row.expenseId();
+            cents[i] = toCents(row.amount());
+            days[i] = (int) row.entryDate().toEpochDay();
+        }
+        columns.completeLoad(ids, cents, days, count);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,202 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import dev.jade.expensetracker.common.LoadableUserState;
+
+import java.util.Arrays;
+
+/**
+ * One user's expenses held as parallel primitive columns, kept sorted by
+ * (epoch day, expense id) so a date range is a contiguous slice.
+ *
+ * <p>Scans run under a read lock and touch only the primitive arrays, so an
+ * aggregate over any range allocates nothing beyond its result. Writes shift
+ * the tail of the arrays in place; a user's history is small enough that this
+ * is cheaper than any tree structure. Both writes are idempotent per expense
+ * id, as {@link LoadableUserState} requires.</p>
+ */
+class UserExpenseColumns extends LoadableUserState {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Approximate bytes per row: one long id, one long amount, one int day. */
+    static final int BYTES_PER_ROW = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Fills the columns from a snapshot, then replays the mutations queued while
+     * it was read. Rows are expected in (day, id) order, as the repository
+     * returns them; anything else is sorted once here. The columns are sized for
+     * the snapshot up front rather than grown row by row.
+     */
+    void completeLoad(long[] loadedIds, long[] loadedCents, int[] loadedDays, int count) {
+        completeLoad(() -> fill(loadedIds, loadedCents, loadedDays, count));
+    }
+
+    void upsert(long id, long amountCents, int epochDay) {
+        mutate(() -> {
+            removeById(id);
+            insertSorted(id, amountCents, epochDay);
+        });
+    }
+
+    void remove(long id) {
+        mutate(() -> removeById(id));
+    }
+
+    /**
+     * Aggregates every row with {@code fromDay <= day <= toDay} into {@code into}.
+     */
+    void aggregate(int fromDay, int toDay, RangeAggregate into) {
+        aggregate(fromDay, toDay, null, into);
+    }
+
+    /**
+     * Like {@link #aggregate(int, int, RangeAggregate)}, counting only rows whose
+     * id is in {@code onlyIds} (ascending), or every row when it is {@code null}.
+     */
+    void aggregate(int fromDay, int toDay, long[] onlyIds, RangeAggregate into) {
+        lock.readLock().lock();
+        try {
+            int start = lowerBound(fromDay);
+            int end = lowerBound(toDay + 1);
+
+            long count = 0;
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = start; i < end; i++) {
+                if (onlyIds != null && Arrays.binarySearch(onlyIds, ids[i]) < 0) {
+                    continue;
+                }
+                long value = cents[i];
+                count++;
+                sum += value;
+                if (value < min) {
+                    min = value;
+                }
+                if (value > max) {
+                    max = value;
+                }
+            }
+            into.set(count, sum, min, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * BYTES_PER_ROW;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void fill(long[] loadedIds, long[] loadedCents, int[] loadedDays, int count) {
+        int capacity = Math.max(INITIAL_CAPACITY, count);
+        ids = new long[capacity];
+        cents = new long[capacity];
+        days = new int[capacity];
+        size = count;
+
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = loadedDays[i - 1] < loadedDays[i]
+                    || (loadedDays[i - 1] == loadedDays[i] && loadedIds[i - 1] < loadedIds[i]);
+        }
+        if (sorted) {
+            System.arraycopy(loadedIds, 0, ids, 0, count);
+            System.arraycopy(loadedCents, 0, cents, 0, count);
+            System.arraycopy(loadedDays, 0, days, 0, count);
+            return;
+        }
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> loadedDays[a] != loadedDays[b]
+                ? Integer.compare(loadedDays[a], loadedDays[b])
+                : Long.compare(loadedIds[a], loadedIds[b]));
+        for (int i = 0; i < count; i++) {
+            int row = order[i];
+            ids[i] = loadedIds[row];
+            cents[i] = loadedCents[row];
+            days[i] = loadedDays[row];
+        }
+    }
+
+    private int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertSorted(long id, long amountCents, int epochDay) {
+        if (size == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            days = Arrays.copyOf(days, capacity);
+        }
+
+        int index = lowerBound(epochDay);
+        while (index < size && days[index] == epochDay && ids[index] < id) {
+            index++;
+        }
+
+        int tail = size - index;
+        System.arraycopy(ids, index, ids, index + 1, tail);
+        System.arraycopy(cents, index, cents, index + 1, tail);
+        System.arraycopy(days, index, days, index + 1, tail);
+
+        ids[index] = id;
+        cents[index] = amountCents;
+        days[index] = epochDay;
+        size++;
+    }
+
+    private void removeById(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                int tail = size - i - 1;
+                System.arraycopy(ids, i + 1, ids, i, tail);
+                System.arraycopy(cents, i + 1, cents, i, tail);
+                System.arraycopy(days, i + 1, days, i, tail);
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mutable holder so callers can aggregate without allocating per scan.
+     */
+    static final class RangeAggregate {
+        long count;
+        long sum;
+        long min;
+        long max;
+
+        void set(long count, long sum, long min, long max) {
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
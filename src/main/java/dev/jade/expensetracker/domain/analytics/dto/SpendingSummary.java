@@ -0,0 +1,23 @@
+package dev.jade.expensetracker.domain.analytics.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SpendingSummary(
+
+        LocalDate from,
+
+        LocalDate to,
+
+        long count,
+
+        BigDecimal total,
+
+        BigDecimal average,
+
+        BigDecimal min,
+
+        BigDecimal max
+
+) {
+}
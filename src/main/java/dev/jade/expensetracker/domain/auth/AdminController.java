@@ -0,0 +1,23 @@
+package dev.jade.expensetracker.domain.auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final AuthService authService;
+
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<Void> revokeAllTokens(
+            @PathVariable Long userId) {
+        authService.revokeAllTokens(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,12 +3,16 @@ package dev.jade.expensetracker.domain.auth;
 import dev.jade.expensetracker.domain.auth.dto.AuthResponse;
 import dev.jade.expensetracker.domain.auth.dto.LoginRequest;
 import dev.jade.expensetracker.domain.auth.dto.RegisterUserRequest;
+import dev.jade.expensetracker.domain.user.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,4 +34,12 @@ public class AuthController {
             @Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+            @AuthenticationPrincipal User user) {
+        authService.logout(authHeader.substring("Bearer ".length()), user);
+        return ResponseEntity.noContent().build();
+    }
 }
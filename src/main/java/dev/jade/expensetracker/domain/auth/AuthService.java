@@ -8,11 +8,16 @@ import dev.jade.expensetracker.domain.auth.dto.RegisterUserRequest;
 import dev.jade.expensetracker.domain.user.User;
 import dev.jade.expensetracker.domain.user.UserRepository;
 import dev.jade.expensetracker.security.JwtService;
+import dev.jade.expensetracker.security.revocation.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +27,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthResponse register(RegisterUserRequest request) {
 
@@ -58,4 +64,28 @@ public class AuthService {
 
         return new AuthResponse(user.getUserId(), user.getEmail(), user.getCreatedAt(), token);
     }
+
+    /**
+     * The caller is passed in rather than read from {@code SecurityContextHolder}
+     * so logout also works in the reactive serving mode, where the security
+     * context lives in the Reactor context.
+     */
+    public void logout(String token, User user) {
+        String tokenId = jwtService.extractTokenId(token);
+        if (tokenId == null) {
+            throw new RuntimeException("Token cannot be revoked individually, sign in again to get a new one");
+        }
+
+        tokenRevocationService.revoke(tokenId, user.getUserId(), jwtService.extractExpiration(token).toInstant());
+    }
+
+    @Transactional
+    public void revokeAllTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // The issued-at claim has whole seconds, so round up: a token from this second may predate the revoke.
+        // Tokens issued from here on carry at least this instant (see JwtService.generateToken).
+        user.setTokensRevokedAt(Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+    }
 }
@@ -0,0 +1,42 @@
+package dev.jade.expensetracker.domain.budget;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A user's monthly spending limit; it applies to every calendar month.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Entity
+@Table(name = "budgets")
+public class Budget {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Budget(Long userId) {
+        this.userId = userId;
+    }
+}
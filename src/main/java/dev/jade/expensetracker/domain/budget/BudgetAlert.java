@@ -0,0 +1,18 @@
+package dev.jade.expensetracker.domain.budget;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * A month's spending reaching {@code thresholdPercent} of the budget.
+ */
+public record BudgetAlert(
+        Long userId,
+        YearMonth month,
+        int thresholdPercent,
+        BigDecimal budget,
+        BigDecimal spent,
+        Instant raisedAt
+) {
+}
@@ -0,0 +1,59 @@
+package dev.jade.expensetracker.domain.budget;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded hand-off between alert detection and delivery, so a slow channel never
+ * holds up the monitor. Publishing never blocks; when the queue is full the alert
+ * is dropped and logged.
+ */
+@Slf4j
+@Component
+public class BudgetAlertQueue {
+
+    private final BudgetAlertSink sink;
+    private final BlockingQueue<BudgetAlert> queue;
+    private final Thread dispatcher;
+
+    public BudgetAlertQueue(
+            BudgetAlertSink sink,
+            @Value("${budget.alerts.queue-capacity:10000}") int capacity) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.dispatcher = Thread.ofPlatform().name("budget-alerts").daemon().start(this::dispatch);
+    }
+
+    public void publish(BudgetAlert alert) {
+        if (!queue.offer(alert)) {
+            log.warn("Budget alert queue full, dropped alert for user {} ({}%)",
+                    alert.userId(), alert.thresholdPercent());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.interrupt();
+    }
+
+    private void dispatch() {
+        while (true) {
+            BudgetAlert alert;
+            try {
+                alert = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                sink.deliver(alert);
+            } catch (RuntimeException e) {
+                log.warn("Budget alert delivery failed for user {}", alert.userId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.jade.expensetracker.domain.budget;
+
+/**
+ * Delivers budget alerts to the user. Called from the single dispatcher thread
+ * of {@link BudgetAlertQueue}, one alert at a time.
+ *
+ * <p>The in-memory implementation only records alerts, which is enough for
+ * tests and local runs. A real channel (push, email) plugs in as another
+ * implementation selected with {@code budget.alerts.sink}.</p>
+ */
+public interface BudgetAlertSink {
+
+    void deliver(BudgetAlert alert);
+
+}
@@ -0,0 +1,8 @@
+package dev.jade.expensetracker.domain.budget;
+
+/**
+ * Published by {@link BudgetService} when a user's budget is set or removed, so
+ * {@link BudgetMonitor} drops what it cached for that user.
+ */
+public record BudgetChangedEvent(Long userId) {
+}
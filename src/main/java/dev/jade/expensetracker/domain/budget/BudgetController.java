@@ -0,0 +1,34 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.domain.budget.dto.BudgetRequest;
+import dev.jade.expensetracker.domain.budget.dto.BudgetResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/budget")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @GetMapping
+    public BudgetResponse getBudget() {
+        return budgetService.get();
+    }
+
+    @PutMapping
+    public BudgetResponse setBudget(@Valid @RequestBody BudgetRequest request) {
+        return budgetService.put(request);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> deleteBudget() {
+        budgetService.delete();
+        return ResponseEntity.noContent().build();
+    }
+}
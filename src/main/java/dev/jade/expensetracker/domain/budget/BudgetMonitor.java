@@ -0,0 +1,207 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies committed expense changes to {@link MonthlySpendingTotals} and raises
+ * an alert when a create or patch pushes a month across a threshold of the
+ * user's budget ({@code budget.alert-thresholds}, 80% and 100% by default).
+ *
+ * <p>Listeners only number the change and enqueue it. One worker thread applies
+ * the changes and runs the periodic reconciliation, so the write path never
+ * waits on seeding queries, even on the reactive stack's event loop, and
+ * a reconciliation never overwrites a total while a delta is being applied.
+ * The budget cache is touched by that thread alone. Users without a budget
+ * are skipped after a cached lookup. If the queue is full, a change is
+ * dropped and logged; the next reconciliation repairs the totals it would
+ * have moved.</p>
+ */
+@Slf4j
+@Component
+public class BudgetMonitor {
+
+    private static final long NO_BUDGET = -1;
+
+    /** A committed change as net deltas per month, numbered in queue order. */
+    private final class Evaluation implements Runnable {
+        final long sequence;
+        final Long userId;
+        final Map<YearMonth, Long> deltas;
+
+        Evaluation(long sequence, Long userId, Map<YearMonth, Long> deltas) {
+            this.sequence = sequence;
+            this.userId = userId;
+            this.deltas = deltas;
+        }
+
+        @Override
+        public void run() {
+            evaluate(this);
+        }
+    }
+
+    private final BudgetRepository budgetRepository;
+    private final MonthlySpendingTotals totals;
+    private final BudgetAlertQueue alertQueue;
+    private final int[] thresholds;
+    private final Map<Long, Long> budgets;
+    private final ThreadPoolExecutor worker;
+
+    public BudgetMonitor(
+            BudgetRepository budgetRepository,
+            MonthlySpendingTotals totals,
+            BudgetAlertQueue alertQueue,
+            @Value("${budget.alert-thresholds:80,100}") int[] thresholds,
+            @Value("${budget.monitor.queue-capacity:10000}") int queueCapacity,
+            @Value("${budget.monitor.max-users:100000}") int maxUsers) {
+        this.budgetRepository = budgetRepository;
+        this.totals = totals;
+        this.alertQueue = alertQueue;
+        this.thresholds = thresholds;
+        this.budgets = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("budget-monitor").daemon().factory(),
+                (task, executor) -> {
+                    if (task instanceof Evaluation evaluation) {
+                        evaluation.deltas.forEach((month, delta) -> totals.settled(evaluation.userId, month, delta));
+                    }
+                    log.warn("Budget monitor queue full, dropped a task");
+                });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Map<YearMonth, Long> deltas = deltas(event);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        worker.execute(new Evaluation(totals.queued(event.userId(), deltas), event.userId(), deltas));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        // Totals are not maintained without a budget, so whatever is resident may be stale.
+        worker.execute(() -> {
+            budgets.remove(event.userId());
+            totals.evictUser(event.userId());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        worker.execute(() -> {
+            budgets.remove(event.userId());
+            totals.evictUser(event.userId());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${budget.reconcile-interval-millis:300000}")
+    void reconcile() {
+        worker.execute(() -> {
+            budgets.clear();
+            try {
+                totals.reconcile();
+            } catch (RuntimeException e) {
+                log.warn("Budget totals reconciliation failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /** An edit within one month is a single net delta; a moved date touches two months. */
+    private static Map<YearMonth, Long> deltas(ExpenseChangedEvent event) {
+        Map<YearMonth, Long> deltas = new HashMap<>(4);
+        ExpenseResponse previous = event.previous();
+        ExpenseResponse current = event.current();
+        if (previous != null) {
+            deltas.merge(YearMonth.from(previous.entryDate()),
+                    -MonthlySpendingTotals.toCents(previous.amount()), Long::sum);
+        }
+        if (current != null) {
+            deltas.merge(YearMonth.from(current.entryDate()),
+                    MonthlySpendingTotals.toCents(current.amount()), Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    private void evaluate(Evaluation evaluation) {
+        long budget;
+        try {
+            budget = budgetCents(evaluation.userId);
+        } catch (RuntimeException e) {
+            log.warn("Budget evaluation failed for user {}", evaluation.userId, e);
+            budget = NO_BUDGET;
+        }
+        for (Map.Entry<YearMonth, Long> delta : evaluation.deltas.entrySet()) {
+            if (budget == NO_BUDGET) {
+                totals.settled(evaluation.userId, delta.getKey(), delta.getValue());
+                continue;
+            }
+            try {
+                MonthlySpendingTotals.Change change = totals.apply(
+                        evaluation.userId, delta.getKey(), delta.getValue(), evaluation.sequence);
+                if (delta.getValue() > 0) {
+                    raiseCrossed(evaluation.userId, delta.getKey(), budget, change);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Budget evaluation failed for user {}", evaluation.userId, e);
+            }
+        }
+    }
+
+    private void raiseCrossed(Long userId, YearMonth month, long budget, MonthlySpendingTotals.Change change) {
+        for (int threshold : thresholds) {
+            // before < budget * threshold% <= after, kept in integers.
+            long line = budget * threshold;
+            if (change.before() * 100 < line && change.after() * 100 >= line) {
+                alertQueue.publish(new BudgetAlert(
+                        userId,
+                        month,
+                        threshold,
+                        MonthlySpendingTotals.fromCents(budget),
+                        MonthlySpendingTotals.fromCents(change.after()),
+                        Instant.now()
+                ));
+            }
+        }
+    }
+
+    private long budgetCents(Long userId) {
+        Long cached = budgets.get(userId);
+        if (cached == null) {
+            cached = budgetRepository.findById(userId)
+                    .map(budget -> MonthlySpendingTotals.toCents(budget.getAmount()))
+                    .orElse(NO_BUDGET);
+            budgets.put(userId, cached);
+        }
+        return cached;
+    }
+}
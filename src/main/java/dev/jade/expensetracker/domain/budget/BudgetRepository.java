@@ -0,0 +1,8 @@
+package dev.jade.expensetracker.domain.budget;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+}
@@ -0,0 +1,76 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.common.ResourceNotFoundException;
+import dev.jade.expensetracker.domain.budget.dto.BudgetRequest;
+import dev.jade.expensetracker.domain.budget.dto.BudgetResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+@Service
+@RequiredArgsConstructor
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final MonthlySpendingTotals totals;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** The budget with this month's spending, read from the running totals. */
+    @Transactional(readOnly = true)
+    public BudgetResponse get() {
+        User currentUser = getCurrentUser();
+        Budget budget = budgetRepository
+                .findById(currentUser.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("No budget set"));
+        return toResponse(budget);
+    }
+
+    @Transactional
+    public BudgetResponse put(BudgetRequest request) {
+        User currentUser = getCurrentUser();
+        Budget budget = budgetRepository
+                .findById(currentUser.getUserId())
+                .orElseGet(() -> new Budget(currentUser.getUserId()));
+        budget.setAmount(request.amount());
+
+        Budget saved = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(currentUser.getUserId()));
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public void delete() {
+        User currentUser = getCurrentUser();
+        Budget budget = budgetRepository
+                .findById(currentUser.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("No budget set"));
+
+        budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(currentUser.getUserId()));
+    }
+
+    private BudgetResponse toResponse(Budget budget) {
+        YearMonth month = YearMonth.now();
+        long limit = MonthlySpendingTotals.toCents(budget.getAmount());
+        long spent = totals.spentCents(budget.getUserId(), month);
+        return new BudgetResponse(
+                budget.getAmount(),
+                month,
+                MonthlySpendingTotals.fromCents(spent),
+                MonthlySpendingTotals.fromCents(limit - spent),
+                (int) (spent * 100 / limit)
+        );
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
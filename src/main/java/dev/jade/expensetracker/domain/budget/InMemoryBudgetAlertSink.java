@@ -0,0 +1,57 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "budget.alerts.sink", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryBudgetAlertSink implements BudgetAlertSink {
+
+    private final int maxPerUser;
+    private final Map<Long, Deque<BudgetAlert>> alerts = new ConcurrentHashMap<>();
+
+    public InMemoryBudgetAlertSink(@Value("${budget.alerts.in-memory.max-per-user:20}") int maxPerUser) {
+        this.maxPerUser = maxPerUser;
+    }
+
+    @Override
+    public void deliver(BudgetAlert alert) {
+        log.info("Budget alert for user {}: {}% of {} reached in {}",
+                alert.userId(), alert.thresholdPercent(), alert.budget(), alert.month());
+
+        Deque<BudgetAlert> recent = alerts.computeIfAbsent(alert.userId(), id -> new ArrayDeque<>());
+        synchronized (recent) {
+            recent.addFirst(alert);
+            if (recent.size() > maxPerUser) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        alerts.remove(event.userId());
+    }
+
+    /** The user's delivered alerts, newest first. */
+    public List<BudgetAlert> recent(Long userId) {
+        Deque<BudgetAlert> recent = alerts.get(userId);
+        if (recent == null) {
+            return List.of();
+        }
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+}
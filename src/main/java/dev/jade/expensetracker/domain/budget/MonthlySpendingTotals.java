@@ -0,0 +1,208 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running per-user, per-month spending totals in cents.
+ *
+ * <p>A month is seeded from one indexed {@code SUM} the first time it is needed
+ * and is then moved by deltas, so a write costs an addition instead of a
+ * query. Months are kept in access order, and the least recently used ones
+ * are dropped beyond {@code budget.totals.max-entries}; they simply reseed.</p>
+ *
+ * <p>Committed changes are numbered as they are queued ({@link #queued}), and
+ * the deltas still waiting in the queue are counted per month. A seed records
+ * the newest number queued before its sum was read, together with the deltas
+ * still pending for the month: those changes committed before the sum, so it
+ * already includes them, and their deltas are not added again when they are
+ * applied. They only replay the steps from {@code sum - pending} up to the sum,
+ * so threshold crossings are reported as if the month had been resident all
+ * along. Only a change that commits after the newest number is taken but
+ * before the sum is read can still be counted twice; {@link #reconcile}
+ * re-reads every resident month the same way and repairs that drift.</p>
+ *
+ * <p>{@link #apply} and {@link #reconcile} are meant to be called from a single
+ * thread, in queue order.</p>
+ */
+@Component
+public class MonthlySpendingTotals {
+
+    /** A month's total just before and after one delta. */
+    public record Change(long before, long after) {
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {
+    }
+
+    private static final class RunningTotal {
+        long cents;
+        /** Changes numbered up to here are already in {@link #cents}. */
+        long seededThrough;
+        /** Where those changes stand as they are replayed, for threshold checks. */
+        long replayCents;
+
+        RunningTotal(long cents, long seededThrough, long replayCents) {
+            this.cents = cents;
+            this.seededThrough = seededThrough;
+            this.replayCents = replayCents;
+        }
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final Map<MonthKey, RunningTotal> totals;
+    /** Guards {@link #lastQueued} and {@link #pendingCents} so a seed reads both at one point. */
+    private final Object queue = new Object();
+    private long lastQueued;
+    private final Map<MonthKey, Long> pendingCents = new HashMap<>();
+
+    public MonthlySpendingTotals(
+            ExpenseRepository expenseRepository,
+            @Value("${budget.totals.max-entries:100000}") int maxEntries) {
+        this.expenseRepository = expenseRepository;
+        this.totals = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MonthKey, RunningTotal> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The month's total. A month that is not resident is summed without being
+     * kept, since only the thread applying changes can seed it consistently.
+     */
+    public long spentCents(Long userId, YearMonth month) {
+        MonthKey key = new MonthKey(userId, month);
+        RunningTotal total = resident(key);
+        if (total == null) {
+            return load(key);
+        }
+        synchronized (total) {
+            return total.cents;
+        }
+    }
+
+    /**
+     * Numbers a committed change and counts its per-month deltas as pending.
+     * Call it after the commit and before the change is queued.
+     */
+    long queued(Long userId, Map<YearMonth, Long> deltas) {
+        synchronized (queue) {
+            deltas.forEach((month, delta) -> pendingCents.merge(new MonthKey(userId, month), delta, Long::sum));
+            return ++lastQueued;
+        }
+    }
+
+    /** Stops counting a queued delta as pending, once it is applied or dropped. */
+    void settled(Long userId, YearMonth month, long delta) {
+        MonthKey key = new MonthKey(userId, month);
+        synchronized (queue) {
+            pendingCents.computeIfPresent(key, (k, cents) -> cents == delta ? null : cents - delta);
+        }
+    }
+
+    /**
+     * Moves the month by {@code delta} for the change numbered {@code sequence}.
+     * A month that is not resident is seeded first. A change its seed already
+     * includes leaves the total as it is and only advances the replay.
+     */
+    Change apply(Long userId, YearMonth month, long delta, long sequence) {
+        MonthKey key = new MonthKey(userId, month);
+        RunningTotal total;
+        try {
+            total = resident(key);
+            if (total == null) {
+                total = new RunningTotal(0, 0, 0);
+                seed(key, total);
+                synchronized (totals) {
+                    totals.put(key, total);
+                }
+            }
+        } finally {
+            settled(userId, month, delta);
+        }
+        synchronized (total) {
+            if (sequence <= total.seededThrough) {
+                long before = total.replayCents;
+                total.replayCents += delta;
+                return new Change(before, total.replayCents);
+            }
+            long before = total.cents;
+            total.cents += delta;
+            return new Change(before, total.cents);
+        }
+    }
+
+    void evictUser(Long userId) {
+        synchronized (totals) {
+            totals.keySet().removeIf(key -> key.userId().equals(userId));
+        }
+    }
+
+    /**
+     * Drops months before last month, which writes rarely touch, and re-reads
+     * the rest from the database, each with its own watermark.
+     */
+    void reconcile() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(1);
+        List<Map.Entry<MonthKey, RunningTotal>> resident;
+        synchronized (totals) {
+            totals.keySet().removeIf(key -> key.month().isBefore(oldestKept));
+            resident = new ArrayList<>(totals.entrySet());
+        }
+
+        for (Map.Entry<MonthKey, RunningTotal> entry : resident) {
+            seed(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private RunningTotal resident(MonthKey key) {
+        synchronized (totals) {
+            return totals.get(key);
+        }
+    }
+
+    /**
+     * Resets the total from the database. The watermark is taken before the sum,
+     * so every change numbered up to it has committed and is in the sum.
+     */
+    private void seed(MonthKey key, RunningTotal total) {
+        long through;
+        long pending;
+        synchronized (queue) {
+            through = lastQueued;
+            pending = pendingCents.getOrDefault(key, 0L);
+        }
+        long cents = load(key);
+        synchronized (total) {
+            total.cents = cents;
+            total.seededThrough = through;
+            total.replayCents = cents - pending;
+        }
+    }
+
+    private long load(MonthKey key) {
+        BigDecimal sum = expenseRepository.sumAmountByUserIdBetween(
+                key.userId(), key.month().atDay(1), key.month().atEndOfMonth());
+        return sum == null ? 0 : toCents(sum);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,17 @@
+package dev.jade.expensetracker.domain.budget.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record BudgetRequest(
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+        @Digits(integer = 10, fraction = 2, message = "Amount format must be valid (up to 10 digits and 2 decimals)")
+        BigDecimal amount
+
+) {
+}
@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.budget.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public record BudgetResponse(
+
+        BigDecimal amount,
+
+        YearMonth month,
+
+        BigDecimal spent,
+
+        BigDecimal remaining,
+
+        int percentUsed
+
+) {
+}
@@ -0,0 +1,22 @@
+package dev.jade.expensetracker.domain.dashboard;
+
+import dev.jade.expensetracker.domain.dashboard.dto.DashboardResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public DashboardResponse getDashboard() {
+        return dashboardService.load();
+    }
+}
@@ -0,0 +1,164 @@
+package dev.jade.expensetracker.domain.dashboard;
+
+import dev.jade.expensetracker.domain.dashboard.dto.DashboardResponse;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.ExpenseService;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionTotal;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseFilter;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard from independent read queries run side by side, so its
+ * latency is that of the slowest section rather than the sum of all of them.
+ *
+ * <p>Each section runs on its own virtual thread inside its own read-only
+ * transaction, and so on its own pooled connection. A semaphore caps how many
+ * connections dashboards hold at once, which leaves the rest of the Hikari pool
+ * to ordinary requests. Every section shares one deadline counted from the start
+ * of the request, and that also covers waiting for a permit. A section that
+ * misses it is reported as unavailable rather than failing the whole response.
+ * The transaction timeout is set to the same bound, so its query is cancelled
+ * on the server instead of holding a connection after the response has gone.</p>
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final ExpenseFilter NO_FILTER = new ExpenseFilter(null, null, null, null, null, null, null);
+
+    private final ExpenseService expenseService;
+    private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore connections;
+    private final Duration sectionTimeout;
+    private final int recentSize;
+    private final int topDescriptions;
+    private final int topDescriptionsDays;
+
+    // Tasks run as the submitting request's user, so ExpenseService sees the same principal.
+    private final ExecutorService sections = new DelegatingSecurityContextExecutorService(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory()));
+
+    public DashboardService(
+            ExpenseService expenseService,
+            ExpenseRepository expenseRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${dashboard.max-connections:4}") int maxConnections,
+            @Value("${dashboard.section-timeout:PT2S}") Duration sectionTimeout,
+            @Value("${dashboard.recent-size:5}") int recentSize,
+            @Value("${dashboard.top-descriptions:5}") int topDescriptions,
+            @Value("${dashboard.top-descriptions-days:30}") int topDescriptionsDays) {
+        this.expenseService = expenseService;
+        this.expenseRepository = expenseRepository;
+        this.connections = new Semaphore(maxConnections);
+        this.sectionTimeout = sectionTimeout;
+        this.recentSize = recentSize;
+        this.topDescriptions = topDescriptions;
+        this.topDescriptionsDays = topDescriptionsDays;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (sectionTimeout.toMillis() + 999) / 1000));
+    }
+
+    public DashboardResponse load() {
+        Long userId = getCurrentUser().getUserId();
+        LocalDate today = LocalDate.now();
+        YearMonth thisMonth = YearMonth.from(today);
+        YearMonth lastMonth = thisMonth.minusMonths(1);
+        long deadline = System.nanoTime() + sectionTimeout.toNanos();
+
+        Future<List<ExpenseResponse>> recent = submit(deadline,
+                () -> expenseService.seek(NO_FILTER, null, Sort.Direction.DESC, recentSize).results());
+        Future<BigDecimal> thisMonthTotal = submit(deadline,
+                () -> total(userId, thisMonth));
+        Future<BigDecimal> lastMonthTotal = submit(deadline,
+                () -> total(userId, lastMonth));
+        Future<List<ExpenseDescriptionTotal>> top = submit(deadline,
+                () -> expenseRepository.findTopDescriptions(
+                        userId, today.minusDays(topDescriptionsDays), Limit.of(topDescriptions)));
+
+        List<String> unavailable = new ArrayList<>();
+        return new DashboardResponse(
+                await("recentExpenses", recent, deadline, unavailable),
+                await("thisMonthTotal", thisMonthTotal, deadline, unavailable),
+                await("lastMonthTotal", lastMonthTotal, deadline, unavailable),
+                await("topDescriptions", top, deadline, unavailable),
+                unavailable
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sections.shutdownNow();
+    }
+
+    private BigDecimal total(Long userId, YearMonth month) {
+        BigDecimal total = expenseRepository.sumAmountByUserIdBetween(userId, month.atDay(1), month.atEndOfMonth());
+        return Objects.requireNonNullElse(total, BigDecimal.ZERO);
+    }
+
+    private <T> Future<T> submit(long deadline, Supplier<T> section) {
+        return sections.submit(() -> {
+            if (!connections.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("No dashboard connection became free in time");
+            }
+            try {
+                return readOnlyTransaction.execute(status -> section.get());
+            } finally {
+                connections.release();
+            }
+        });
+    }
+
+    private static <T> T await(String name, Future<T> section, long deadline, List<String> unavailable) {
+        try {
+            return section.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Not interrupted: that would close the JDBC socket under a virtual thread.
+            section.cancel(false);
+            log.warn("Dashboard section {} timed out", name);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard section {} failed", name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            section.cancel(false);
+        }
+        unavailable.add(name);
+        return null;
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,26 @@
+package dev.jade.expensetracker.domain.dashboard.dto;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionTotal;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Home screen summary. A section that failed or ran past its timeout is
+ * {@code null} and named in {@code unavailableSections}; the rest are still served.
+ */
+public record DashboardResponse(
+
+        List<ExpenseResponse> recentExpenses,
+
+        BigDecimal thisMonthTotal,
+
+        BigDecimal lastMonthTotal,
+
+        List<ExpenseDescriptionTotal> topDescriptions,
+
+        List<String> unavailableSections
+
+) {
+}
@@ -0,0 +1,143 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves expenses older than the configured horizon out of the partitioned
+ * {@code expenses} table into {@code expenses_archive}.
+ *
+ * <p>Rows are moved in small batches keyed on the expense id, each in its own
+ * transaction, so a single run never holds locks on a large slice of the hot
+ * table and every batch starts where the last one stopped. The cutoff is
+ * aligned to the first day of a month, which keeps every batch inside the
+ * oldest partitions and lets MySQL prune the rest.</p>
+ *
+ * <p>To everything else an archived row is a deletion: each batch writes
+ * tombstones for delta sync, removes the rows' tags and publishes a
+ * {@link ExpenseChangedEvent.Type#DELETED} event per row, so the in-memory
+ * stores drop them after commit. Only the node holding the
+ * {@code expense-archive} row of {@code job_leases} runs, and it renews the
+ * lease before every batch.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpenseArchiveJob {
+
+    private static final String JOB_NAME = "expense-archive";
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${expense.archive.horizon-months:24}")
+    private int horizonMonths;
+
+    @Value("${expense.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${expense.archive.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Scheduled(cron = "${expense.archive.cron:0 30 3 * * *}")
+    public void archiveColdExpenses() {
+        String token = UUID.randomUUID().toString();
+        if (!claimLease(token)) {
+            return; // another node is archiving
+        }
+
+        LocalDate cutoff = LocalDate.now().minusMonths(horizonMonths).withDayOfMonth(1);
+        long total = 0;
+        try {
+            long lastId = 0;
+            List<Long> moved;
+            do {
+                if (!renewLease(token)) {
+                    log.warn("Lost the expense archive lease after {} expenses, stopping", total);
+                    break;
+                }
+                long afterId = lastId;
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff, afterId));
+                total += moved.size();
+                if (!moved.isEmpty()) {
+                    lastId = moved.getLast();
+                }
+            } while (moved.size() == batchSize);
+        } finally {
+            releaseLease(token);
+        }
+
+        if (total > 0) {
+            log.info("Archived {} expenses entered before {}", total, cutoff);
+        }
+    }
+
+    /** Archives the next batch after {@code afterId} and returns its ids, ascending. */
+    private List<Long> archiveBatch(LocalDate cutoff, long afterId) {
+        List<Long> ids = expenseRepository.findIdsEnteredBefore(cutoff, afterId, batchSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        List<Expense> archived = expenseRepository.findAllToArchive(ids, cutoff);
+        expenseRepository.copyToArchive(ids, cutoff);
+        tombstoneRepository.insertForArchived(ids, cutoff, Instant.now());
+        expenseRepository.deleteArchivedTags(ids);
+        expenseRepository.deleteArchived(ids, cutoff);
+        for (Expense expense : archived) {
+            eventPublisher.publishEvent(ExpenseChangedEvent.deleted(toResponse(expense)));
+        }
+        return ids;
+    }
+
+    /** Tags are left out: they are gone with the row, and deletion listeners only need the id. */
+    private static ExpenseResponse toResponse(Expense expense) {
+        return new ExpenseResponse(
+                expense.getExpenseId(),
+                expense.getUser().getUserId(),
+                expense.getDescription(),
+                expense.getAmount(),
+                expense.getEntryDate(),
+                expense.getCategory() == null ? null : expense.getCategory().getName(),
+                null,
+                expense.getCreatedAt(),
+                expense.getUpdatedAt());
+    }
+
+    private boolean claimLease(String token) {
+        return jdbcTemplate.update("""
+                UPDATE job_leases
+                SET lease_token = ?, lease_expires_at = NOW(3) + INTERVAL ? SECOND
+                WHERE job_name = ? AND (lease_expires_at IS NULL OR lease_expires_at < NOW(3))""",
+                token, leaseSeconds, JOB_NAME) == 1;
+    }
+
+    private boolean renewLease(String token) {
+        return jdbcTemplate.update("""
+                UPDATE job_leases
+                SET lease_expires_at = NOW(3) + INTERVAL ? SECOND
+                WHERE job_name = ? AND lease_token = ?""",
+                leaseSeconds, JOB_NAME, token) == 1;
+    }
+
+    private void releaseLease(String token) {
+        jdbcTemplate.update("""
+                UPDATE job_leases SET lease_token = NULL, lease_expires_at = NULL
+                WHERE job_name = ? AND lease_token = ?""",
+                JOB_NAME, token);
+    }
+}
@@ -0,0 +1,40 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+
+/**
+ * Published by {@link ExpenseService} for every write. Listeners that keep
+ * derived state consume it with {@code @TransactionalEventListener}, so they only
+ * ever see changes that actually committed. The reactive write path has no JPA
+ * transaction and publishes only once its R2DBC transaction has committed, so
+ * listeners also set {@code fallbackExecution = true}.
+ *
+ * @param previous the expense before the change, {@code null} for creations
+ * @param current  the expense after the change, {@code null} for deletions
+ */
+public record ExpenseChangedEvent(
+        Type type,
+        Long userId,
+        Long expenseId,
+        ExpenseResponse previous,
+        ExpenseResponse current
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ExpenseChangedEvent created(ExpenseResponse current) {
+        return new ExpenseChangedEvent(Type.CREATED, current.userId(), current.expenseId(), null, current);
+    }
+
+    public static ExpenseChangedEvent updated(ExpenseResponse previous, ExpenseResponse current) {
+        return new ExpenseChangedEvent(Type.UPDATED, current.userId(), current.expenseId(), previous, current);
+    }
+
+    public static ExpenseChangedEvent deleted(ExpenseResponse previous) {
+        return new ExpenseChangedEvent(Type.DELETED, previous.userId(), previous.expenseId(), previous, null);
+    }
+}
@@ -1,27 +1,53 @@
 package dev.jade.expensetracker.domain.expense;
 
+import dev.jade.expensetracker.domain.expense.dto.ExpenseChangesResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseFilter;
 import dev.jade.expensetracker.domain.expense.dto.ExpensePatchRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseSearchResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseSeekResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseStatsResponse;
+import dev.jade.expensetracker.domain.expense.idempotency.IdempotencyService;
+import dev.jade.expensetracker.domain.expense.idempotency.RequestFingerprint;
+import dev.jade.expensetracker.domain.expense.search.ExpenseSearchService;
+import dev.jade.expensetracker.domain.expense.stats.ExpenseStatsService;
+import dev.jade.expensetracker.domain.expense.stream.ExpenseStreamService;
+import dev.jade.expensetracker.domain.expense.suggest.DescriptionSuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.List;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/expenses")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseSyncService expenseSyncService;
+    private final ExpenseStreamService expenseStreamService;
+    private final IdempotencyService idempotencyService;
+    private final ExpenseSearchService expenseSearchService;
+    private final DescriptionSuggestionService suggestionService;
+    private final ExpenseStatsService expenseStatsService;
 
     @GetMapping
     public PagedModel<ExpenseResponse> getAllExpenses(
+            ExpenseFilter filter,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(name = "sort", defaultValue = "entryDate") String field,
@@ -33,13 +59,76 @@ public class ExpenseController {
                 Sort.by(field).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sortOrder);
-        return new PagedModel<>(expenseService.findAll(pageable));
+        return new PagedModel<>(expenseService.findAll(filter, pageable));
+    }
+
+    @GetMapping(params = "mode=seek")
+    public ExpenseSeekResponse seekExpenses(
+            ExpenseFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "DESC") String direction) {
+        Sort.Direction order = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return expenseService.seek(filter, cursor, order, size);
+    }
+
+    @GetMapping("/archived")
+    public PagedModel<ExpenseResponse> getArchivedExpenses(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size) {
+        return new PagedModel<>(expenseService.findArchived(PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/search")
+    public ExpenseSearchResponse searchExpenses(
+            @RequestParam String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return expenseSearchService.search(q, from, to, cursor, limit);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestDescriptions(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return suggestionService.suggest(prefix, limit);
+    }
+
+    @GetMapping("/stats")
+    public ExpenseStatsResponse getStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int bins) {
+        return expenseStatsService.stats(from, to, bins);
+    }
+
+    @GetMapping("/changes")
+    public ExpenseChangesResponse getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return expenseSyncService.findChanges(since, limit);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return expenseStreamService.subscribe();
     }
 
     @PostMapping
     public ResponseEntity<ExpenseResponse> addNewExpense(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody ExpenseRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(expenseService.create(request));
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(expenseService.create(request));
+        }
+
+        IdempotencyService.Outcome outcome = idempotencyService.execute(
+                idempotencyKey, RequestFingerprint.of(request), () -> expenseService.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+                .body(outcome.response());
     }
 
     @PatchMapping("/{expenseId}")
@@ -4,19 +4,33 @@ import dev.jade.expensetracker.config.MapStructConfig;
 import dev.jade.expensetracker.domain.expense.dto.ExpensePatchRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.expense.tag.Tag;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.util.List;
+import java.util.Set;
+
 @Mapper(config = MapStructConfig.class)
 public interface ExpenseMapper {
 
     @Mapping(source = "user.userId", target = "userId")
+    @Mapping(source = "category.name", target = "category")
     ExpenseResponse toResponse(Expense expense);
 
+    // Names resolve to rows through ExpenseTaxonomy, which needs the owner.
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "tags", ignore = true)
     Expense toEntity(ExpenseRequest request);
 
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "tags", ignore = true)
     void updateEntityFromRequest(ExpensePatchRequest patch, @MappingTarget Expense expense);
 
+    default List<String> tagNames(Set<Tag> tags) {
+        return tags == null ? null : tags.stream().map(Tag::getName).sorted().toList();
+    }
+
 }
 
@@ -0,0 +1,49 @@
+package dev.jade.expensetracker.domain.expense;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+
+/**
+ * Keeps a yearly partition of {@code expenses} ready ahead of time.
+ *
+ * <p>New years are split off the trailing {@code p_future} partition while it is
+ * still empty, so the reorganisation only rewrites metadata instead of moving rows.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpensePartitionMaintainer {
+
+    private static final String PARTITION_EXISTS_SQL = """
+            SELECT COUNT(*) FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'expenses' AND PARTITION_NAME = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(cron = "${expense.partition.cron:0 0 4 1 * *}")
+    public void ensureUpcomingPartitions() {
+        int currentYear = Year.now().getValue();
+        for (int year = currentYear; year <= currentYear + 1; year++) {
+            ensurePartition(year);
+        }
+    }
+
+    private void ensurePartition(int year) {
+        String name = "p" + year;
+        Integer count = jdbcTemplate.queryForObject(PARTITION_EXISTS_SQL, Integer.class, name);
+        if (count != null && count > 0) {
+            return;
+        }
+
+        jdbcTemplate.execute("""
+                ALTER TABLE expenses REORGANIZE PARTITION p_future INTO (
+                    PARTITION %s VALUES LESS THAN ('%d-01-01'),
+                    PARTITION p_future VALUES LESS THAN (MAXVALUE))""".formatted(name, year + 1));
+        log.info("Created expenses partition {}", name);
+    }
+}
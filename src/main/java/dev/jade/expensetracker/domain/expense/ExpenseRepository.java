@@ -1,18 +1,156 @@
 package dev.jade.expensetracker.domain.expense;
 
+import dev.jade.expensetracker.domain.expense.dto.ExpenseAmountView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionTotal;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseLabelView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow;
 import dev.jade.expensetracker.domain.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
 
     Page<Expense> findAllByUser(User user, Pageable pageable);
 
     Optional<Expense> findByExpenseIdAndUser(Long expenseId, User user);
 
+    List<Expense> findAllByUserAndExpenseIdIn(User user, Collection<Long> expenseIds);
+
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseAmountView(e.expenseId, e.amount, e.entryDate)
+            from Expense e
+            where e.user.userId = :userId
+            order by e.entryDate, e.expenseId""")
+    List<ExpenseAmountView> findAmountViewsByUserId(Long userId);
+
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionView(e.expenseId, e.description, e.entryDate)
+            from Expense e
+            where e.user.userId = :userId
+            order by e.expenseId""")
+    List<ExpenseDescriptionView> findDescriptionViewsByUserId(Long userId);
+
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseLabelView(e.expenseId, c.name)
+            from Expense e join e.category c
+            where e.user.userId = :userId""")
+    List<ExpenseLabelView> findCategoryLabelsByUserId(Long userId);
+
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseLabelView(e.expenseId, t.name)
+            from Expense e join e.tags t
+            where e.user.userId = :userId""")
+    List<ExpenseLabelView> findTagLabelsByUserId(Long userId);
+
+    /**
+     * Rows in no particular order through a forward-only cursor. The minimum
+     * fetch size makes Connector/J stream them instead of buffering the result,
+     * so memory stays flat however long the range. Consume and close the stream
+     * inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseAmountView(e.expenseId, e.amount, e.entryDate)
+            from Expense e
+            where e.user.userId = :userId and e.entryDate between :from and :to""")
+    Stream<ExpenseAmountView> streamAmountViewsBetween(Long userId, LocalDate from, LocalDate to);
+
+    /** Report rows in date order, streamed like {@link #streamAmountViewsBetween}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow(
+                e.expenseId, e.entryDate, e.description, c.name, e.amount)
+            from Expense e left join e.category c
+            where e.user.userId = :userId and e.entryDate between :from and :to
+            order by e.entryDate, e.expenseId""")
+    Stream<ExpenseReportRow> streamReportRows(Long userId, LocalDate from, LocalDate to);
+
+    /** {@code null} when the user has no expenses in the range. */
+    @Query("""
+            select sum(e.amount)
+            from Expense e
+            where e.user.userId = :userId and e.entryDate between :from and :to""")
+    BigDecimal sumAmountByUserIdBetween(Long userId, LocalDate from, LocalDate to);
+
+    @Query("""
+            select new dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionTotal(e.description, count(e), sum(e.amount))
+            from Expense e
+            where e.user.userId = :userId and e.entryDate >= :from
+            group by e.description
+            order by count(e) desc, sum(e.amount) desc""")
+    List<ExpenseDescriptionTotal> findTopDescriptions(Long userId, LocalDate from, Limit limit);
+
+    @Query("""
+            select e from Expense e
+            where e.user = :user and e.updatedAt < :until
+              and (e.updatedAt > :sinceTime or (e.updatedAt = :sinceTime and e.expenseId > :sinceId))
+            order by e.updatedAt, e.expenseId""")
+    List<Expense> findChangedSince(User user, Instant sinceTime, Long sinceId, Instant until, Limit limit);
+
+    /*
+     Archive table access. Rows in expenses_archive share the column layout of
+     expenses, so they map straight onto the Expense entity for read-only use.
+    */
+    @Query(value = """
+            SELECT * FROM expenses_archive
+            WHERE user_id = :userId
+            ORDER BY entry_date DESC, expense_id DESC""",
+            countQuery = "SELECT COUNT(*) FROM expenses_archive WHERE user_id = :userId",
+            nativeQuery = true)
+    Page<Expense> findArchivedByUserId(Long userId, Pageable pageable);
+
+    /*
+     Paged in primary key order: no index serves ORDER BY entry_date since V2, so
+     keying on entry_date would scan and sort every remaining cold row per batch.
+     The cutoff prunes to the cold partitions, and each batch resumes after the
+     last id of the one before, so a run reads every row there once.
+    */
+    @Query(value = """
+            SELECT expense_id FROM expenses
+            WHERE entry_date < :cutoff AND expense_id > :afterId
+            ORDER BY expense_id
+            LIMIT :limit""", nativeQuery = true)
+    List<Long> findIdsEnteredBefore(LocalDate cutoff, long afterId, int limit);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO expenses_archive (expense_id, user_id, description, amount, entry_date, category_id, created_at, updated_at)
+            SELECT expense_id, user_id, description, amount, entry_date, category_id, created_at, updated_at
+            FROM expenses
+            WHERE expense_id IN (:ids) AND entry_date < :cutoff""", nativeQuery = true)
+    int copyToArchive(List<Long> ids, LocalDate cutoff);
+
+    /** The rows about to be archived, for the deletion events their removal publishes. */
+    @Query("""
+            select e from Expense e join fetch e.user left join fetch e.category
+            where e.expenseId in :ids and e.entryDate < :cutoff""")
+    List<Expense> findAllToArchive(List<Long> ids, LocalDate cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM expense_tags WHERE expense_id IN (:ids)", nativeQuery = true)
+    int deleteArchivedTags(List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM expenses WHERE expense_id IN (:ids) AND entry_date < :cutoff", nativeQuery = true)
+    int deleteArchived(List<Long> ids, LocalDate cutoff);
+
 }
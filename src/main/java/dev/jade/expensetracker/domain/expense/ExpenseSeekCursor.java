@@ -0,0 +1,39 @@
+package dev.jade.expensetracker.domain.expense;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * The last row of a seek page, encoded as an opaque URL-safe token. Seek pages
+ * are ordered by entry date and then expense id, so the pair is a unique position
+ * and the next page starts strictly after it.
+ */
+public record ExpenseSeekCursor(LocalDate entryDate, long expenseId) {
+
+    public static ExpenseSeekCursor of(Expense expense) {
+        return new ExpenseSeekCursor(expense.getEntryDate(), expense.getExpenseId());
+    }
+
+    public static ExpenseSeekCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            return new ExpenseSeekCursor(
+                    LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new RuntimeException("Invalid expense cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = entryDate.toEpochDay() + ":" + expenseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -1,32 +1,156 @@
 package dev.jade.expensetracker.domain.expense;
 
 import dev.jade.expensetracker.common.ResourceNotFoundException;
+import dev.jade.expensetracker.common.SingleFlight;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseFilter;
 import dev.jade.expensetracker.domain.expense.dto.ExpensePatchRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
 import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseSeekResponse;
+import dev.jade.expensetracker.domain.expense.tag.ExpenseTagIndex;
+import dev.jade.expensetracker.domain.expense.tag.ExpenseTaxonomy;
+import dev.jade.expensetracker.domain.expense.tag.TagQuery;
 import dev.jade.expensetracker.domain.user.User;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class ExpenseService {
 
+    private static final int MAX_SEEK_SIZE = 100;
+
+    private record FindAllKey(Long userId, ExpenseFilter filter, Pageable pageable) {
+    }
+
     private final ExpenseRepository expenseRepository;
+    private final ExpenseTombstoneRepository tombstoneRepository;
     private final ExpenseMapper mapper;
+    private final ExpenseTaxonomy taxonomy;
+    private final ExpenseTagIndex tagIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<FindAllKey, Page<ExpenseResponse>> findAllFlights;
+    private final int maxTagMatchesInList;
+
+    public ExpenseService(
+            ExpenseRepository expenseRepository,
+            ExpenseTombstoneRepository tombstoneRepository,
+            ExpenseMapper mapper,
+            ExpenseTaxonomy taxonomy,
+            ExpenseTagIndex tagIndex,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${expense.tags.max-in-list:5000}") int maxTagMatchesInList) {
+        this.expenseRepository = expenseRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.mapper = mapper;
+        this.taxonomy = taxonomy;
+        this.tagIndex = tagIndex;
+        this.eventPublisher = eventPublisher;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.findAllFlights = new SingleFlight<>(Counter.builder("expense.reads.coalesced")
+                .description("Reads that shared an identical in-flight query instead of running their own")
+                .tag("method", "findAll")
+                .register(meterRegistry));
+        this.maxTagMatchesInList = maxTagMatchesInList;
+    }
+
+    /**
+     * Identical concurrent calls for the same user (several devices, or a client
+     * retrying) share one query and its result.
+     *
+     * <p>The read-only transaction is opened by whichever call runs the query, not
+     * by the method, since a waiting call would otherwise hold a connection just to
+     * wait. A caller already inside a read-write transaction bypasses coalescing:
+     * it must see its own uncommitted writes, which another thread's query does not.</p>
+     */
+    public Page<ExpenseResponse> findAll(ExpenseFilter filter, Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Specification<Expense> specification = specificationFor(currentUser.getUserId(), filter);
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return expenseRepository.findAll(specification, pageable).map(mapper::toResponse);
+        }
+        return findAllFlights.execute(new FindAllKey(currentUser.getUserId(), filter, pageable),
+                () -> readOnlyTransaction.execute(status -> expenseRepository
+                        .findAll(specification, pageable)
+                        .map(mapper::toResponse)));
+    }
+
+    /**
+     * Keyset paging over {@code (entryDate, expenseId)}. Unlike page mode there is
+     * no count query and no offset to skip, so every page costs the same however
+     * deep the client has scrolled.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseSeekResponse seek(ExpenseFilter filter, String cursor, Sort.Direction direction, int size) {
+        User currentUser = getCurrentUser();
+        int pageSize = Math.clamp(size, 1, MAX_SEEK_SIZE);
+
+        Specification<Expense> specification = specificationFor(currentUser.getUserId(), filter);
+        ExpenseSeekCursor after = ExpenseSeekCursor.decode(cursor);
+        if (after != null) {
+            specification = specification.and(ExpenseSpecifications.after(after, direction));
+        }
+        Sort sort = Sort.by(direction, "entryDate", "expenseId");
+
+        // One extra row tells whether another page exists.
+        List<Expense> expenses = expenseRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasMore = expenses.size() > pageSize;
+        if (hasMore) {
+            expenses = expenses.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? ExpenseSeekCursor.of(expenses.getLast()).encode() : null;
+        return new ExpenseSeekResponse(expenses.stream().map(mapper::toResponse).toList(), nextCursor, hasMore);
+    }
 
     @Transactional(readOnly = true)
-    public Page<ExpenseResponse> findAll(Pageable pageable) {
+    public Page<ExpenseResponse> findArchived(Pageable pageable) {
         User currentUser = getCurrentUser();
         return expenseRepository
-                .findAllByUser(currentUser, pageable)
+                .findArchivedByUserId(currentUser.getUserId(), pageable)
                 .map(mapper::toResponse);
     }
 
+    /*
+     Tag filters are answered by the in-memory bitmaps and reach SQL as an id list.
+     A very broad match would make that list longer than the join it replaces,
+     so past expense.tags.max-in-list ids MySQL evaluates the tags itself.
+    */
+    private Specification<Expense> specificationFor(Long userId, ExpenseFilter filter) {
+        Specification<Expense> specification = ExpenseSpecifications.matching(userId, filter);
+        TagQuery tagQuery = TagQuery.of(filter.category(), filter.tags());
+        if (tagQuery.isEmpty()) {
+            return specification;
+        }
+
+        long[] expenseIds = tagIndex.match(userId, tagQuery);
+        return specification.and(expenseIds.length <= maxTagMatchesInList
+                ? ExpenseSpecifications.idIn(expenseIds)
+                : ExpenseSpecifications.labelled(tagQuery));
+    }
+
     private User getCurrentUser() {
         return (User) SecurityContextHolder
                 .getContext()
@@ -39,7 +163,11 @@ public class ExpenseService {
         User currentUser = getCurrentUser();
         Expense expense = mapper.toEntity(request);
         expense.setUser(currentUser);
-        return mapper.toResponse(expenseRepository.save(expense));
+        taxonomy.assign(expense, request.category(), request.tags());
+
+        ExpenseResponse response = mapper.toResponse(expenseRepository.save(expense));
+        eventPublisher.publishEvent(ExpenseChangedEvent.created(response));
+        return response;
     }
 
     @Transactional
@@ -49,9 +177,13 @@ public class ExpenseService {
                 .findByExpenseIdAndUser(expenseId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found or access denied"));
 
-
+        ExpenseResponse previous = mapper.toResponse(expense);
         mapper.updateEntityFromRequest(patch, expense);
-        return mapper.toResponse(expenseRepository.save(expense));
+        taxonomy.assign(expense, patch.category(), patch.tags());
+
+        ExpenseResponse response = mapper.toResponse(expenseRepository.save(expense));
+        eventPublisher.publishEvent(ExpenseChangedEvent.updated(previous, response));
+        return response;
     }
 
     @Transactional
@@ -61,6 +193,9 @@ public class ExpenseService {
                 .findByExpenseIdAndUser(expenseId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found or access denied"));
 
+        ExpenseResponse previous = mapper.toResponse(expense);
         expenseRepository.delete(expense);
+        tombstoneRepository.save(new ExpenseTombstone(expenseId, currentUser.getUserId(), Instant.now()));
+        eventPublisher.publishEvent(ExpenseChangedEvent.deleted(previous));
     }
 }
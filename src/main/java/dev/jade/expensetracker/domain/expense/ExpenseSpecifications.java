@@ -0,0 +1,137 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseFilter;
+import dev.jade.expensetracker.domain.expense.tag.Tag;
+import dev.jade.expensetracker.domain.expense.tag.TagQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for listing expenses. Every filter is a bound on one column next to
+ * {@code user_id}, matching the {@code (user_id, column)} indexes from V2 and V7,
+ * so MySQL can range-scan one index instead of reading every row of the user.
+ * Category and tag filters are resolved in memory first and arrive as ids.
+ */
+final class ExpenseSpecifications {
+
+    private static final char LIKE_ESCAPE = '!';
+
+    private ExpenseSpecifications() {
+    }
+
+    static Specification<Expense> matching(Long userId, ExpenseFilter filter) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (filter.minAmount() != null && filter.maxAmount() != null
+                && filter.minAmount().compareTo(filter.maxAmount()) > 0) {
+            throw new RuntimeException("'minAmount' must not be greater than 'maxAmount'");
+        }
+
+        return (root, query, cb) -> {
+            // Compared by id so the owner is never joined or loaded.
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("userId"), userId));
+
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("entryDate"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("entryDate"), filter.to()));
+            }
+            if (filter.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.minAmount()));
+            }
+            if (filter.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.maxAmount()));
+            }
+            if (filter.description() != null && !filter.description().isBlank()) {
+                // A leading-constant LIKE is a range on the index; the collation is case-insensitive.
+                predicates.add(cb.like(root.get("description"),
+                        escapeLike(filter.description().strip()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Expenses among {@code expenseIds}, which {@code ExpenseTagIndex} resolved
+     * from a tag query. The other filters still narrow the result in SQL.
+     */
+    static Specification<Expense> idIn(long[] expenseIds) {
+        return (root, query, cb) -> {
+            if (expenseIds.length == 0) {
+                return cb.disjunction();
+            }
+            CriteriaBuilder.In<Long> in = cb.in(root.get("expenseId"));
+            for (long expenseId : expenseIds) {
+                in.value(expenseId);
+            }
+            return in;
+        };
+    }
+
+    /**
+     * The same condition as {@code tagQuery} evaluated by MySQL: a join to the
+     * category and one correlated {@code EXISTS} over {@code expense_tags} per
+     * group. Used when the tag index matches too many expenses for an id list.
+     */
+    static Specification<Expense> labelled(TagQuery tagQuery) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (tagQuery.category() != null) {
+                predicates.add(cb.equal(root.get("category").get("name"), tagQuery.category()));
+            }
+            for (List<String> group : tagQuery.groups()) {
+                Subquery<Integer> tagged = query.subquery(Integer.class);
+                Root<Expense> expense = tagged.correlate(root);
+                Join<Expense, Tag> tag = expense.join("tags");
+                tagged.select(cb.literal(1)).where(tag.get("name").in(group));
+                predicates.add(cb.exists(tagged));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Rows strictly after {@code cursor} in {@code (entryDate, expenseId)} order.
+     * Spelled out as {@code a < x OR (a = x AND b < y)}, which MySQL turns into
+     * a range on {@code (user_id, entry_date)}; a row constructor comparison is not.
+     */
+    static Specification<Expense> after(ExpenseSeekCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<LocalDate> entryDate = root.get("entryDate");
+            Path<Long> expenseId = root.get("expenseId");
+            if (direction.isDescending()) {
+                return cb.or(
+                        cb.lessThan(entryDate, cursor.entryDate()),
+                        cb.and(cb.equal(entryDate, cursor.entryDate()), cb.lessThan(expenseId, cursor.expenseId())));
+            }
+            return cb.or(
+                    cb.greaterThan(entryDate, cursor.entryDate()),
+                    cb.and(cb.equal(entryDate, cursor.entryDate()), cb.greaterThan(expenseId, cursor.expenseId())));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
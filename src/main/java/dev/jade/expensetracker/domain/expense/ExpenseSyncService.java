@@ -0,0 +1,110 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseChangesResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves the delta-sync feed: expenses changed and deleted after a cursor.
+ *
+ * <p>Changed rows come from {@code idx_expenses_user_updated} and deletions from
+ * {@code expense_tombstones}; both are read in (timestamp, id) order and merged,
+ * so a single cursor covers both streams.</p>
+ *
+ * <p>Timestamps are stored with second precision and are assigned before commit,
+ * so the feed never returns anything at or past the {@link SyncHorizon}: the
+ * start of the oldest write transaction still open, less
+ * {@code sync.safety-lag-seconds}. A transaction that commits late therefore
+ * cannot land behind a cursor that a client has already moved past.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseSyncService {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseTombstoneRepository tombstoneRepository;
+    private final ExpenseMapper mapper;
+    private final SyncHorizon horizon;
+
+    @Value("${sync.tombstone-retention-days:90}")
+    private long tombstoneRetentionDays;
+
+    @Transactional(readOnly = true)
+    public ExpenseChangesResponse findChanges(String since, int limit) {
+        User currentUser = getCurrentUser();
+        SyncCursor cursor = SyncCursor.decode(since);
+        int batchSize = Math.clamp(limit, 1, MAX_BATCH_SIZE);
+
+        Instant now = Instant.now();
+        if (!cursor.time().equals(Instant.EPOCH) && cursor.time().isBefore(now.minus(Duration.ofDays(tombstoneRetentionDays)))) {
+            throw new RuntimeException("Sync cursor has expired, resync from the beginning");
+        }
+        Instant until = horizon.until(now);
+
+        List<Expense> changed = expenseRepository.findChangedSince(
+                currentUser, cursor.time(), cursor.expenseId(), until, Limit.of(batchSize + 1));
+        List<ExpenseTombstone> deleted = tombstoneRepository.findDeletedSince(
+                currentUser.getUserId(), cursor.time(), cursor.expenseId(), until, Limit.of(batchSize + 1));
+
+        List<ExpenseResponse> changedOut = new ArrayList<>();
+        List<Long> deletedOut = new ArrayList<>();
+        SyncCursor last = cursor;
+
+        int c = 0;
+        int d = 0;
+        while (changedOut.size() + deletedOut.size() < batchSize
+                && (c < changed.size() || d < deleted.size())) {
+            Expense expense = c < changed.size() ? changed.get(c) : null;
+            ExpenseTombstone tombstone = d < deleted.size() ? deleted.get(d) : null;
+
+            boolean takeExpense = tombstone == null
+                    || (expense != null && !new SyncCursor(tombstone.getDeletedAt(), tombstone.getExpenseId())
+                    .isBefore(expense.getUpdatedAt(), expense.getExpenseId()));
+
+            if (takeExpense) {
+                changedOut.add(mapper.toResponse(expense));
+                last = new SyncCursor(expense.getUpdatedAt(), expense.getExpenseId());
+                c++;
+            } else {
+                deletedOut.add(tombstone.getExpenseId());
+                last = new SyncCursor(tombstone.getDeletedAt(), tombstone.getExpenseId());
+                d++;
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        if (!hasMore && last.isBefore(until, 0L)) {
+            // Everything before the safe horizon has been delivered, so the cursor can
+            // advance to it; this keeps idle clients' cursors inside the retention window.
+            last = new SyncCursor(until, 0L);
+        }
+        return new ExpenseChangesResponse(changedOut, deletedOut, last.encode(), hasMore);
+    }
+
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 15 3 * * *}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        tombstoneRepository.deleteAllDeletedBefore(Instant.now().minus(Duration.ofDays(tombstoneRetentionDays)));
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,35 @@
+package dev.jade.expensetracker.domain.expense;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a deleted expense so that delta-sync clients learn
+ * about the deletion. Tombstones are purged after the sync retention window.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "expense_tombstones")
+public class ExpenseTombstone {
+
+    @Id
+    private Long expenseId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+
+}
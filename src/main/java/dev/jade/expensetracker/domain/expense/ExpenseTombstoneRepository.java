@@ -0,0 +1,35 @@
+package dev.jade.expensetracker.domain.expense;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseTombstoneRepository extends JpaRepository<ExpenseTombstone, Long> {
+
+    @Query("""
+            select t from ExpenseTombstone t
+            where t.userId = :userId and t.deletedAt < :until
+              and (t.deletedAt > :sinceTime or (t.deletedAt = :sinceTime and t.expenseId > :sinceId))
+            order by t.deletedAt, t.expenseId""")
+    List<ExpenseTombstone> findDeletedSince(Long userId, Instant sinceTime, Long sinceId, Instant until, Limit limit);
+
+    /** Tombstones for archived rows, so sync clients drop them like any deletion. */
+    @Modifying
+    @Query(value = """
+            INSERT INTO expense_tombstones (expense_id, user_id, deleted_at)
+            SELECT expense_id, user_id, :deletedAt FROM expenses
+            WHERE expense_id IN (:ids) AND entry_date < :cutoff""", nativeQuery = true)
+    int insertForArchived(List<Long> ids, LocalDate cutoff, Instant deletedAt);
+
+    @Modifying
+    @Query("delete from ExpenseTombstone t where t.deletedAt < :cutoff")
+    int deleteAllDeletedBefore(Instant cutoff);
+
+}
@@ -0,0 +1,41 @@
+package dev.jade.expensetracker.domain.expense;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a user's change feed: the last (timestamp, expense id) pair a
+ * client has seen. Encoded as an opaque URL-safe string so clients treat it
+ * as a token rather than something to construct themselves.
+ */
+record SyncCursor(Instant time, long expenseId) {
+
+    static final SyncCursor START = new SyncCursor(Instant.EPOCH, 0L);
+
+    static SyncCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            return new SyncCursor(
+                    Instant.ofEpochSecond(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid sync cursor");
+        }
+    }
+
+    String encode() {
+        String raw = time.getEpochSecond() + ":" + expenseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    boolean isBefore(Instant otherTime, long otherId) {
+        int byTime = time.compareTo(otherTime);
+        return byTime < 0 || (byTime == 0 && expenseId < otherId);
+    }
+}
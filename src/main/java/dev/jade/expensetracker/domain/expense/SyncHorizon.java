@@ -0,0 +1,65 @@
+package dev.jade.expensetracker.domain.expense;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The newest instant up to which the sync feed can be served without a later
+ * commit landing behind it.
+ *
+ * <p>{@code updated_at} and {@code deleted_at} are taken before commit, so a
+ * row may become visible with a timestamp older than rows already delivered.
+ * Every such row belongs to a write transaction that is still open, and it was
+ * stamped after that transaction started. The horizon is therefore held back to
+ * the start of the oldest open write transaction, read from
+ * {@code information_schema.innodb_trx} as an age so the database and
+ * application clocks need not agree. {@code sync.safety-lag-seconds} is kept on
+ * top of it for clock skew between nodes and for the gap between a statement
+ * being stamped and its transaction showing up.</p>
+ *
+ * <p>Reading {@code innodb_trx} needs the {@code PROCESS} privilege. Without it
+ * the horizon falls back to the fixed lag alone, which a write transaction
+ * running longer than the lag can still slip behind.</p>
+ */
+@Slf4j
+@Component
+class SyncHorizon {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long safetyLagSeconds;
+    private volatile boolean openTransactionsReadable = true;
+
+    SyncHorizon(JdbcTemplate jdbcTemplate, @Value("${sync.safety-lag-seconds:2}") long safetyLagSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.safetyLagSeconds = safetyLagSeconds;
+    }
+
+    Instant until(Instant now) {
+        long oldestOpenSeconds = oldestOpenWriteSeconds();
+        return now.minusSeconds(safetyLagSeconds + oldestOpenSeconds).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /** Whole seconds, rounded up, since the oldest open write transaction started; 0 if there is none. */
+    private long oldestOpenWriteSeconds() {
+        if (!openTransactionsReadable) {
+            return 0;
+        }
+        try {
+            Long micros = jdbcTemplate.queryForObject("""
+                    SELECT TIMESTAMPDIFF(MICROSECOND, MIN(trx_started), NOW(6))
+                    FROM information_schema.innodb_trx
+                    WHERE trx_is_read_only = 0""", Long.class);
+            return micros == null || micros <= 0 ? 0 : (micros + 999_999) / 1_000_000;
+        } catch (DataAccessException e) {
+            openTransactionsReadable = false;
+            log.warn("Cannot read open transactions, the sync feed falls back to a {}s lag", safetyLagSeconds, e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.jade.expensetracker.domain.expense.batch;
+
+import dev.jade.expensetracker.domain.expense.dto.BatchRequest;
+import dev.jade.expensetracker.domain.expense.dto.BatchResponse;
+import dev.jade.expensetracker.domain.user.User;
+import dev.jade.expensetracker.security.ratelimit.RateLimiter;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final ExpenseBatchService batchService;
+    private final RateLimiter rateLimiter;
+
+    @PostMapping
+    public BatchResponse executeBatch(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody BatchRequest request) {
+        // The rate limit filter already took one write token for the request itself.
+        rateLimiter.chargeWrites(user.getUserId(), request.operations().size() - 1L);
+        return batchService.execute(request);
+    }
+}
@@ -0,0 +1,354 @@
+package dev.jade.expensetracker.domain.expense.batch;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseMapper;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.BatchOperation;
+import dev.jade.expensetracker.domain.expense.dto.BatchRequest;
+import dev.jade.expensetracker.domain.expense.dto.BatchResponse;
+import dev.jade.expensetracker.domain.expense.dto.BatchResponse.OperationResult;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.expense.tag.ExpenseTaxonomy;
+import dev.jade.expensetracker.domain.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an ordered list of expense operations for the current user.
+ *
+ * <p>Consecutive operations of the same kind form a run, and each run is
+ * executed with a fixed number of statements regardless of its length: creates
+ * as one multi-row insert, patches as one select followed by batched updates,
+ * deletes as one select, one delete and one tombstone insert. Order between
+ * runs is preserved, so a patch followed by a delete of the same expense
+ * behaves exactly as two separate requests would.</p>
+ *
+ * <p>In {@code ATOMIC} mode every run shares one transaction that is rolled back
+ * at the first failing operation. In {@code PER_OPERATION} mode each run commits
+ * on its own; invalid or missing targets only fail their own operation, and a
+ * run the database rejects is retried one operation at a time to isolate the
+ * culprit. Change events are published inside the transactions, so listeners
+ * only see what committed.</p>
+ */
+@Slf4j
+@Service
+public class ExpenseBatchService {
+
+    private static final String NOT_FOUND = "Expense not found or access denied";
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseBatchWriter batchWriter;
+    private final ExpenseMapper mapper;
+    private final ExpenseTaxonomy taxonomy;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxOperations;
+
+    public ExpenseBatchService(
+            ExpenseRepository expenseRepository,
+            ExpenseBatchWriter batchWriter,
+            ExpenseMapper mapper,
+            ExpenseTaxonomy taxonomy,
+            Validator validator,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${expense.batch.max-operations:100}") int maxOperations) {
+        this.expenseRepository = expenseRepository;
+        this.batchWriter = batchWriter;
+        this.mapper = mapper;
+        this.taxonomy = taxonomy;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxOperations = maxOperations;
+    }
+
+    public BatchResponse execute(BatchRequest request) {
+        List<BatchOperation> operations = request.operations();
+        if (operations.size() > maxOperations) {
+            throw new RuntimeException("A batch may contain at most " + maxOperations + " operations");
+        }
+
+        User currentUser = getCurrentUser();
+        List<Run> runs = coalesce(operations);
+        OperationResult[] results = new OperationResult[operations.size()];
+
+        boolean committed = request.atomic()
+                ? executeAtomically(currentUser, runs, results)
+                : executePerOperation(currentUser, runs, results);
+        return new BatchResponse(committed, Arrays.asList(results));
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+    private boolean executeAtomically(User user, List<Run> runs, OperationResult[] results) {
+        Boolean committed = transactionTemplate.execute(status -> {
+            for (Run run : runs) {
+                if (!executeRun(user, run, results, true)) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(committed)) {
+            return true;
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null || results[i].error() == null) {
+                results[i] = failure(i, HttpStatus.FAILED_DEPENDENCY, "Not applied, another operation in the batch failed");
+            }
+        }
+        return false;
+    }
+
+    private boolean executePerOperation(User user, List<Run> runs, OperationResult[] results) {
+        for (Run run : runs) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> executeRun(user, run, results, false));
+            } catch (DataAccessException e) {
+                if (run.size() == 1) {
+                    results[run.indexes().getFirst()] = rejected(run.indexes().getFirst(), e);
+                    continue;
+                }
+                for (Run single : run.split()) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> executeRun(user, single, results, false));
+                    } catch (DataAccessException ex) {
+                        results[single.indexes().getFirst()] = rejected(single.indexes().getFirst(), ex);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes one run inside the caller's transaction and records a result per
+     * operation. Returns {@code false} if an operation failed and
+     * {@code stopOnFailure} is set, in which case nothing further is written.
+     */
+    private boolean executeRun(User user, Run run, OperationResult[] results, boolean stopOnFailure) {
+        return switch (run.operations().getFirst()) {
+            case BatchOperation.Create ignored -> executeCreates(user, run, results, stopOnFailure);
+            case BatchOperation.Patch ignored -> executePatches(user, run, results, stopOnFailure);
+            case BatchOperation.Delete ignored -> executeDeletes(user, run, results, stopOnFailure);
+        };
+    }
+
+    private boolean executeCreates(User user, Run run, OperationResult[] results, boolean stopOnFailure) {
+        List<Integer> indexes = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < run.size(); i++) {
+            int index = run.indexes().get(i);
+            BatchOperation.Create create = (BatchOperation.Create) run.operations().get(i);
+            String violation = validate(create.body());
+            if (violation != null) {
+                results[index] = failure(index, HttpStatus.BAD_REQUEST, violation);
+                if (stopOnFailure) {
+                    return false;
+                }
+                continue;
+            }
+            Expense expense = mapper.toEntity(create.body());
+            expense.setUser(user);
+            taxonomy.assign(expense, create.body().category(), create.body().tags());
+            expense.setCreatedAt(now);
+            expense.setUpdatedAt(now);
+            indexes.add(index);
+            expenses.add(expense);
+        }
+
+        if (!expenses.isEmpty()) {
+            batchWriter.insertAll(expenses);
+        }
+        for (int i = 0; i < expenses.size(); i++) {
+            ExpenseResponse response = mapper.toResponse(expenses.get(i));
+            results[indexes.get(i)] = success(indexes.get(i), HttpStatus.CREATED, response);
+            eventPublisher.publishEvent(ExpenseChangedEvent.created(response));
+        }
+        return true;
+    }
+
+    private boolean executePatches(User user, Run run, OperationResult[] results, boolean stopOnFailure) {
+        Map<Long, Expense> targets = loadTargets(user, run);
+        Instant now = Instant.now();
+        List<ExpenseChangedEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < run.size(); i++) {
+            int index = run.indexes().get(i);
+            BatchOperation.Patch patch = (BatchOperation.Patch) run.operations().get(i);
+            String violation = patch.expenseId() == null ? "expenseId: Expense id is required" : validate(patch.body());
+            Expense expense = violation == null ? targets.get(patch.expenseId()) : null;
+            if (violation != null || expense == null) {
+                results[index] = violation != null
+                        ? failure(index, HttpStatus.BAD_REQUEST, violation)
+                        : failure(index, HttpStatus.NOT_FOUND, NOT_FOUND);
+                if (stopOnFailure) {
+                    return false;
+                }
+                continue;
+            }
+
+            ExpenseResponse previous = mapper.toResponse(expense);
+            mapper.updateEntityFromRequest(patch.body(), expense);
+            taxonomy.assign(expense, patch.body().category(), patch.body().tags());
+            expense.setUpdatedAt(now);
+            ExpenseResponse response = mapper.toResponse(expense);
+            results[index] = success(index, HttpStatus.OK, response);
+            events.add(ExpenseChangedEvent.updated(previous, response));
+        }
+
+        // Dirty entities go out as one JDBC batch; flushing here also keeps them
+        // ordered before any delete run that follows. Going through the repository
+        // translates a rejected update into a DataAccessException, which
+        // PER_OPERATION mode isolates like any other.
+        expenseRepository.flush();
+        events.forEach(eventPublisher::publishEvent);
+        return true;
+    }
+
+    private boolean executeDeletes(User user, Run run, OperationResult[] results, boolean stopOnFailure) {
+        Map<Long, Expense> targets = loadTargets(user, run);
+        Set<Long> deleted = new LinkedHashSet<>();
+        List<ExpenseChangedEvent> events = new ArrayList<>();
+
+        for (int i = 0; i < run.size(); i++) {
+            int index = run.indexes().get(i);
+            Long expenseId = ((BatchOperation.Delete) run.operations().get(i)).expenseId();
+            if (expenseId == null || !targets.containsKey(expenseId) || !deleted.add(expenseId)) {
+                results[index] = expenseId == null
+                        ? failure(index, HttpStatus.BAD_REQUEST, "expenseId: Expense id is required")
+                        : failure(index, HttpStatus.NOT_FOUND, NOT_FOUND);
+                if (stopOnFailure) {
+                    return false;
+                }
+                continue;
+            }
+            results[index] = success(index, HttpStatus.NO_CONTENT, null);
+            events.add(ExpenseChangedEvent.deleted(mapper.toResponse(targets.get(expenseId))));
+        }
+
+        if (!deleted.isEmpty()) {
+            batchWriter.deleteAll(user.getUserId(), deleted);
+            batchWriter.insertTombstones(user.getUserId(), deleted, Instant.now());
+            // The rows are gone; nothing may be flushed for these entities later.
+            deleted.forEach(expenseId -> entityManager.detach(targets.get(expenseId)));
+        }
+        events.forEach(eventPublisher::publishEvent);
+        return true;
+    }
+
+    /** One query for every expense a patch or delete run refers to. */
+    private Map<Long, Expense> loadTargets(User user, Run run) {
+        Set<Long> expenseIds = new LinkedHashSet<>();
+        for (BatchOperation operation : run.operations()) {
+            Long expenseId = switch (operation) {
+                case BatchOperation.Patch patch -> patch.expenseId();
+                case BatchOperation.Delete delete -> delete.expenseId();
+                case BatchOperation.Create ignored -> null;
+            };
+            if (expenseId != null) {
+                expenseIds.add(expenseId);
+            }
+        }
+        if (expenseIds.isEmpty()) {
+            return Map.of();
+        }
+        return expenseRepository.findAllByUserAndExpenseIdIn(user, expenseIds).stream()
+                .collect(Collectors.toMap(Expense::getExpenseId, Function.identity()));
+    }
+
+    private String validate(Object body) {
+        if (body == null) {
+            return "body: Operation body is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(body);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static OperationResult success(int index, HttpStatus status, ExpenseResponse expense) {
+        return new OperationResult(index, status.value(), expense, null);
+    }
+
+    private static OperationResult failure(int index, HttpStatus status, String error) {
+        return new OperationResult(index, status.value(), null, error);
+    }
+
+    private static OperationResult rejected(int index, DataAccessException e) {
+        log.warn("Batch operation {} rejected by the database", index, e);
+        return failure(index, HttpStatus.CONFLICT, "Operation could not be applied");
+    }
+
+    /** Groups consecutive operations of the same kind, preserving order. */
+    private static List<Run> coalesce(List<BatchOperation> operations) {
+        List<Run> runs = new ArrayList<>();
+        Run current = null;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            if (operation == null) {
+                throw new RuntimeException("Operation " + i + " is empty");
+            }
+            if (current == null || current.operations().getFirst().getClass() != operation.getClass()) {
+                current = new Run(new ArrayList<>(), new ArrayList<>());
+                runs.add(current);
+            }
+            current.indexes().add(i);
+            current.operations().add(operation);
+        }
+        return runs;
+    }
+
+    private record Run(List<Integer> indexes, List<BatchOperation> operations) {
+
+        int size() {
+            return indexes.size();
+        }
+
+        List<Run> split() {
+            List<Run> singles = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++) {
+                singles.add(new Run(List.of(indexes.get(i)), List.of(operations.get(i))));
+            }
+            return singles;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.jade.expensetracker.domain.expense.batch;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.tag.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row statements for coalesced batch operations.
+ *
+ * <p>{@code IDENTITY} ids keep Hibernate from batching inserts, so a run of
+ * creates is written as one multi-row {@code INSERT} here instead, and a run of
+ * deletes becomes one {@code DELETE ... IN} plus one tombstone {@code INSERT}.
+ * Tag links are written and removed alongside, one statement each.
+ * Statements join the surrounding JPA transaction. The recurring-expense
+ * generator reuses {@link #insertAll} for the occurrences it materializes.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the expenses in one statement and assigns their generated ids.
+     * Categories and tags must already be resolved; {@code null} tags mean none.
+     */
+    public void insertAll(List<Expense> expenses) {
+        String sql = "INSERT INTO expenses (user_id, description, amount, entry_date, category_id, created_at, updated_at) VALUES "
+                + rows(expenses.size(), "(?, ?, ?, ?, ?, ?, ?)");
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int parameter = 1;
+            for (Expense expense : expenses) {
+                statement.setLong(parameter++, expense.getUser().getUserId());
+                statement.setString(parameter++, expense.getDescription());
+                statement.setBigDecimal(parameter++, expense.getAmount());
+                statement.setDate(parameter++, Date.valueOf(expense.getEntryDate()));
+                if (expense.getCategory() == null) {
+                    statement.setNull(parameter++, Types.BIGINT);
+                } else {
+                    statement.setLong(parameter++, expense.getCategory().getCategoryId());
+                }
+                statement.setTimestamp(parameter++, Timestamp.from(expense.getCreatedAt()));
+                statement.setTimestamp(parameter++, Timestamp.from(expense.getUpdatedAt()));
+            }
+            return statement;
+        }, keyHolder);
+
+        // MySQL reports one key per inserted row, in VALUES order.
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < expenses.size(); i++) {
+            Number key = (Number) keys.get(i).values().iterator().next();
+            expenses.get(i).setExpenseId(key.longValue());
+        }
+        insertTags(expenses);
+    }
+
+    private void insertTags(List<Expense> expenses) {
+        List<Object> parameters = new ArrayList<>();
+        for (Expense expense : expenses) {
+            if (expense.getTags() != null) {
+                for (Tag tag : expense.getTags()) {
+                    parameters.add(expense.getExpenseId());
+                    parameters.add(tag.getTagId());
+                }
+            }
+        }
+        if (!parameters.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO expense_tags (expense_id, tag_id) VALUES "
+                    + rows(parameters.size() / 2, "(?, ?)"), parameters.toArray());
+        }
+    }
+
+    void deleteAll(Long userId, Collection<Long> expenseIds) {
+        Object[] parameters = new Object[expenseIds.size() + 1];
+        parameters[0] = userId;
+        int parameter = 1;
+        for (Long expenseId : expenseIds) {
+            parameters[parameter++] = expenseId;
+        }
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id = ? AND expense_id IN ("
+                + rows(expenseIds.size(), "?") + ")", parameters);
+        // expense_tags has no user_id; the ids were loaded for this user by the caller.
+        jdbcTemplate.update("DELETE FROM expense_tags WHERE expense_id IN ("
+                + rows(expenseIds.size(), "?") + ")", expenseIds.toArray());
+    }
+
+    void insertTombstones(Long userId, Collection<Long> expenseIds, Instant deletedAt) {
+        Timestamp timestamp = Timestamp.from(deletedAt);
+        Object[] parameters = new Object[expenseIds.size() * 3];
+        int parameter = 0;
+        for (Long expenseId : expenseIds) {
+            parameters[parameter++] = expenseId;
+            parameters[parameter++] = userId;
+            parameters[parameter++] = timestamp;
+        }
+        jdbcTemplate.update("INSERT INTO expense_tombstones (expense_id, user_id, deleted_at) VALUES "
+                + rows(expenseIds.size(), "(?, ?, ?)"), parameters);
+    }
+
+    private static String rows(int count, String row) {
+        StringBuilder sql = new StringBuilder(count * (row.length() + 2));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * One entry of a {@link BatchRequest}, discriminated by its {@code op} field:
+ * <pre>
+ * {"op": "create", "body": {...ExpenseRequest...}}
+ * {"op": "patch", "expenseId": 42, "body": {...ExpensePatchRequest...}}
+ * {"op": "delete", "expenseId": 42}
+ * </pre>
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "op")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = BatchOperation.Create.class, name = "create"),
+        @JsonSubTypes.Type(value = BatchOperation.Patch.class, name = "patch"),
+        @JsonSubTypes.Type(value = BatchOperation.Delete.class, name = "delete")
+})
+public sealed interface BatchOperation {
+
+    record Create(ExpenseRequest body) implements BatchOperation {
+    }
+
+    record Patch(Long expenseId, ExpensePatchRequest body) implements BatchOperation {
+    }
+
+    record Delete(Long expenseId) implements BatchOperation {
+    }
+}
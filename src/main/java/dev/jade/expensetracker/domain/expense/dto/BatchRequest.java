@@ -0,0 +1,28 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchRequest(
+
+        /*
+         ATOMIC (the default) applies every operation or none of them;
+         PER_OPERATION commits each operation that succeeds on its own.
+        */
+        Mode mode,
+
+        @NotEmpty(message = "At least one operation is required")
+        List<BatchOperation> operations
+
+) {
+
+    public enum Mode {
+        ATOMIC,
+        PER_OPERATION
+    }
+
+    public boolean atomic() {
+        return mode != Mode.PER_OPERATION;
+    }
+}
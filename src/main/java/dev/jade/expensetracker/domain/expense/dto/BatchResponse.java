@@ -0,0 +1,33 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.util.List;
+
+public record BatchResponse(
+
+        /*
+         Whether the successful operations were persisted. Always true in
+         PER_OPERATION mode; false in ATOMIC mode when any operation failed.
+        */
+        boolean committed,
+
+        List<OperationResult> results
+
+) {
+
+    /**
+     * Outcome of the operation at {@code index}, with the status code the
+     * matching single-expense endpoint would have answered.
+     */
+    public record OperationResult(
+
+            int index,
+
+            int status,
+
+            ExpenseResponse expense,
+
+            String error
+
+    ) {
+    }
+}
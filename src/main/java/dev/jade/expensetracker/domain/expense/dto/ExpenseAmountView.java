@@ -0,0 +1,15 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExpenseAmountView(
+
+        Long expenseId,
+
+        BigDecimal amount,
+
+        LocalDate entryDate
+
+) {
+}
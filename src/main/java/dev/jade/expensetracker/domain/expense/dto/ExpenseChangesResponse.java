@@ -0,0 +1,16 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.util.List;
+
+public record ExpenseChangesResponse(
+
+        List<ExpenseResponse> changed,
+
+        List<Long> deleted,
+
+        String nextCursor,
+
+        boolean hasMore
+
+) {
+}
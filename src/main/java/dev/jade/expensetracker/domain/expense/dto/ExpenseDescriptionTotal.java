@@ -0,0 +1,14 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.math.BigDecimal;
+
+public record ExpenseDescriptionTotal(
+
+        String description,
+
+        Long count,
+
+        BigDecimal total
+
+) {
+}
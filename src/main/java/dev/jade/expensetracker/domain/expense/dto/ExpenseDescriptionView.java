@@ -0,0 +1,14 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.time.LocalDate;
+
+public record ExpenseDescriptionView(
+
+        Long expenseId,
+
+        String description,
+
+        LocalDate entryDate
+
+) {
+}
@@ -0,0 +1,36 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional filters for {@code GET /api/expenses}; {@code null} means unfiltered.
+ * Date and amount bounds are inclusive, and {@code description} matches as a prefix.
+ *
+ * <p>Every {@code tags} value must match, and a value may list alternatives
+ * separated by {@code |}: {@code tags=travel|commute&tags=work} is
+ * (travel OR commute) AND work. See {@code TagQuery}.</p>
+ */
+public record ExpenseFilter(
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate from,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate to,
+
+        BigDecimal minAmount,
+
+        BigDecimal maxAmount,
+
+        String description,
+
+        String category,
+
+        List<String> tags
+
+) {
+}
@@ -0,0 +1,11 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+/** One category or tag name on one expense. */
+public record ExpenseLabelView(
+
+        Long expenseId,
+
+        String name
+
+) {
+}
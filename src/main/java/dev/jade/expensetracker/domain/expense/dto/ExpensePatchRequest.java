@@ -2,13 +2,19 @@ package dev.jade.expensetracker.domain.expense.dto;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
+/**
+ * Fields to change; {@code null} leaves a field as it is. A blank {@code category}
+ * removes the category and an empty {@code tags} list removes every tag.
+ */
 public record ExpensePatchRequest(
 
         @Size(min = 3, max = 255, message = "Description must be between 3 and 255 characters")
@@ -20,7 +26,14 @@ public record ExpensePatchRequest(
 
         @PastOrPresent(message = "Entry date cannot be in the future")
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-        LocalDate entryDate
+        LocalDate entryDate,
+
+        @Size(max = 50, message = "Category must be at most 50 characters")
+        String category,
+
+        @Size(max = 20, message = "At most 20 tags are allowed")
+        List<@NotBlank(message = "Tags must not be blank")
+             @Size(max = 50, message = "Tags must be at most 50 characters") String> tags
 
 ) {
 }
\ No newline at end of file
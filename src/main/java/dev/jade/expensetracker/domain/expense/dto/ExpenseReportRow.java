@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExpenseReportRow(
+
+        Long expenseId,
+
+        LocalDate entryDate,
+
+        String description,
+
+        String category,
+
+        BigDecimal amount
+
+) {
+}
@@ -5,6 +5,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 public record ExpenseRequest(
 
@@ -20,7 +21,14 @@ public record ExpenseRequest(
         @NotNull(message = "Entry date is required")
         @PastOrPresent(message = "Entry date cannot be in the future")
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-        LocalDate entryDate
+        LocalDate entryDate,
+
+        @Size(max = 50, message = "Category must be at most 50 characters")
+        String category,
+
+        @Size(max = 20, message = "At most 20 tags are allowed")
+        List<@NotBlank(message = "Tags must not be blank")
+             @Size(max = 50, message = "Tags must be at most 50 characters") String> tags
 
 ) {
 }
\ No newline at end of file
@@ -3,7 +3,13 @@ package dev.jade.expensetracker.domain.expense.dto;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 
+/**
+ * {@code tags} are sorted by name. They are {@code null}, rather than empty,
+ * when the path that produced the response does not read tags at all: the
+ * reactive stack and the recurring-expense generator.
+ */
 public record ExpenseResponse(
 
         Long expenseId,
@@ -16,6 +22,10 @@ public record ExpenseResponse(
 
         LocalDate entryDate,
 
+        String category,
+
+        List<String> tags,
+
         Instant createdAt,
 
         Instant updatedAt
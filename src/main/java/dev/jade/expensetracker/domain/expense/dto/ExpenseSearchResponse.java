@@ -0,0 +1,14 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.util.List;
+
+public record ExpenseSearchResponse(
+
+        List<ExpenseResponse> results,
+
+        String nextCursor,
+
+        boolean hasMore
+
+) {
+}
@@ -0,0 +1,40 @@
+package dev.jade.expensetracker.domain.expense.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Distribution of expense amounts over {@code from..to}. Count, total, min and
+ * max are exact; the quantiles and histogram come from a sketch and are within
+ * 1% of the true amounts. Amount fields are {@code null} when there are no expenses.
+ */
+public record ExpenseStatsResponse(
+
+        LocalDate from,
+
+        LocalDate to,
+
+        long count,
+
+        BigDecimal total,
+
+        BigDecimal averagePerDay,
+
+        BigDecimal min,
+
+        BigDecimal median,
+
+        BigDecimal p90,
+
+        BigDecimal p99,
+
+        BigDecimal max,
+
+        List<Bin> histogram
+
+) {
+
+    public record Bin(BigDecimal from, BigDecimal to, long count) {
+    }
+}
@@ -0,0 +1,190 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.common.DuplicateResourceException;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code (userId, Idempotency-Key)}.
+ *
+ * <p>The first request for a key claims it in the {@link IdempotencyStore},
+ * executes the action and completes the claim with its response. Concurrent
+ * requests with the same key on this node wait for that execution instead of
+ * starting their own (single-flight). A duplicate on another node finds the
+ * claim and polls until it completes, then replays the response; if it is
+ * still pending after {@code expense.idempotency.claim-timeout} the duplicate
+ * is rejected with 409. Failed executions release their claim, so the client
+ * may retry them.</p>
+ *
+ * <p>Completing the claim is tried up to {@code COMPLETE_ATTEMPTS} times with a
+ * doubling backoff, since the write has already committed: a claim left
+ * pending would expire and let a retry of the request run it a second time. If
+ * every attempt fails the key is logged at error level and the response is
+ * still returned, so the client has no reason to retry.</p>
+ *
+ * <p>This service is deliberately not transactional: waiters must not hold a
+ * database connection while the leading request is still running.</p>
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MILLIS = 50;
+    private static final int COMPLETE_ATTEMPTS = 4;
+    private static final long COMPLETE_BACKOFF_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final Duration claimTimeout;
+    private final ConcurrentHashMap<InFlightKey, CompletableFuture<IdempotentResult>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyStore store,
+            @Value("${expense.idempotency.claim-timeout:PT30S}") Duration claimTimeout) {
+        this.store = store;
+        this.claimTimeout = claimTimeout;
+    }
+
+    public Outcome execute(String key, String fingerprint, Supplier<ExpenseResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Long userId = getCurrentUser().getUserId();
+
+        Optional<IdempotentResult> stored = store.find(userId, key);
+        if (stored.isPresent() && !stored.get().isPending()) {
+            return replay(stored.get(), fingerprint);
+        }
+
+        InFlightKey inFlightKey = new InFlightKey(userId, key);
+        CompletableFuture<IdempotentResult> leader = new CompletableFuture<>();
+        CompletableFuture<IdempotentResult> running = inFlight.putIfAbsent(inFlightKey, leader);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+
+        try {
+            Optional<IdempotentResult> elsewhere = claimOrAwait(userId, key, fingerprint);
+            if (elsewhere.isPresent()) {
+                leader.complete(elsewhere.get());
+                return replay(elsewhere.get(), fingerprint);
+            }
+
+            IdempotentResult result;
+            try {
+                result = new IdempotentResult(fingerprint, action.get());
+            } catch (RuntimeException e) {
+                store.release(userId, key);
+                throw e;
+            }
+            complete(userId, key, result);
+            leader.complete(result);
+            return new Outcome(result.response(), false);
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inFlightKey, leader);
+        }
+    }
+
+    /**
+     * Claims the key, or waits for the request holding it elsewhere to complete.
+     * Empty means this request holds the claim and must run.
+     */
+    private Optional<IdempotentResult> claimOrAwait(Long userId, String key, String fingerprint) {
+        long deadline = System.nanoTime() + claimTimeout.toNanos();
+        while (true) {
+            if (store.claim(userId, key, fingerprint)) {
+                return Optional.empty();
+            }
+            Optional<IdempotentResult> current = store.find(userId, key);
+            if (current.isEmpty()) {
+                // Released or expired between claim() and find(), so claim it again.
+                continue;
+            }
+            if (!current.get().isPending() || !current.get().fingerprint().equals(fingerprint)) {
+                return current;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new DuplicateResourceException("A request with this Idempotency-Key is still in progress");
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+            }
+        }
+    }
+
+    /** Completes the claim of an action that has run; never throws, since the action cannot be undone. */
+    private void complete(Long userId, String key, IdempotentResult result) {
+        long backoffMillis = COMPLETE_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                store.complete(userId, key, result);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == COMPLETE_ATTEMPTS) {
+                    log.error("Could not complete Idempotency-Key {} of user {} after its request ran; "
+                            + "a retry after the claim expires would run it again", key, userId, e);
+                    return;
+                }
+                log.warn("Completing Idempotency-Key {} of user {} failed on attempt {}, retrying",
+                        key, userId, attempt, e);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted before completing Idempotency-Key {} of user {} after its request ran",
+                        key, userId);
+                return;
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private static Outcome replay(IdempotentResult result, String fingerprint) {
+        if (!result.fingerprint().equals(fingerprint)) {
+            throw new DuplicateResourceException("Idempotency-Key was already used for a different request");
+        }
+        return new Outcome(result.response(), true);
+    }
+
+    private static IdempotentResult await(CompletableFuture<IdempotentResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+    public record Outcome(ExpenseResponse response, boolean replayed) {
+    }
+
+    private record InFlightKey(Long userId, String key) {
+    }
+}
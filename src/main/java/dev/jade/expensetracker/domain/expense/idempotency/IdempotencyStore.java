@@ -0,0 +1,28 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Storage for idempotent requests, keyed by {@code (userId, key)}. A key is
+ * claimed before its request runs and completed with the response afterwards,
+ * so a duplicate on any node sees the claim instead of running the request
+ * again. Completed entries only need to outlive the client's retry window.
+ */
+public interface IdempotencyStore {
+
+    /** The completed or still pending entry for the key, unless it has expired. */
+    Optional<IdempotentResult> find(Long userId, String key);
+
+    /**
+     * Records a pending entry for the key. Returns {@code false} if a live entry
+     * already exists; an expired claim, left by a node that died mid-request,
+     * is taken over.
+     */
+    boolean claim(Long userId, String key, String fingerprint);
+
+    void complete(Long userId, String key, IdempotentResult result);
+
+    /** Drops a pending claim whose request failed, so the client may retry it. */
+    void release(Long userId, String key);
+
+}
@@ -0,0 +1,23 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+
+/**
+ * The stored outcome of the first request for an idempotency key.
+ *
+ * @param fingerprint {@link RequestFingerprint} of the request, used to reject a key reused for a different request
+ * @param response    the response replayed to every retry, or {@code null} while the request is still running
+ */
+public record IdempotentResult(
+        String fingerprint,
+        ExpenseResponse response
+) {
+
+    static IdempotentResult pending(String fingerprint) {
+        return new IdempotentResult(fingerprint, null);
+    }
+
+    boolean isPending() {
+        return response == null;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Node-local store bounded both by TTL and by entry count. Entries are kept in
+ * insertion order, which is also expiry order for completed entries, so both
+ * limits are enforced by trimming from the head. A pending claim expires after
+ * {@code expense.idempotency.claim-timeout} instead and is re-inserted when it
+ * completes; reads check expiry either way.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(
+            @Value("${expense.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${expense.idempotency.claim-timeout:PT30S}") Duration claimTimeout,
+            @Value("${expense.idempotency.max-entries:100000}") int maxEntries) {
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResult> find(Long userId, String key) {
+        Entry entry = entries.get(new Key(userId, key));
+        if (entry == null || entry.expiresAt < System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.result);
+    }
+
+    @Override
+    public synchronized boolean claim(Long userId, String key, String fingerprint) {
+        if (find(userId, key).isPresent()) {
+            return false;
+        }
+        put(new Key(userId, key), IdempotentResult.pending(fingerprint), claimTimeout);
+        return true;
+    }
+
+    @Override
+    public synchronized void complete(Long userId, String key, IdempotentResult result) {
+        put(new Key(userId, key), result, ttl);
+    }
+
+    @Override
+    public synchronized void release(Long userId, String key) {
+        Key entryKey = new Key(userId, key);
+        Entry entry = entries.get(entryKey);
+        if (entry != null && entry.result.isPending()) {
+            entries.remove(entryKey);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserPurged(UserPurgedEvent event) {
+        entries.keySet().removeIf(key -> key.userId().equals(event.userId()));
+    }
+
+    private void put(Key key, IdempotentResult result, Duration lifetime) {
+        long now = System.currentTimeMillis();
+        entries.remove(key);
+        entries.put(key, new Entry(result, now + lifetime.toMillis()));
+
+        Iterator<Map.Entry<Key, Entry>> oldestFirst = entries.entrySet().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry oldest = oldestFirst.next().getValue();
+            if (entries.size() <= maxEntries && oldest.expiresAt >= now) {
+                break;
+            }
+            oldestFirst.remove();
+        }
+    }
+
+    private record Key(Long userId, String key) {
+    }
+
+    private record Entry(IdempotentResult result, long expiresAt) {
+    }
+}
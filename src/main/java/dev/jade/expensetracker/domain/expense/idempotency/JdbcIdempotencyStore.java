@@ -0,0 +1,113 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Store backed by the {@code idempotency_keys} table so a retry that lands on a
+ * different node still replays the original response. The claim is a row with
+ * a {@code NULL} response, inserted before the request runs, so the primary key
+ * decides between duplicates racing on different nodes. A node-local
+ * {@link InMemoryIdempotencyStore} sits in front of it for completed entries,
+ * so retries on the same node never reach the database.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper objectMapper;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final InMemoryIdempotencyStore nearCache;
+
+    public JdbcIdempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            JsonMapper objectMapper,
+            @Value("${expense.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${expense.idempotency.claim-timeout:PT30S}") Duration claimTimeout,
+            @Value("${expense.idempotency.max-entries:100000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.nearCache = new InMemoryIdempotencyStore(ttl, claimTimeout, maxEntries);
+    }
+
+    @Override
+    public Optional<IdempotentResult> find(Long userId, String key) {
+        Optional<IdempotentResult> cached = nearCache.find(userId, key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        return jdbcTemplate.query("""
+                        SELECT fingerprint, response FROM idempotency_keys
+                        WHERE user_id = ? AND idempotency_key = ? AND expires_at > ?""",
+                (rs, rowNum) -> {
+                    String response = rs.getString("response");
+                    return new IdempotentResult(
+                            rs.getString("fingerprint"),
+                            response == null ? null : objectMapper.readValue(response, ExpenseResponse.class));
+                },
+                userId, key, Timestamp.from(Instant.now())
+        ).stream().findFirst();
+    }
+
+    @Override
+    public boolean claim(Long userId, String key, String fingerprint) {
+        Instant now = Instant.now();
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ? AND expires_at <= ?",
+                userId, key, Timestamp.from(now));
+        try {
+            jdbcTemplate.update("""
+                            INSERT INTO idempotency_keys (user_id, idempotency_key, fingerprint, response, expires_at)
+                            VALUES (?, ?, ?, NULL, ?)""",
+                    userId, key, fingerprint, Timestamp.from(now.plus(claimTimeout)));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(Long userId, String key, IdempotentResult result) {
+        String response = objectMapper.writeValueAsString(result.response());
+        Timestamp expiresAt = Timestamp.from(Instant.now().plus(ttl));
+        int updated = jdbcTemplate.update("""
+                        UPDATE idempotency_keys SET response = ?, expires_at = ?
+                        WHERE user_id = ? AND idempotency_key = ? AND fingerprint = ? AND response IS NULL""",
+                response, expiresAt, userId, key, result.fingerprint());
+        if (updated == 0) {
+            // The claim outlived its timeout and was purged; keep the result unless another request took the key.
+            jdbcTemplate.update("""
+                            INSERT IGNORE INTO idempotency_keys (user_id, idempotency_key, fingerprint, response, expires_at)
+                            VALUES (?, ?, ?, ?, ?)""",
+                    userId, key, result.fingerprint(), response, expiresAt);
+        }
+        nearCache.complete(userId, key, result);
+    }
+
+    @Override
+    public void release(Long userId, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ? AND response IS NULL",
+                userId, key);
+    }
+
+    @Scheduled(cron = "${expense.idempotency.purge-cron:0 */15 * * * *}")
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ? LIMIT 10000",
+                Timestamp.from(Instant.now()));
+    }
+}
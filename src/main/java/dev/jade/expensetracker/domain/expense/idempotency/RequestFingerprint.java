@@ -0,0 +1,57 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 of a canonical serialization of a request, used to reject an
+ * Idempotency-Key reused for a different payload. Every field is written with
+ * its length, so no two payloads share an encoding, and amounts are written
+ * without trailing zeros, so {@code 10.5} and {@code 10.50} are the same request.
+ */
+public final class RequestFingerprint {
+
+    private RequestFingerprint() {
+    }
+
+    public static String of(ExpenseRequest request) {
+        StringBuilder canonical = new StringBuilder(128);
+        field(canonical, request.description());
+        field(canonical, plain(request.amount()));
+        field(canonical, request.entryDate() == null ? null : request.entryDate().toString());
+        field(canonical, request.category());
+        List<String> tags = request.tags();
+        field(canonical, tags == null ? null : String.valueOf(tags.size()));
+        if (tags != null) {
+            tags.forEach(tag -> field(canonical, tag));
+        }
+        return sha256(canonical.toString());
+    }
+
+    private static void field(StringBuilder canonical, String value) {
+        if (value == null) {
+            canonical.append('-');
+            return;
+        }
+        canonical.append(value.length()).append(':').append(value);
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros().toPlainString();
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
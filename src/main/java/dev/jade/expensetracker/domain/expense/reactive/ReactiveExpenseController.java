@@ -0,0 +1,68 @@
+package dev.jade.expensetracker.domain.expense.reactive;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpensePatchRequest;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the core {@code /api/expenses} read and write paths when the
+ * application runs on WebFlux. Request and response shapes are identical to
+ * {@code ExpenseController}; the archive, delta-sync and SSE endpoints are only
+ * available in the servlet mode.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/expenses")
+public class ReactiveExpenseController {
+
+    private final ReactiveExpenseService expenseService;
+
+    @GetMapping
+    public Mono<PagedModel<ExpenseResponse>> getAllExpenses(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(name = "sort", defaultValue = "entryDate") String field,
+            @RequestParam(defaultValue = "DESC") String direction) {
+
+        Sort sortOrder = direction
+                .equalsIgnoreCase("DESC") ?
+                Sort.by(field).descending() :
+                Sort.by(field).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sortOrder);
+        return expenseService.findAll(pageable).map(PagedModel::new);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ExpenseResponse>> addNewExpense(
+            @Valid @RequestBody ExpenseRequest request) {
+        return expenseService.create(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @PatchMapping("/{expenseId}")
+    public Mono<ResponseEntity<ExpenseResponse>> editExpense(
+            @PathVariable Long expenseId,
+            @Valid @RequestBody ExpensePatchRequest patch) {
+        return expenseService.update(expenseId, patch).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{expenseId}")
+    public Mono<ResponseEntity<Void>> deleteExpense(
+            @PathVariable Long expenseId) {
+        return expenseService.delete(expenseId)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+}
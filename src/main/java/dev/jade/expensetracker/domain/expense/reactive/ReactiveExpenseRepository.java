@@ -0,0 +1,178 @@
+package dev.jade.expensetracker.domain.expense.reactive;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.user.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * R2DBC access to {@code expenses} for the reactive serving mode.
+ *
+ * <p>Rows are mapped onto the JPA {@link Expense} class as plain objects so the
+ * existing {@code ExpenseMapper} and DTOs are shared by both stacks.</p>
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Repository
+@RequiredArgsConstructor
+class ReactiveExpenseRepository {
+
+    private static final String COLUMNS =
+            "expense_id, user_id, description, amount, entry_date, created_at, updated_at";
+
+    /** Sortable properties; the keys are the names the servlet API accepts. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "expenseId", "expense_id",
+            "description", "description",
+            "amount", "amount",
+            "entryDate", "entry_date",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    Flux<Expense> findPageByUserId(Long userId, Pageable pageable) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM expenses WHERE user_id = :userId"
+                        + " ORDER BY " + orderBy(pageable.getSort())
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("userId", userId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveExpenseRepository::toExpense)
+                .all();
+    }
+
+    Mono<Long> countByUserId(Long userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM expenses WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    Mono<Expense> findByExpenseIdAndUserId(Long expenseId, Long userId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM expenses WHERE expense_id = :expenseId AND user_id = :userId")
+                .bind("expenseId", expenseId)
+                .bind("userId", userId)
+                .map(ReactiveExpenseRepository::toExpense)
+                .one();
+    }
+
+    /** Inserts the expense and returns it with the generated id filled in. */
+    Mono<Expense> insert(Expense expense) {
+        return databaseClient.sql("""
+                        INSERT INTO expenses (user_id, description, amount, entry_date, created_at, updated_at)
+                        VALUES (:userId, :description, :amount, :entryDate, :createdAt, :updatedAt)
+                        """)
+                .filter(statement -> statement.returnGeneratedValues("expense_id"))
+                .bind("userId", expense.getUser().getUserId())
+                .bind("description", expense.getDescription())
+                .bind("amount", expense.getAmount())
+                .bind("entryDate", expense.getEntryDate())
+                .bind("createdAt", toDateTime(expense.getCreatedAt()))
+                .bind("updatedAt", toDateTime(expense.getUpdatedAt()))
+                .map(row -> row.get("expense_id", Long.class))
+                .one()
+                .map(expenseId -> {
+                    expense.setExpenseId(expenseId);
+                    return expense;
+                });
+    }
+
+    Mono<Long> update(Expense expense) {
+        return databaseClient.sql("""
+                        UPDATE expenses
+                        SET description = :description, amount = :amount, entry_date = :entryDate, updated_at = :updatedAt
+                        WHERE expense_id = :expenseId AND user_id = :userId
+                        """)
+                .bind("description", expense.getDescription())
+                .bind("amount", expense.getAmount())
+                .bind("entryDate", expense.getEntryDate())
+                .bind("updatedAt", toDateTime(expense.getUpdatedAt()))
+                .bind("expenseId", expense.getExpenseId())
+                .bind("userId", expense.getUser().getUserId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    Mono<Long> delete(Long expenseId, Long userId) {
+        return databaseClient.sql("DELETE FROM expenses WHERE expense_id = :expenseId AND user_id = :userId")
+                .bind("expenseId", expenseId)
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    Mono<Long> deleteTags(Long expenseId) {
+        return databaseClient.sql("DELETE FROM expense_tags WHERE expense_id = :expenseId")
+                .bind("expenseId", expenseId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    Mono<Long> insertTombstone(Long expenseId, Long userId, Instant deletedAt) {
+        return databaseClient.sql("""
+                        INSERT INTO expense_tombstones (expense_id, user_id, deleted_at)
+                        VALUES (:expenseId, :userId, :deletedAt)
+                        """)
+                .bind("expenseId", expenseId)
+                .bind("userId", userId)
+                .bind("deletedAt", toDateTime(deletedAt))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        Sort.Direction tieBreak = Sort.Direction.DESC;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new RuntimeException("Cannot sort expenses by '" + order.getProperty() + "'");
+            }
+            orderBy.add(column + " " + order.getDirection().name());
+            tieBreak = order.getDirection();
+        }
+        // Keeps page boundaries stable when the sort column has duplicates.
+        orderBy.add("expense_id " + tieBreak.name());
+        return orderBy.toString();
+    }
+
+    private static Expense toExpense(Readable row) {
+        User user = new User();
+        user.setUserId(row.get("user_id", Long.class));
+
+        Expense expense = new Expense();
+        expense.setExpenseId(row.get("expense_id", Long.class));
+        expense.setUser(user);
+        expense.setDescription(row.get("description", String.class));
+        expense.setAmount(row.get("amount", BigDecimal.class));
+        expense.setEntryDate(row.get("entry_date", LocalDate.class));
+        expense.setCreatedAt(toInstant(row.get("created_at", LocalDateTime.class)));
+        expense.setUpdatedAt(toInstant(row.get("updated_at", LocalDateTime.class)));
+        return expense;
+    }
+
+    // DATETIME columns hold JVM-zone wall-clock time, matching what the JDBC driver writes.
+    private static LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
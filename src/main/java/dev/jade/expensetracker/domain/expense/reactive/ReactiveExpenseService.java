@@ -0,0 +1,111 @@
+package dev.jade.expensetracker.domain.expense.reactive;
+
+import dev.jade.expensetracker.common.ResourceNotFoundException;
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseMapper;
+import dev.jade.expensetracker.domain.expense.dto.ExpensePatchRequest;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * The {@code ExpenseService} of the reactive serving mode.
+ *
+ * <p>Writes run in an R2DBC transaction and publish the same
+ * {@link ExpenseChangedEvent}s, but only after that transaction has committed,
+ * which is what {@code @TransactionalEventListener} guarantees on the JPA path.
+ * Categories and tags are only written by the servlet stack; requests that set
+ * them are rejected here rather than silently dropped.</p>
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Service
+@RequiredArgsConstructor
+public class ReactiveExpenseService {
+
+    private static final String NOT_FOUND = "Expense not found or access denied";
+    private static final String LABELS_UNSUPPORTED = "Categories and tags are not supported in reactive mode";
+
+    private final ReactiveExpenseRepository expenseRepository;
+    private final ExpenseMapper mapper;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Mono<Page<ExpenseResponse>> findAll(Pageable pageable) {
+        return getCurrentUser().flatMap(user -> Mono.zip(
+                        expenseRepository.findPageByUserId(user.getUserId(), pageable)
+                                .map(mapper::toResponse)
+                                .collectList(),
+                        expenseRepository.countByUserId(user.getUserId()))
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2())));
+    }
+
+    public Mono<ExpenseResponse> create(ExpenseRequest request) {
+        if (request.category() != null || request.tags() != null) {
+            return Mono.error(new RuntimeException(LABELS_UNSUPPORTED));
+        }
+        return getCurrentUser()
+                .flatMap(user -> {
+                    Expense expense = mapper.toEntity(request);
+                    expense.setUser(user);
+                    Instant now = Instant.now();
+                    expense.setCreatedAt(now);
+                    expense.setUpdatedAt(now);
+                    return expenseRepository.insert(expense);
+                })
+                .map(mapper::toResponse)
+                .doOnNext(response -> eventPublisher.publishEvent(ExpenseChangedEvent.created(response)));
+    }
+
+    public Mono<ExpenseResponse> update(Long expenseId, ExpensePatchRequest patch) {
+        if (patch.category() != null || patch.tags() != null) {
+            return Mono.error(new RuntimeException(LABELS_UNSUPPORTED));
+        }
+        return getCurrentUser()
+                .flatMap(user -> expenseRepository.findByExpenseIdAndUserId(expenseId, user.getUserId()))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND)))
+                .flatMap(expense -> {
+                    ExpenseResponse previous = mapper.toResponse(expense);
+                    mapper.updateEntityFromRequest(patch, expense);
+                    expense.setUpdatedAt(Instant.now());
+                    return expenseRepository.update(expense)
+                            .thenReturn(ExpenseChangedEvent.updated(previous, mapper.toResponse(expense)));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(eventPublisher::publishEvent)
+                .map(ExpenseChangedEvent::current);
+    }
+
+    public Mono<Void> delete(Long expenseId) {
+        return getCurrentUser()
+                .flatMap(user -> expenseRepository.findByExpenseIdAndUserId(expenseId, user.getUserId()))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(NOT_FOUND)))
+                .flatMap(expense -> {
+                    Long userId = expense.getUser().getUserId();
+                    return expenseRepository.delete(expenseId, userId)
+                            .then(expenseRepository.deleteTags(expenseId))
+                            .then(expenseRepository.insertTombstone(expenseId, userId, Instant.now()))
+                            .thenReturn(ExpenseChangedEvent.deleted(mapper.toResponse(expense)));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(eventPublisher::publishEvent)
+                .then();
+    }
+
+    private Mono<User> getCurrentUser() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(context -> (User) context.getAuthentication().getPrincipal());
+    }
+}
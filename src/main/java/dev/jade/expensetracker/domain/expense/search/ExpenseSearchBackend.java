@@ -0,0 +1,24 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Finds a user's expenses whose description contains every query term, each
+ * term matching a word prefix ({@code "ub"} finds "Uber"). The FULLTEXT backend
+ * is the default; the in-memory inverted index is for databases without
+ * FULLTEXT support, such as throwaway test instances.
+ */
+public interface ExpenseSearchBackend {
+
+    /**
+     * @param terms output of {@link SearchTerms#parseQuery(String)}
+     * @param from  inclusive lower bound on the entry date, or {@code null}
+     * @param to    inclusive upper bound on the entry date, or {@code null}
+     * @param after hits up to and including this one are skipped, or {@code null}
+     * @return at most {@code limit} hits, best first
+     */
+    List<SearchHit> search(Long userId, List<String> terms, LocalDate from, LocalDate to,
+                           SearchCursor after, int limit);
+
+}
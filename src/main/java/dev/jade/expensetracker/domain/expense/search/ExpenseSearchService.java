@@ -0,0 +1,76 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.ExpenseMapper;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseSearchResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ExpenseSearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ExpenseSearchBackend searchBackend;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseMapper mapper;
+
+    /**
+     * Ranks the current user's expenses against {@code query}, best match first.
+     * The backend only yields ids and scores; the page's rows are then fetched
+     * with one primary-key lookup.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseSearchResponse search(String query, LocalDate from, LocalDate to, String cursor, int limit) {
+        List<String> terms = SearchTerms.parseQuery(query);
+        int pageSize = Math.clamp(limit, 1, MAX_LIMIT);
+        User currentUser = getCurrentUser();
+
+        // One extra hit tells whether another page exists.
+        List<SearchHit> hits = searchBackend.search(
+                currentUser.getUserId(), terms, from, to, SearchCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+        if (hits.isEmpty()) {
+            return new ExpenseSearchResponse(List.of(), null, false);
+        }
+
+        Map<Long, Expense> expenses = expenseRepository
+                .findAllByUserAndExpenseIdIn(currentUser, hits.stream().map(SearchHit::expenseId).toList())
+                .stream()
+                .collect(Collectors.toMap(Expense::getExpenseId, Function.identity()));
+
+        List<ExpenseResponse> results = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            Expense expense = expenses.get(hit.expenseId());
+            if (expense != null) { // deleted or archived since the index saw it
+                results.add(mapper.toResponse(expense));
+            }
+        }
+
+        String nextCursor = hasMore ? SearchCursor.of(hits.getLast()).encode() : null;
+        return new ExpenseSearchResponse(results, nextCursor, hasMore);
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,69 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches {@code expense_search} through its FULLTEXT index in boolean mode.
+ * Each term becomes {@code +term*}, so every word is required and matches as a
+ * prefix. Only ids and scores are read, and the side table alone answers the query.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.search.backend", havingValue = "fulltext", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FullTextExpenseSearchBackend implements ExpenseSearchBackend {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SearchHit> search(Long userId, List<String> terms, LocalDate from, LocalDate to,
+                                  SearchCursor after, int limit) {
+        String against = booleanQuery(terms);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT expense_id, MATCH(description) AGAINST (? IN BOOLEAN MODE) AS score
+                FROM expense_search
+                WHERE user_id = ? AND MATCH(description) AGAINST (? IN BOOLEAN MODE)""");
+        List<Object> parameters = new ArrayList<>(List.of(against, userId, against));
+
+        if (from != null) {
+            sql.append(" AND entry_date >= ?");
+            parameters.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND entry_date <= ?");
+            parameters.add(Date.valueOf(to));
+        }
+        if (after != null) {
+            // Same ordering as SearchCursor.precedes, evaluated on the recomputed score.
+            sql.append(" HAVING score < ? OR (score <= ? AND expense_id < ?)");
+            parameters.add(after.score() - SearchCursor.SCORE_TOLERANCE);
+            parameters.add(after.score() + SearchCursor.SCORE_TOLERANCE);
+            parameters.add(after.expenseId());
+        }
+        sql.append(" ORDER BY score DESC, expense_id DESC LIMIT ?");
+        parameters.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new SearchHit(rs.getLong("expense_id"), rs.getDouble("score")),
+                parameters.toArray());
+    }
+
+    private static String booleanQuery(List<String> terms) {
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append('+').append(term).append('*');
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search backend for databases without FULLTEXT support. Each user's index is
+ * built from {@link ExpenseRepository} on their first search and then kept
+ * current from {@link ExpenseChangedEvent}s; the least recently searched users
+ * are dropped beyond {@code expense.search.memory.max-users}.
+ */
+@Component
+@ConditionalOnProperty(name = "expense.search.backend", havingValue = "memory")
+public class InMemoryExpenseSearchBackend implements ExpenseSearchBackend {
+
+    /*
+     The index is filled while its lock is held, so an event that arrives
+     during the load waits and is applied on top of it; applying a change the
+     load already saw is harmless because put and remove are idempotent.
+    */
+    private static final class UserIndex {
+        final InvertedIndex index = new InvertedIndex();
+        boolean loaded;
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final Map<Long, UserIndex> indexes;
+
+    public InMemoryExpenseSearchBackend(
+            ExpenseRepository expenseRepository,
+            @Value("${expense.search.memory.max-users:1000}") int maxUsers) {
+        this.expenseRepository = expenseRepository;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    @Override
+    public List<SearchHit> search(Long userId, List<String> terms, LocalDate from, LocalDate to,
+                                  SearchCursor after, int limit) {
+        UserIndex userIndex;
+        synchronized (indexes) {
+            userIndex = indexes.computeIfAbsent(userId, id -> new UserIndex());
+        }
+        synchronized (userIndex) {
+            if (!userIndex.loaded) {
+                for (ExpenseDescriptionView row : expenseRepository.findDescriptionViewsByUserId(userId)) {
+                    userIndex.index.put(row.expenseId(), row.entryDate(), row.description());
+                }
+                userIndex.loaded = true;
+            }
+            return userIndex.index.search(terms, from, to, after, limit);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserIndex userIndex;
+        synchronized (indexes) {
+            userIndex = indexes.get(event.userId());
+        }
+        if (userIndex == null) {
+            return; // not indexed yet; the first search loads the committed state
+        }
+        synchronized (userIndex) {
+            ExpenseResponse current = event.current();
+            if (current != null) {
+                userIndex.index.put(current.expenseId(), current.entryDate(), current.description());
+            } else {
+                userIndex.index.remove(event.expenseId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        synchronized (indexes) {
+            indexes.remove(event.userId());
+        }
+    }
+}
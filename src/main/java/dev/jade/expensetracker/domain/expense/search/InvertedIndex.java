@@ -0,0 +1,126 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-process inverted index over one user's expense descriptions.
+ *
+ * <p>Words are kept sorted, so a query term resolves to every word it prefixes
+ * with one range lookup. A document must match all terms. Its score adds up, per
+ * term, the best {@code tf * idf} among the words that term matched, which is
+ * the same shape as InnoDB's FULLTEXT relevance. Not thread-safe; callers lock.</p>
+ */
+final class InvertedIndex {
+
+    private record Document(LocalDate entryDate, String[] words) {
+    }
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+
+    int size() {
+        return documents.size();
+    }
+
+    void put(long expenseId, LocalDate entryDate, String description) {
+        remove(expenseId);
+        String[] words = SearchTerms.tokenize(description).toArray(String[]::new);
+        documents.put(expenseId, new Document(entryDate, words));
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new HashSet<>()).add(expenseId);
+        }
+    }
+
+    void remove(long expenseId) {
+        Document removed = documents.remove(expenseId);
+        if (removed == null) {
+            return;
+        }
+        for (String word : removed.words()) {
+            Set<Long> ids = postings.get(word);
+            if (ids != null && ids.remove(expenseId) && ids.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    List<SearchHit> search(List<String> terms, LocalDate from, LocalDate to, SearchCursor after, int limit) {
+        Set<Long> candidates = null;
+
+        // Resolve each term to the words it prefixes; candidates must match every term.
+        for (String term : terms) {
+            Map<String, Set<Long>> words = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            if (words.isEmpty()) {
+                return List.of();
+            }
+            Set<Long> termDocuments = new HashSet<>();
+            words.values().forEach(termDocuments::addAll);
+            if (candidates == null) {
+                candidates = termDocuments;
+            } else {
+                candidates.retainAll(termDocuments);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // Min-heap of the best hits so far; the worst one is evicted first.
+        Comparator<SearchHit> order = Comparator.comparingDouble(SearchHit::score)
+                .thenComparingLong(SearchHit::expenseId);
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, order);
+
+        for (Long expenseId : candidates) {
+            Document document = documents.get(expenseId);
+            if ((from != null && document.entryDate().isBefore(from))
+                    || (to != null && document.entryDate().isAfter(to))) {
+                continue;
+            }
+            double score = score(document, terms);
+            if (after != null && !after.precedes(score, expenseId)) {
+                continue;
+            }
+            best.add(new SearchHit(expenseId, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(order.reversed());
+        return hits;
+    }
+
+    private double score(Document document, List<String> terms) {
+        String[] words = document.words();
+        double score = 0;
+        for (String term : terms) {
+            double bestForTerm = 0;
+            for (int i = 0; i < words.length; i++) {
+                if (!words[i].startsWith(term)) {
+                    continue;
+                }
+                int frequency = 0;
+                for (String word : words) {
+                    if (word.equals(words[i])) {
+                        frequency++;
+                    }
+                }
+                double idf = Math.log(1.0 + (double) documents.size() / postings.get(words[i]).size());
+                bestForTerm = Math.max(bestForTerm, frequency * idf);
+            }
+            score += bestForTerm;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The last hit of a search page, encoded as an opaque URL-safe token. The next
+ * page holds the hits that sort strictly after it.
+ *
+ * <p>Scores are floating point and the database recomputes them on every
+ * request, so they are compared with a small tolerance; hits within it count
+ * as tied and are ordered by expense id.</p>
+ */
+public record SearchCursor(double score, long expenseId) {
+
+    static final double SCORE_TOLERANCE = 1e-6;
+
+    public static SearchCursor of(SearchHit hit) {
+        return new SearchCursor(hit.score(), hit.expenseId());
+    }
+
+    public static SearchCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            return new SearchCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid search cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = score + ":" + expenseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** Whether a hit with the given score and id belongs after this cursor. */
+    boolean precedes(double otherScore, long otherId) {
+        if (otherScore < score - SCORE_TOLERANCE) {
+            return true;
+        }
+        return otherScore <= score + SCORE_TOLERANCE && otherId < expenseId;
+    }
+}
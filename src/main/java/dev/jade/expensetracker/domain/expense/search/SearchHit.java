@@ -0,0 +1,8 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+/**
+ * An expense matching a search, with the backend's relevance score. Hits are
+ * ordered by descending score, then descending expense id.
+ */
+public record SearchHit(long expenseId, double score) {
+}
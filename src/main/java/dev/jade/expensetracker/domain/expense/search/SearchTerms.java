@@ -0,0 +1,50 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case words of letters and digits. Used for queries by
+ * every backend and for documents by the in-memory one. Because only letters and
+ * digits survive, no user input can reach the FULLTEXT boolean-mode operators.
+ */
+public final class SearchTerms {
+
+    public static final int MAX_QUERY_TERMS = 8;
+
+    private SearchTerms() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Distinct query words in input order; every one of them must match. */
+    public static List<String> parseQuery(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            throw new RuntimeException("Search query must contain at least one word");
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            throw new RuntimeException("Search query may contain at most " + MAX_QUERY_TERMS + " words");
+        }
+        return List.copyOf(terms);
+    }
+}
@@ -0,0 +1,152 @@
+package dev.jade.expensetracker.domain.expense.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over amounts in cents, with logarithmic buckets in
+ * the style of DDSketch.
+ *
+ * <p>Bucket {@code i} counts the amounts in {@code (γ^(i-1), γ^i]} with
+ * {@code γ = (1 + α) / (1 - α)} and {@code α = 1%}, so any quantile it reports
+ * is within 1% of an amount at that rank. The whole
+ * range a user can enter fits in about 1,400 buckets, and only the span between
+ * the smallest and largest amount seen is allocated. Merging adds bucket counts,
+ * so sketches of separate months combine into exactly the sketch of their union.</p>
+ *
+ * <p>Not thread-safe. Cached sketches are never modified; merges go into a
+ * fresh instance.</p>
+ */
+final class AmountSketch {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final long[] EMPTY = new long[0];
+
+    private long[] counts = EMPTY;
+    private int offset;
+
+    private long count;
+    private long sumCents;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    void add(long cents) {
+        increment(bucket(cents), 1);
+        count++;
+        sumCents += cents;
+        minCents = Math.min(minCents, cents);
+        maxCents = Math.max(maxCents, cents);
+    }
+
+    void merge(AmountSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                increment(other.offset + i, other.counts[i]);
+            }
+        }
+        count += other.count;
+        sumCents += other.sumCents;
+        minCents = Math.min(minCents, other.minCents);
+        maxCents = Math.max(maxCents, other.maxCents);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long sumCents() {
+        return sumCents;
+    }
+
+    long minCents() {
+        return minCents;
+    }
+
+    long maxCents() {
+        return maxCents;
+    }
+
+    /** The amount at rank {@code q * (count - 1)}; the sketch must not be empty. */
+    long quantileCents(double q) {
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return representative(offset + i);
+            }
+        }
+        return maxCents;
+    }
+
+    /**
+     * Equal-width bins between the smallest and largest amount, each bucket
+     * counted in the bin holding its representative amount. Bin {@code k} spans
+     * {@code [bound(k), bound(k + 1))}, with the last bin closed.
+     */
+    long[] histogram(int bins) {
+        long[] histogram = new long[bins];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                histogram[bin(representative(offset + i), bins)] += counts[i];
+            }
+        }
+        return histogram;
+    }
+
+    long binBoundCents(int k, int bins) {
+        return minCents + Math.round((double) (maxCents - minCents) * k / bins);
+    }
+
+    long estimatedBytes() {
+        return 64 + (long) counts.length * Long.BYTES;
+    }
+
+    private int bin(long cents, int bins) {
+        if (maxCents == minCents) {
+            return 0;
+        }
+        int bin = (int) ((double) (cents - minCents) * bins / (maxCents - minCents));
+        return Math.min(bins - 1, bin);
+    }
+
+    private static int bucket(long cents) {
+        return (int) Math.ceil(Math.log(Math.max(1, cents)) / LOG_GAMMA);
+    }
+
+    /** The bucket's midpoint in relative terms, clamped to what was actually seen. */
+    private long representative(int bucket) {
+        long cents = Math.round(2 * Math.pow(GAMMA, bucket) / (GAMMA + 1));
+        return Math.clamp(cents, minCents, maxCents);
+    }
+
+    private void increment(int bucket, long by) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = bucket;
+        } else if (bucket < offset) {
+            long[] grown = new long[counts.length + (offset - bucket)];
+            System.arraycopy(counts, 0, grown, offset - bucket, counts.length);
+            counts = grown;
+            offset = bucket;
+        } else if (bucket >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, bucket - offset + 1);
+        }
+        counts[bucket - offset] += by;
+    }
+}
@@ -0,0 +1,155 @@
+package dev.jade.expensetracker.domain.expense.stats;
+
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseAmountView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseStatsResponse;
+import dev.jade.expensetracker.domain.user.User;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Amount statistics for {@code GET /api/expenses/stats}.
+ *
+ * <p>A range is split into calendar months. Whole months come from
+ * {@link MonthlySketchCache} when present; the rest are read in one streaming
+ * pass per run of consecutive months, each row going straight into its month's
+ * sketch, so nothing is sorted and no row outlives its callback. The partial
+ * months at either end of a range are computed but not cached.</p>
+ */
+@Service
+public class ExpenseStatsService {
+
+    private static final int MAX_BINS = 50;
+
+    private final ExpenseRepository expenseRepository;
+    private final MonthlySketchCache cache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExpenseStatsService(
+            ExpenseRepository expenseRepository,
+            MonthlySketchCache cache,
+            PlatformTransactionManager transactionManager) {
+        this.expenseRepository = expenseRepository;
+        this.cache = cache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ExpenseStatsResponse stats(LocalDate from, LocalDate to, int bins) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        int binCount = Math.clamp(bins, 1, MAX_BINS);
+        Long userId = getCurrentUser().getUserId();
+
+        MonthlySketchCache.UserSketches cached = cache.forUser(userId);
+        long generation = cached.generation();
+
+        AmountSketch total = new AmountSketch();
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            AmountSketch sketch = isWithin(month, from, to) ? cached.get(month) : null;
+            if (sketch != null) {
+                total.merge(sketch);
+            } else {
+                missing.add(month);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<YearMonth, AmountSketch> computed = readOnlyTransaction.execute(status -> read(userId, missing, from, to));
+            computed.forEach((month, sketch) -> {
+                total.merge(sketch);
+                if (isWithin(month, from, to)) {
+                    cache.store(cached, month, sketch, generation);
+                }
+            });
+        }
+        return toResponse(from, to, total, binCount);
+    }
+
+    private Map<YearMonth, AmountSketch> read(Long userId, List<YearMonth> months, LocalDate from, LocalDate to) {
+        Map<YearMonth, AmountSketch> sketches = new HashMap<>();
+        months.forEach(month -> sketches.put(month, new AmountSketch()));
+
+        int start = 0;
+        while (start < months.size()) {
+            int end = start;
+            while (end + 1 < months.size() && months.get(end + 1).equals(months.get(end).plusMonths(1))) {
+                end++;
+            }
+            LocalDate runFrom = max(from, months.get(start).atDay(1));
+            LocalDate runTo = min(to, months.get(end).atEndOfMonth());
+            try (Stream<ExpenseAmountView> rows = expenseRepository.streamAmountViewsBetween(userId, runFrom, runTo)) {
+                rows.forEach(row -> sketches.get(YearMonth.from(row.entryDate()))
+                        .add(AmountSketch.toCents(row.amount())));
+            }
+            start = end + 1;
+        }
+        return sketches;
+    }
+
+    private static ExpenseStatsResponse toResponse(LocalDate from, LocalDate to, AmountSketch sketch, int bins) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (sketch.count() == 0) {
+            BigDecimal zero = BigDecimal.ZERO.setScale(2);
+            return new ExpenseStatsResponse(from, to, 0, zero, zero, null, null, null, null, null, List.of());
+        }
+
+        long[] counts = sketch.histogram(bins);
+        List<ExpenseStatsResponse.Bin> histogram = new ArrayList<>(bins);
+        for (int k = 0; k < bins; k++) {
+            histogram.add(new ExpenseStatsResponse.Bin(
+                    AmountSketch.fromCents(sketch.binBoundCents(k, bins)),
+                    AmountSketch.fromCents(sketch.binBoundCents(k + 1, bins)),
+                    counts[k]));
+        }
+
+        BigDecimal total = AmountSketch.fromCents(sketch.sumCents());
+        return new ExpenseStatsResponse(
+                from,
+                to,
+                sketch.count(),
+                total,
+                total.divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP),
+                AmountSketch.fromCents(sketch.minCents()),
+                AmountSketch.fromCents(sketch.quantileCents(0.5)),
+                AmountSketch.fromCents(sketch.quantileCents(0.9)),
+                AmountSketch.fromCents(sketch.quantileCents(0.99)),
+                AmountSketch.fromCents(sketch.maxCents()),
+                histogram
+        );
+    }
+
+    private static boolean isWithin(YearMonth month, LocalDate from, LocalDate to) {
+        return !from.isAfter(month.atDay(1)) && !to.isBefore(month.atEndOfMonth());
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
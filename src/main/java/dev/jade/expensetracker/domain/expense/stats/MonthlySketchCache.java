@@ -0,0 +1,169 @@
+package dev.jade.expensetracker.domain.expense.stats;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amount sketches of whole calendar months, per user, so a yearly range merges
+ * twelve cached sketches instead of rescanning the year.
+ *
+ * <p>A month is dropped when an {@link ExpenseChangedEvent} touches it. A sketch
+ * being computed while such a change commits is not stored: each user carries a
+ * generation that every invalidation bumps, and a sketch is only stored if the
+ * generation it started from is still current. Users are kept in access order
+ * and the least recently used ones are dropped once the estimated footprint
+ * exceeds {@code expense.stats.cache.max-bytes}. Every user costs a fixed
+ * overhead on top of its sketches, so users registered by reads that never
+ * stored a month count against the budget too, and the budget is enforced
+ * whenever a user is added as well as on every store. The footprint is kept
+ * as a running total, so enforcing it only walks the users it drops.</p>
+ */
+@Component
+public class MonthlySketchCache {
+
+    /** A map entry, the per-user object and its empty month map. */
+    static final long USER_OVERHEAD_BYTES = 160;
+
+    private final long maxBytes;
+
+    private final Map<Long, UserSketches> users = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    public MonthlySketchCache(@Value("${expense.stats.cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** The user's cached months, registered so that invalidations reach them from now on. */
+    UserSketches forUser(Long userId) {
+        UserSketches sketches;
+        synchronized (users) {
+            sketches = users.get(userId);
+            if (sketches != null) {
+                return sketches;
+            }
+            sketches = new UserSketches(totalBytes);
+            users.put(userId, sketches);
+        }
+        evictOverBudget();
+        return sketches;
+    }
+
+    void store(UserSketches sketches, YearMonth month, AmountSketch sketch, long startedAt) {
+        if (sketches.putIfCurrent(month, sketch, startedAt)) {
+            evictOverBudget();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserSketches sketches;
+        synchronized (users) {
+            sketches = users.get(event.userId());
+        }
+        if (sketches == null) {
+            return;
+        }
+        if (event.previous() != null) {
+            sketches.invalidate(YearMonth.from(event.previous().entryDate()));
+        }
+        if (event.current() != null) {
+            sketches.invalidate(YearMonth.from(event.current().entryDate()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        synchronized (users) {
+            UserSketches sketches = users.remove(event.userId());
+            if (sketches != null) {
+                totalBytes.addAndGet(-sketches.evict());
+            }
+        }
+    }
+
+    long estimatedBytes() {
+        return totalBytes.get();
+    }
+
+    int residentUsers() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    private void evictOverBudget() {
+        synchronized (users) {
+            Iterator<UserSketches> eldestFirst = users.values().iterator();
+            while (totalBytes.get() > maxBytes && users.size() > 1 && eldestFirst.hasNext()) {
+                UserSketches eldest = eldestFirst.next();
+                eldestFirst.remove();
+                totalBytes.addAndGet(-eldest.evict());
+            }
+        }
+    }
+
+    /**
+     * One user's months. Size changes are added to the cache's running total
+     * until the user is evicted; after that nothing more is stored for it.
+     */
+    static final class UserSketches {
+
+        private final Map<YearMonth, AmountSketch> months = new HashMap<>();
+        private final AtomicLong cacheBytes;
+        private long generation;
+        private long bytes = USER_OVERHEAD_BYTES;
+        private boolean evicted;
+
+        UserSketches(AtomicLong cacheBytes) {
+            this.cacheBytes = cacheBytes;
+            cacheBytes.addAndGet(USER_OVERHEAD_BYTES);
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized AmountSketch get(YearMonth month) {
+            return months.get(month);
+        }
+
+        /** Stores {@code sketch} unless the user changed since {@code startedAt}; returns whether it did. */
+        synchronized boolean putIfCurrent(YearMonth month, AmountSketch sketch, long startedAt) {
+            if (evicted || generation != startedAt) {
+                return false;
+            }
+            AmountSketch replaced = months.put(month, sketch);
+            long delta = sketch.estimatedBytes() - (replaced == null ? 0 : replaced.estimatedBytes());
+            bytes += delta;
+            cacheBytes.addAndGet(delta);
+            return true;
+        }
+
+        synchronized void invalidate(YearMonth month) {
+            generation++;
+            AmountSketch removed = months.remove(month);
+            if (removed != null) {
+                bytes -= removed.estimatedBytes();
+                if (!evicted) {
+                    cacheBytes.addAndGet(-removed.estimatedBytes());
+                }
+            }
+        }
+
+        /** Detaches the user from the running total and returns what it accounted for. */
+        synchronized long evict() {
+            evicted = true;
+            return bytes;
+        }
+    }
+}
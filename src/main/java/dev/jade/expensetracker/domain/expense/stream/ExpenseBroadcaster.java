@@ -0,0 +1,21 @@
+package dev.jade.expensetracker.domain.expense.stream;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans committed expense changes out to every node that may hold a stream
+ * subscriber for the affected user.
+ *
+ * <p>The in-memory implementation only reaches the local node. A multi-node
+ * deployment plugs in an implementation backed by a shared channel (Redis
+ * pub/sub, a message broker) and selects it with {@code expense.stream.broadcaster}.</p>
+ */
+public interface ExpenseBroadcaster {
+
+    void publish(ExpenseChangedEvent event);
+
+    void subscribe(Consumer<ExpenseChangedEvent> listener);
+
+}
@@ -0,0 +1,190 @@
+package dev.jade.expensetracker.domain.expense.stream;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.user.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events stream of a user's own expense changes.
+ *
+ * <p>Each open stream is an async {@link SseEmitter}, so idle connections hold no
+ * request thread. Events are queued per subscriber in a bounded buffer and written
+ * by a virtual thread started for that subscriber whenever its buffer has
+ * something to send. {@code SseEmitter.send} blocks while the client's TCP window
+ * is full, so a stalled client parks only its own writer and never holds up the
+ * others; the blocked write itself fails once the connector's write timeout
+ * ({@code server.tomcat.connection-timeout}) passes. A subscriber whose buffer
+ * is full is treated as a slow consumer and dropped instead of being allowed to
+ * hold memory; its own writer closes the emitter once any send it is stuck in
+ * returns, so neither a publishing request nor the heartbeat waits on it. A
+ * heartbeat comment goes through the same buffer, so a dead or stalled
+ * connection is found within one heartbeat interval.</p>
+ */
+@Slf4j
+@Service
+public class ExpenseStreamService {
+
+    private final ExpenseBroadcaster broadcaster;
+    private final long timeoutMillis;
+    private final int bufferSize;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("expense-stream-heartbeat").daemon().factory());
+
+    public ExpenseStreamService(
+            ExpenseBroadcaster broadcaster,
+            @Value("${expense.stream.timeout-millis:1800000}") long timeoutMillis,
+            @Value("${expense.stream.buffer-size:64}") int bufferSize,
+            @Value("${expense.stream.heartbeat-seconds:20}") long heartbeatSeconds) {
+        this.broadcaster = broadcaster;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.writers = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("expense-stream-writer-", 0).factory());
+
+        broadcaster.subscribe(this::dispatch);
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        Long userId = getCurrentUser().getUserId();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        broadcaster.publish(event);
+    }
+
+    private void dispatch(ExpenseChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        // Built once and shared: the builder itself is single-use, its output is not.
+        Set<DataWithMediaType> message = SseEmitter.event()
+                .name(event.type().name().toLowerCase())
+                .id(String.valueOf(event.expenseId()))
+                .data(event.current() != null ? event.current() : Map.of("expenseId", event.expenseId()))
+                .build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, message);
+        }
+    }
+
+    private void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                enqueue(subscriber, heartbeat);
+            }
+        }
+    }
+
+    /*
+     Runs on the publishing request thread or the heartbeat thread, so it never
+     touches the emitter: a full buffer usually means a send is stuck on the
+     socket, and complete() would wait for that send's lock. The subscriber is
+     only marked evicted here; its own writer completes the emitter.
+    */
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> message) {
+        if (subscriber.evicted.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            if (subscriber.evicted.compareAndSet(false, true)) {
+                log.debug("Evicting slow expense stream subscriber for user {}", subscriber.userId);
+                remove(subscriber);
+            }
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> message;
+            while (!subscriber.evicted.get() && (message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message);
+            }
+            if (subscriber.evicted.get()) {
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A message or an eviction may have come in after the last poll but before the flag was cleared.
+        if ((!subscriber.queue.isEmpty() || subscriber.evicted.get())
+                && subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dev.jade.expensetracker.domain.expense.stream;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "expense.stream.broadcaster", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryExpenseBroadcaster implements ExpenseBroadcaster {
+
+    private final List<Consumer<ExpenseChangedEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ExpenseChangedEvent event) {
+        for (Consumer<ExpenseChangedEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ExpenseChangedEvent> listener) {
+        listeners.add(listener);
+    }
+}
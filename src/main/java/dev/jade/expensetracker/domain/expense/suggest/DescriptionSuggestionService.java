@@ -0,0 +1,29 @@
+package dev.jade.expensetracker.domain.expense.suggest;
+
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DescriptionSuggestionService {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final DescriptionSuggestionStore suggestionStore;
+
+    public List<String> suggest(String prefix, int limit) {
+        User currentUser = getCurrentUser();
+        return suggestionStore.suggest(currentUser.getUserId(), prefix, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,78 @@
+package dev.jade.expensetracker.domain.expense.suggest;
+
+import dev.jade.expensetracker.common.PerUserResidentCache;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseDescriptionView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-user description indexes behind {@code GET /api/expenses/suggest}.
+ *
+ * <p>A user's index is loaded from {@link ExpenseRepository} on their first
+ * suggestion request and then kept current from the {@link ExpenseChangedEvent}s
+ * that {@code ExpenseService.create}, {@code update} and {@code delete} publish,
+ * so later keystrokes never reach the database. Indexes live in a
+ * {@link PerUserResidentCache} bounded by {@code expense.suggest.max-bytes}.</p>
+ */
+@Component
+public class DescriptionSuggestionStore {
+
+    private final ExpenseRepository expenseRepository;
+    private final PerUserResidentCache<UserDescriptionIndex> users;
+
+    public DescriptionSuggestionStore(
+            ExpenseRepository expenseRepository,
+            @Value("${expense.suggest.max-bytes:33554432}") long maxBytes,
+            @Value("${expense.suggest.half-life-days:90}") double halfLifeDays) {
+        this.expenseRepository = expenseRepository;
+        this.users = new PerUserResidentCache<>(() -> new UserDescriptionIndex(halfLifeDays), this::load, maxBytes);
+    }
+
+    public List<String> suggest(Long userId, String prefix, int limit) {
+        return users.get(userId).suggest(prefix, (int) LocalDate.now().toEpochDay(), limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserDescriptionIndex index = users.resident(event.userId());
+        if (index == null) {
+            return;
+        }
+
+        if (event.type() == ExpenseChangedEvent.Type.DELETED) {
+            index.remove(event.expenseId());
+        } else {
+            ExpenseResponse current = event.current();
+            index.upsert(current.expenseId(), current.description(), (int) current.entryDate().toEpochDay());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        users.evict(event.userId());
+    }
+
+    private void load(Long userId, UserDescriptionIndex index) {
+        List<ExpenseDescriptionView> rows = expenseRepository.findDescriptionViewsByUserId(userId);
+
+        int count = rows.size();
+        long[] ids = new long[count];
+        String[] descriptions = new String[count];
+        int[] days = new int[count];
+        for (int i = 0; i < count; i++) {
+            ExpenseDescriptionView row = rows.get(i);
+            ids[i] = row.expenseId();
+            descriptions[i] = row.description();
+            days[i] = (int) row.entryDate().toEpochDay();
+        }
+        index.completeLoad(ids, descriptions, days, count);
+    }
+}
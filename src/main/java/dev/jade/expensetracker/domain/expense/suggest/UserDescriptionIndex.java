@@ -0,0 +1,296 @@
+package dev.jade.expensetracker.domain.expense.suggest;
+
+import dev.jade.expensetracker.common.LoadableUserState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One user's distinct descriptions as a sorted array, so a prefix is a
+ * contiguous slice found with two binary searches.
+ *
+ * <p>Each description carries an exponentially decayed use count: every expense
+ * using it adds {@code 2^-(age / halfLife)}, with age measured from its entry
+ * date. That single number ranks by frequency and recency at once. To keep
+ * edits exact, a second sorted array records which description and day each
+ * expense contributed, so an update or delete takes back precisely what was
+ * added, and replaying a change the snapshot already holds is harmless.</p>
+ */
+class UserDescriptionIndex extends LoadableUserState {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Array slots and string headers per distinct description, excluding characters. */
+    private static final int BYTES_PER_DESCRIPTION = 2 * 40 + Double.BYTES + Integer.BYTES + 4 * 4;
+
+    /** Id, description reference and day per expense. */
+    private static final int BYTES_PER_EXPENSE = Long.BYTES + 4 + Integer.BYTES;
+
+    private final double halfLifeDays;
+
+    // Distinct descriptions, sorted by key.
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private String[] displays = new String[INITIAL_CAPACITY];
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private int[] referenceDays = new int[INITIAL_CAPACITY];
+    private int[] uses = new int[INITIAL_CAPACITY];
+    private int descriptionCount;
+    private long characterBytes;
+
+    // What each expense contributed, sorted by expense id.
+    private long[] expenseIds = new long[INITIAL_CAPACITY];
+    private String[] expenseKeys = new String[INITIAL_CAPACITY];
+    private int[] expenseDays = new int[INITIAL_CAPACITY];
+    private int expenseCount;
+
+    UserDescriptionIndex(double halfLifeDays) {
+        this.halfLifeDays = halfLifeDays;
+    }
+
+    static String normalize(String text) {
+        return text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the index from a snapshot in ascending expense id order, then
+     * replays the mutations queued while it was read. The snapshot is sorted
+     * once and copied into arrays sized for it, rather than inserted row by row.
+     */
+    void completeLoad(long[] ids, String[] descriptions, int[] days, int count) {
+        completeLoad(() -> build(ids, descriptions, days, count));
+    }
+
+    void upsert(long expenseId, String description, int epochDay) {
+        mutate(() -> upsertLocked(expenseId, description, epochDay));
+    }
+
+    void remove(long expenseId) {
+        mutate(() -> removeLocked(expenseId));
+    }
+
+    /**
+     * The best {@code limit} descriptions starting with {@code prefix}, scored
+     * as of {@code today}, highest first.
+     */
+    List<String> suggest(String prefix, int today, int limit) {
+        lock.readLock().lock();
+        try {
+            String key = normalize(prefix);
+            int start = lowerBound(key);
+            int end = key.isEmpty() ? descriptionCount : lowerBound(key + Character.MAX_VALUE);
+
+            // Insertion into a small array kept best-first; limit is a handful.
+            int[] best = new int[Math.min(limit, Math.max(0, end - start))];
+            double[] bestScores = new double[best.length];
+            int found = 0;
+            for (int i = start; i < end; i++) {
+                double score = weights[i] * Math.pow(2, (referenceDays[i] - today) / halfLifeDays);
+                if (found == best.length && score <= bestScores[found - 1]) {
+                    continue;
+                }
+                int position = found < best.length ? found++ : found - 1;
+                while (position > 0 && bestScores[position - 1] < score) {
+                    best[position] = best[position - 1];
+                    bestScores[position] = bestScores[position - 1];
+                    position--;
+                }
+                best[position] = i;
+                bestScores[position] = score;
+            }
+
+            List<String> suggestions = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                suggestions.add(displays[best[i]]);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) descriptionCount * BYTES_PER_DESCRIPTION + characterBytes
+                    + (long) expenseCount * BYTES_PER_EXPENSE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsertLocked(long expenseId, String description, int epochDay) {
+        removeLocked(expenseId);
+
+        String key = normalize(description);
+        int index = lowerBound(key);
+        if (index == descriptionCount || !keys[index].equals(key)) {
+            insertDescription(index, key, epochDay);
+        }
+        String display = description.strip();
+        displays[index] = display.equals(key) ? keys[index] : display;
+
+        // Rebase the decayed weight onto the newest day it has seen.
+        if (epochDay > referenceDays[index]) {
+            weights[index] *= Math.pow(2, (referenceDays[index] - epochDay) / halfLifeDays);
+            referenceDays[index] = epochDay;
+        }
+        weights[index] += Math.pow(2, (epochDay - referenceDays[index]) / halfLifeDays);
+        uses[index]++;
+
+        int slot = -expenseSlot(expenseId) - 1;
+        ensureExpenseCapacity();
+        System.arraycopy(expenseIds, slot, expenseIds, slot + 1, expenseCount - slot);
+        System.arraycopy(expenseKeys, slot, expenseKeys, slot + 1, expenseCount - slot);
+        System.arraycopy(expenseDays, slot, expenseDays, slot + 1, expenseCount - slot);
+        expenseIds[slot] = expenseId;
+        expenseKeys[slot] = keys[index];
+        expenseDays[slot] = epochDay;
+        expenseCount++;
+    }
+
+    private void removeLocked(long expenseId) {
+        int slot = expenseSlot(expenseId);
+        if (slot < 0) {
+            return;
+        }
+        String key = expenseKeys[slot];
+        int epochDay = expenseDays[slot];
+        System.arraycopy(expenseIds, slot + 1, expenseIds, slot, expenseCount - slot - 1);
+        System.arraycopy(expenseKeys, slot + 1, expenseKeys, slot, expenseCount - slot - 1);
+        System.arraycopy(expenseDays, slot + 1, expenseDays, slot, expenseCount - slot - 1);
+        expenseCount--;
+        expenseKeys[expenseCount] = null;
+
+        int index = lowerBound(key);
+        if (--uses[index] == 0) {
+            removeDescription(index);
+        } else {
+            weights[index] = Math.max(0,
+                    weights[index] - Math.pow(2, (epochDay - referenceDays[index]) / halfLifeDays));
+        }
+    }
+
+    private void build(long[] ids, String[] descriptions, int[] days, int count) {
+        String[] rowKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("Snapshot rows must be in ascending expense id order");
+            }
+            rowKeys[i] = normalize(descriptions[i]);
+        }
+
+        String[] sorted = rowKeys.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (String key : sorted) {
+            if (distinct == 0 || !sorted[distinct - 1].equals(key)) {
+                sorted[distinct++] = key;
+            }
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, distinct);
+        keys = new String[capacity];
+        System.arraycopy(sorted, 0, keys, 0, distinct);
+        displays = new String[capacity];
+        weights = new double[capacity];
+        referenceDays = new int[capacity];
+        uses = new int[capacity];
+        descriptionCount = distinct;
+        characterBytes = 0;
+        for (int i = 0; i < distinct; i++) {
+            characterBytes += 2L * keys[i].length();
+            referenceDays[i] = Integer.MIN_VALUE;
+        }
+
+        // Two passes: every description's weight is based on the newest day it was used.
+        int[] rowIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = lowerBound(rowKeys[i]);
+            rowIndexes[i] = index;
+            referenceDays[index] = Math.max(referenceDays[index], days[i]);
+            uses[index]++;
+            String display = descriptions[i].strip();
+            displays[index] = display.equals(keys[index]) ? keys[index] : display;
+        }
+        for (int i = 0; i < count; i++) {
+            int index = rowIndexes[i];
+            weights[index] += Math.pow(2, (days[i] - referenceDays[index]) / halfLifeDays);
+        }
+
+        int expenseCapacity = Math.max(INITIAL_CAPACITY, count);
+        expenseIds = Arrays.copyOf(ids, expenseCapacity);
+        expenseKeys = new String[expenseCapacity];
+        expenseDays = Arrays.copyOf(days, expenseCapacity);
+        for (int i = 0; i < count; i++) {
+            expenseKeys[i] = keys[rowIndexes[i]];
+        }
+        expenseCount = count;
+    }
+
+    private void insertDescription(int index, String key, int epochDay) {
+        if (descriptionCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            displays = Arrays.copyOf(displays, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            referenceDays = Arrays.copyOf(referenceDays, capacity);
+            uses = Arrays.copyOf(uses, capacity);
+        }
+        int tail = descriptionCount - index;
+        System.arraycopy(keys, index, keys, index + 1, tail);
+        System.arraycopy(displays, index, displays, index + 1, tail);
+        System.arraycopy(weights, index, weights, index + 1, tail);
+        System.arraycopy(referenceDays, index, referenceDays, index + 1, tail);
+        System.arraycopy(uses, index, uses, index + 1, tail);
+        keys[index] = key;
+        weights[index] = 0;
+        referenceDays[index] = epochDay;
+        uses[index] = 0;
+        descriptionCount++;
+        characterBytes += 2L * key.length();
+    }
+
+    private void removeDescription(int index) {
+        characterBytes -= 2L * keys[index].length();
+        int tail = descriptionCount - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, tail);
+        System.arraycopy(displays, index + 1, displays, index, tail);
+        System.arraycopy(weights, index + 1, weights, index, tail);
+        System.arraycopy(referenceDays, index + 1, referenceDays, index, tail);
+        System.arraycopy(uses, index + 1, uses, index, tail);
+        descriptionCount--;
+        keys[descriptionCount] = null;
+        displays[descriptionCount] = null;
+    }
+
+    private void ensureExpenseCapacity() {
+        if (expenseCount == expenseIds.length) {
+            int capacity = expenseIds.length * 2;
+            expenseIds = Arrays.copyOf(expenseIds, capacity);
+            expenseKeys = Arrays.copyOf(expenseKeys, capacity);
+            expenseDays = Arrays.copyOf(expenseDays, capacity);
+        }
+    }
+
+    private int expenseSlot(long expenseId) {
+        return Arrays.binarySearch(expenseIds, 0, expenseCount, expenseId);
+    }
+
+    /** First description index whose key is not less than {@code key}. */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = descriptionCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,29 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * A user's category; an expense has at most one. Rows are created on first use
+ * by {@link ExpenseTaxonomy} and never renamed, so they are effectively immutable.
+ */
+@Getter
+@NoArgsConstructor
+@BatchSize(size = 100)
+@Entity
+@Table(name = "categories")
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long categoryId;
+
+    @Column(nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(nullable = false, updatable = false)
+    private String name;
+
+}
@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+    /** A locking read, so it sees rows committed after this transaction's snapshot. */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<Category> findLockedByUserIdAndName(Long userId, String name);
+
+}
@@ -0,0 +1,103 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import dev.jade.expensetracker.common.PerUserResidentCache;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseLabelView;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.UserPurgedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-user category and tag bitmaps behind the {@code category} and
+ * {@code tags} filters of {@code GET /api/expenses} and the spending aggregates.
+ *
+ * <p>A user's bitmaps are loaded on their first tag query and then kept current
+ * from {@link ExpenseChangedEvent}s, so a query resolves to expense ids with a
+ * few bitmap intersections instead of one join per tag group. Bitmaps live in a
+ * {@link PerUserResidentCache} bounded by {@code expense.tags.max-bytes}.</p>
+ */
+@Component
+public class ExpenseTagIndex {
+
+    private final ExpenseRepository expenseRepository;
+    private final PerUserResidentCache<UserTagBitmaps> users;
+
+    public ExpenseTagIndex(
+            ExpenseRepository expenseRepository,
+            @Value("${expense.tags.max-bytes:33554432}") long maxBytes) {
+        this.expenseRepository = expenseRepository;
+        this.users = new PerUserResidentCache<>(UserTagBitmaps::new, this::load, maxBytes);
+    }
+
+    /** Ids of the user's expenses matching {@code query}, ascending. */
+    public long[] match(Long userId, TagQuery query) {
+        return users.get(userId).match(query);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserTagBitmaps bitmaps = users.resident(event.userId());
+        if (bitmaps == null) {
+            return;
+        }
+
+        if (event.type() == ExpenseChangedEvent.Type.DELETED) {
+            bitmaps.remove(event.expenseId());
+            return;
+        }
+        ExpenseResponse current = event.current();
+        if (current.tags() == null) {
+            // The writer does not handle labels: what it created has none, what it updated kept its own.
+            return;
+        }
+        bitmaps.set(current.expenseId(), current.category(), current.tags().toArray(String[]::new));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        users.evict(event.userId());
+    }
+
+    private void load(Long userId, UserTagBitmaps bitmaps) {
+        completeLoad(bitmaps,
+                expenseRepository.findCategoryLabelsByUserId(userId),
+                expenseRepository.findTagLabelsByUserId(userId));
+    }
+
+    private static void completeLoad(UserTagBitmaps bitmaps, List<ExpenseLabelView> categoryRows,
+                                     List<ExpenseLabelView> tagRows) {
+        Map<Long, String> categoryById = new HashMap<>();
+        Map<Long, List<String>> tagsById = new HashMap<>();
+        TreeSet<Long> expenseIds = new TreeSet<>();
+        for (ExpenseLabelView row : categoryRows) {
+            categoryById.put(row.expenseId(), row.name());
+            expenseIds.add(row.expenseId());
+        }
+        for (ExpenseLabelView row : tagRows) {
+            tagsById.computeIfAbsent(row.expenseId(), id -> new ArrayList<>()).add(row.name());
+            expenseIds.add(row.expenseId());
+        }
+
+        int count = expenseIds.size();
+        long[] ids = new long[count];
+        String[] categories = new String[count];
+        String[][] tags = new String[count][];
+        int i = 0;
+        for (Long expenseId : expenseIds) {
+            ids[i] = expenseId;
+            categories[i] = categoryById.get(expenseId);
+            tags[i] = tagsById.getOrDefault(expenseId, List.of()).toArray(String[]::new);
+            i++;
+        }
+        bitmaps.completeLoad(ids, categories, tags, count);
+    }
+}
@@ -0,0 +1,93 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Resolves category and tag names to the user's rows, creating missing ones.
+ *
+ * <p>Two requests may use a new name at the same time. Both {@code INSERT IGNORE}
+ * it, the unique key lets one row through and makes the other wait for it, and
+ * both then read it back with a locking read, which unlike the transaction's
+ * snapshot sees the row the other one committed. Tags are inserted in name
+ * order so two such requests cannot lock each other's names in reverse.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseTaxonomy {
+
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Names compare trimmed and case-insensitively, and are stored that way. */
+    public static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sets what the request names on an expense whose owner is already set.
+     * A {@code null} argument leaves that part as it is; a blank category and an
+     * empty tag list clear it. A new expense always ends up with a tag set.
+     */
+    public void assign(Expense expense, String category, List<String> tags) {
+        Long userId = expense.getUser().getUserId();
+        if (category != null) {
+            expense.setCategory(category.isBlank() ? null : category(userId, category));
+        }
+
+        if (tags != null) {
+            Set<Tag> resolved = tags(userId, tags);
+            if (expense.getTags() == null) {
+                expense.setTags(resolved);
+            } else {
+                // Changed in place, so only the difference is written to expense_tags.
+                expense.getTags().retainAll(resolved);
+                expense.getTags().addAll(resolved);
+            }
+        } else if (expense.getTags() == null) {
+            expense.setTags(new HashSet<>());
+        }
+    }
+
+    private Category category(Long userId, String name) {
+        String key = normalize(name);
+        return categoryRepository.findByUserIdAndName(userId, key).orElseGet(() -> {
+            jdbcTemplate.update("INSERT IGNORE INTO categories (user_id, name) VALUES (?, ?)", userId, key);
+            return categoryRepository.findLockedByUserIdAndName(userId, key).orElseThrow();
+        });
+    }
+
+    private Set<Tag> tags(Long userId, Collection<String> names) {
+        Set<String> keys = new TreeSet<>();
+        for (String name : names) {
+            keys.add(normalize(name));
+        }
+        if (keys.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Tag> tags = new HashSet<>(tagRepository.findAllByUserIdAndNameIn(userId, keys));
+        if (tags.size() < keys.size()) {
+            tags.forEach(tag -> keys.remove(tag.getName()));
+            List<String> missing = new ArrayList<>(keys);
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO tags (user_id, name) VALUES (?, ?)", missing, missing.size(),
+                    (statement, name) -> {
+                        statement.setLong(1, userId);
+                        statement.setString(2, name);
+                    });
+            tags.addAll(tagRepository.findAllLockedByUserIdAndNameIn(userId, missing));
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's tag; an expense may carry any number of them. Like {@link Category},
+ * rows are created on first use by {@link ExpenseTaxonomy} and never change.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "tags")
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long tagId;
+
+    @Column(nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(nullable = false, updatable = false)
+    private String name;
+
+}
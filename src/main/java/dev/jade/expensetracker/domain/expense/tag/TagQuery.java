@@ -0,0 +1,46 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A condition on category and tags: the category must match, and so must at
+ * least one tag of every group. Names are normalized like stored ones.
+ */
+public record TagQuery(String category, List<List<String>> groups) {
+
+    private static final int MAX_TAG_NAMES = 32;
+
+    /**
+     * Parses request parameters, where each {@code tags} value is one group and
+     * {@code |} separates its alternatives. Blank values are ignored.
+     */
+    public static TagQuery of(String category, List<String> tags) {
+        List<List<String>> groups = new ArrayList<>();
+        int names = 0;
+        if (tags != null) {
+            for (String value : tags) {
+                List<String> group = new ArrayList<>();
+                for (String name : value.split("\\|")) {
+                    if (!name.isBlank()) {
+                        group.add(ExpenseTaxonomy.normalize(name));
+                    }
+                }
+                if (!group.isEmpty()) {
+                    names += group.size();
+                    groups.add(List.copyOf(group));
+                }
+            }
+        }
+        if (names > MAX_TAG_NAMES) {
+            throw new RuntimeException("At most " + MAX_TAG_NAMES + " tag names can be combined");
+        }
+
+        String normalizedCategory = category == null || category.isBlank() ? null : ExpenseTaxonomy.normalize(category);
+        return new TagQuery(normalizedCategory, List.copyOf(groups));
+    }
+
+    public boolean isEmpty() {
+        return category == null && groups.isEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findAllByUserIdAndNameIn(Long userId, Collection<String> names);
+
+    /** A locking read, so it sees rows committed after this transaction's snapshot. */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    List<Tag> findAllLockedByUserIdAndNameIn(Long userId, Collection<String> names);
+
+}
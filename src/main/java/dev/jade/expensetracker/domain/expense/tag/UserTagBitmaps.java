@@ -0,0 +1,193 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import dev.jade.expensetracker.common.LoadableUserState;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's categories and tags as compressed bitmaps, one per name.
+ *
+ * <p>Bits are not expense ids, which are 64-bit and spread across every user,
+ * but per-user ordinals handed out densely as labelled expenses are first seen.
+ * The snapshot assigns them in id order, so a user's bitmaps are mostly long
+ * runs and compress well. An ordinal is not reused once its expense is deleted;
+ * the gap disappears the next time the user is loaded. Setting or removing an
+ * expense's labels replaces whatever it had, so replaying a change the snapshot
+ * already holds is harmless.</p>
+ */
+class UserTagBitmaps extends LoadableUserState {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long[] NONE = new long[0];
+    private static final String[] NO_TAGS = new String[0];
+
+    /** Id, category and tag-array references per ordinal slot. */
+    private static final int BYTES_PER_SLOT = Long.BYTES + 4 + 4;
+
+    /** Id-to-ordinal map entry with its boxed key and value, plus a small tag array. */
+    private static final int BYTES_PER_EXPENSE = 32 + 16 + 16 + 24;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] expenseIds = new long[INITIAL_CAPACITY];
+    private String[] categories = new String[INITIAL_CAPACITY];
+    private String[][] tags = new String[INITIAL_CAPACITY][];
+    private int ordinalCount;
+
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+
+    /** {@code ids} must be ascending; a {@code null} category means none. */
+    void completeLoad(long[] ids, String[] categories, String[][] tags, int count) {
+        completeLoad(() -> {
+            for (int i = 0; i < count; i++) {
+                setLocked(ids[i], categories[i], tags[i]);
+            }
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+        });
+    }
+
+    /** Replaces the expense's labels with exactly these. */
+    void set(long expenseId, String category, String[] tags) {
+        mutate(() -> setLocked(expenseId, category, tags));
+    }
+
+    void remove(long expenseId) {
+        mutate(() -> removeLocked(expenseId));
+    }
+
+    /**
+     * Ids of the expenses matching {@code query}, ascending. Each group is the
+     * union of its tags' bitmaps and the result is the intersection of the
+     * groups and the category, so no expense is looked at unless it matches.
+     */
+    long[] match(TagQuery query) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> required = new ArrayList<>(query.groups().size() + 1);
+            if (query.category() != null) {
+                RoaringBitmap bitmap = byCategory.get(query.category());
+                if (bitmap == null) {
+                    return NONE;
+                }
+                required.add(bitmap);
+            }
+            for (List<String> group : query.groups()) {
+                List<RoaringBitmap> alternatives = new ArrayList<>(group.size());
+                for (String name : group) {
+                    RoaringBitmap bitmap = byTag.get(name);
+                    if (bitmap != null) {
+                        alternatives.add(bitmap);
+                    }
+                }
+                if (alternatives.isEmpty()) {
+                    return NONE;
+                }
+                required.add(alternatives.size() == 1
+                        ? alternatives.getFirst()
+                        : FastAggregation.or(alternatives.iterator()));
+            }
+            if (required.isEmpty()) {
+                return NONE;
+            }
+
+            RoaringBitmap matched = required.size() == 1
+                    ? required.getFirst()
+                    : FastAggregation.and(required.iterator());
+            long[] ids = new long[matched.getCardinality()];
+            int found = 0;
+            for (IntIterator ordinal = matched.getIntIterator(); ordinal.hasNext(); ) {
+                ids[found++] = expenseIds[ordinal.next()];
+            }
+            // Ordinals follow id order except for expenses labelled out of order after the load.
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) expenseIds.length * BYTES_PER_SLOT + (long) ordinals.size() * BYTES_PER_EXPENSE;
+            for (RoaringBitmap bitmap : byCategory.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byTag.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setLocked(long expenseId, String category, String[] tagNames) {
+        Integer ordinal = ordinals.get(expenseId);
+        if (ordinal == null) {
+            if (category == null && tagNames.length == 0) {
+                return; // unlabelled expenses never match, so they take no ordinal
+            }
+            ordinal = assignOrdinal(expenseId);
+        } else {
+            clear(ordinal);
+        }
+
+        categories[ordinal] = category;
+        tags[ordinal] = tagNames.length == 0 ? NO_TAGS : tagNames;
+        if (category != null) {
+            byCategory.computeIfAbsent(category, name -> new RoaringBitmap()).add(ordinal);
+        }
+        for (String tag : tagNames) {
+            byTag.computeIfAbsent(tag, name -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    private void removeLocked(long expenseId) {
+        Integer ordinal = ordinals.remove(expenseId);
+        if (ordinal != null) {
+            clear(ordinal);
+            categories[ordinal] = null;
+            tags[ordinal] = NO_TAGS;
+        }
+    }
+
+    private int assignOrdinal(long expenseId) {
+        if (ordinalCount == expenseIds.length) {
+            int capacity = expenseIds.length * 2;
+            expenseIds = Arrays.copyOf(expenseIds, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+        }
+        int ordinal = ordinalCount++;
+        expenseIds[ordinal] = expenseId;
+        ordinals.put(expenseId, ordinal);
+        return ordinal;
+    }
+
+    private void clear(int ordinal) {
+        if (categories[ordinal] != null) {
+            clearBit(byCategory, categories[ordinal], ordinal);
+        }
+        for (String tag : tags[ordinal]) {
+            clearBit(byTag, tag, ordinal);
+        }
+    }
+
+    private static void clearBit(Map<String, RoaringBitmap> bitmaps, String name, int ordinal) {
+        RoaringBitmap bitmap = bitmaps.get(name);
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(name);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import java.time.LocalDate;
+
+/**
+ * How often a recurring expense occurs. Occurrences are always counted from the
+ * start date rather than from the previous occurrence, so a monthly expense
+ * starting on the 31st falls on the last day of shorter months and returns to
+ * the 31st afterwards.
+ */
+public enum Frequency {
+
+    WEEKLY {
+        @Override
+        LocalDate occurrence(LocalDate start, int index) {
+            return start.plusWeeks(index);
+        }
+    },
+
+    MONTHLY {
+        @Override
+        LocalDate occurrence(LocalDate start, int index) {
+            return start.plusMonths(index);
+        }
+    },
+
+    YEARLY {
+        @Override
+        LocalDate occurrence(LocalDate start, int index) {
+            return start.plusYears(index);
+        }
+    };
+
+    abstract LocalDate occurrence(LocalDate start, int index);
+}
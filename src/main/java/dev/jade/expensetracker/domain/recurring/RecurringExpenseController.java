@@ -0,0 +1,47 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpensePatchRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/recurring-expenses")
+public class RecurringExpenseController {
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    @GetMapping
+    public List<RecurringExpenseResponse> getRecurringExpenses() {
+        return recurringExpenseService.findAll();
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringExpenseResponse> addRecurringExpense(
+            @Valid @RequestBody RecurringExpenseRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurringExpenseService.create(request));
+    }
+
+    @PatchMapping("/{recurringExpenseId}")
+    public ResponseEntity<RecurringExpenseResponse> editRecurringExpense(
+            @PathVariable Long recurringExpenseId,
+            @Valid @RequestBody RecurringExpensePatchRequest patch) {
+        return ResponseEntity.ok(recurringExpenseService.update(recurringExpenseId, patch));
+    }
+
+    @DeleteMapping("/{recurringExpenseId}")
+    public ResponseEntity<Void> deleteRecurringExpense(
+            @PathVariable Long recurringExpenseId) {
+        recurringExpenseService.delete(recurringExpenseId);
+        return ResponseEntity.noContent().build();
+    }
+}
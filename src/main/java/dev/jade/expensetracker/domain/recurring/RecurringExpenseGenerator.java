@@ -0,0 +1,251 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import dev.jade.expensetracker.common.DrainingWorkerPool;
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.ExpenseMapper;
+import dev.jade.expensetracker.domain.expense.batch.ExpenseBatchWriter;
+import dev.jade.expensetracker.domain.user.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materializes due occurrences of recurring expenses into {@code expenses}.
+ *
+ * <p>Definitions are split into ranges of {@code recurring.generator.range-size}
+ * user ids. Nodes claim ranges through {@link RecurringGenerationLeases}, so they
+ * share the work without coordinating in any other way. Every node must use the
+ * same range size. Within a range, due definitions are read in batches. Each
+ * batch commits as one transaction: a multi-row insert of its occurrences plus
+ * a guarded advance of each definition's progress. If a definition was advanced
+ * by someone else (a lease that expired mid-run), the guard fails and the batch
+ * rolls back, so an occurrence is never generated twice.</p>
+ *
+ * <p>After downtime, occurrences older than {@code recurring.generator.catch-up-days}
+ * are skipped rather than inserted. This bounds the catch-up per definition and
+ * keeps a long outage from flooding a user's history. Generation runs on its
+ * own worker threads, never on a request thread or the shared scheduler thread.</p>
+ */
+@Slf4j
+@Component
+public class RecurringExpenseGenerator {
+
+    private static final int INSERT_CHUNK = 1000;
+
+    private record Due(long recurringExpenseId, long userId, String description, BigDecimal amount,
+                       Frequency frequency, LocalDate startDate, LocalDate endDate, int nextIndex) {
+    }
+
+    private record Progress(long recurringExpenseId, int previousIndex, int nextIndex, LocalDate nextOccurrence) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecurringGenerationLeases leases;
+    private final ExpenseBatchWriter batchWriter;
+    private final ExpenseMapper expenseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long rangeSize;
+    private final int batchSize;
+    private final int catchUpDays;
+    private final long leaseSeconds;
+    private final long intervalSeconds;
+
+    private final DrainingWorkerPool workers;
+
+    public RecurringExpenseGenerator(
+            JdbcTemplate jdbcTemplate,
+            RecurringGenerationLeases leases,
+            ExpenseBatchWriter batchWriter,
+            ExpenseMapper expenseMapper,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${recurring.generator.enabled:true}") boolean enabled,
+            @Value("${recurring.generator.range-size:1000}") long rangeSize,
+            @Value("${recurring.generator.batch-size:500}") int batchSize,
+            @Value("${recurring.generator.catch-up-days:31}") int catchUpDays,
+            @Value("${recurring.generator.lease-seconds:120}") long leaseSeconds,
+            @Value("${recurring.generator.interval-millis:60000}") long intervalMillis,
+            @Value("${recurring.generator.workers:2}") int workerCount) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leases = leases;
+        this.batchWriter = batchWriter;
+        this.expenseMapper = expenseMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.rangeSize = rangeSize;
+        this.batchSize = batchSize;
+        this.catchUpDays = catchUpDays;
+        this.leaseSeconds = leaseSeconds;
+        this.intervalSeconds = Math.max(1, intervalMillis / 1000);
+        this.workers = new DrainingWorkerPool("recurring-generator", workerCount, this::drainRanges);
+    }
+
+    /** Tops the worker pool up; workers drain due ranges and then stop. */
+    @Scheduled(fixedDelayString = "${recurring.generator.interval-millis:60000}")
+    public void generateDue() {
+        if (!enabled) {
+            return;
+        }
+        leases.ensureRanges(rangeSize);
+        workers.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /** Runs on the worker pool until no range is left to claim. */
+    private void drainRanges() {
+        try {
+            RecurringGenerationLeases.Lease lease;
+            while ((lease = leases.claim(leaseSeconds)) != null) {
+                generateRange(lease);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Recurring expense generation stopped", e);
+        }
+    }
+
+    private void generateRange(RecurringGenerationLeases.Lease lease) {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        long rangeEnd = lease.rangeStart() + rangeSize;
+
+        int definitions = 0;
+        int occurrences = 0;
+        boolean completed = false;
+        try {
+            while (true) {
+                int[] batch = transactionTemplate.execute(status ->
+                        generateBatch(lease.rangeStart(), rangeEnd, today));
+                definitions += batch[0];
+                occurrences += batch[1];
+                if (batch[0] < batchSize) {
+                    completed = true;
+                    break;
+                }
+                if (!leases.renew(lease, leaseSeconds)) {
+                    log.warn("Lost the lease on user ids [{}, {}) mid-run", lease.rangeStart(), rangeEnd);
+                    return;
+                }
+            }
+        } finally {
+            // A range that failed becomes due again at once; a completed one after the interval.
+            leases.release(lease, completed ? intervalSeconds : 0);
+        }
+
+        if (definitions > 0) {
+            log.info("Generated {} occurrences of {} recurring expenses for user ids [{}, {}) in {} ms",
+                    occurrences, definitions, lease.rangeStart(), rangeEnd, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /** Returns the number of definitions processed and occurrences inserted. */
+    private int[] generateBatch(long rangeStart, long rangeEnd, LocalDate today) {
+        List<Due> due = jdbcTemplate.query("""
+                        SELECT recurring_expense_id, user_id, description, amount, frequency,
+                               start_date, end_date, next_index
+                        FROM recurring_expenses
+                        WHERE user_id >= ? AND user_id < ? AND next_occurrence <= ?
+                          AND (end_date IS NULL OR next_occurrence <= end_date)
+                        ORDER BY user_id, next_occurrence
+                        LIMIT ?""",
+                (rs, rowNum) -> new Due(
+                        rs.getLong("recurring_expense_id"),
+                        rs.getLong("user_id"),
+                        rs.getString("description"),
+                        rs.getBigDecimal("amount"),
+                        Frequency.valueOf(rs.getString("frequency")),
+                        rs.getObject("start_date", LocalDate.class),
+                        rs.getObject("end_date", LocalDate.class),
+                        rs.getInt("next_index")),
+                rangeStart, rangeEnd, Date.valueOf(today), batchSize);
+        if (due.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        LocalDate earliest = today.minusDays(catchUpDays);
+        Instant now = Instant.now();
+        Map<Long, User> owners = new HashMap<>();
+        List<Expense> expenses = new ArrayList<>();
+        List<Progress> progress = new ArrayList<>(due.size());
+
+        for (Due definition : due) {
+            int index = definition.nextIndex();
+            LocalDate date = definition.frequency().occurrence(definition.startDate(), index);
+            while (!date.isAfter(today) && (definition.endDate() == null || !date.isAfter(definition.endDate()))) {
+                if (!date.isBefore(earliest)) {
+                    expenses.add(occurrence(definition, date, now, owners));
+                }
+                index++;
+                date = definition.frequency().occurrence(definition.startDate(), index);
+            }
+            progress.add(new Progress(definition.recurringExpenseId(), definition.nextIndex(), index, date));
+        }
+
+        for (int from = 0; from < expenses.size(); from += INSERT_CHUNK) {
+            batchWriter.insertAll(expenses.subList(from, Math.min(from + INSERT_CHUNK, expenses.size())));
+        }
+        advance(progress);
+
+        // Published inside the transaction, so listeners only see committed occurrences.
+        for (Expense expense : expenses) {
+            eventPublisher.publishEvent(ExpenseChangedEvent.created(expenseMapper.toResponse(expense)));
+        }
+        return new int[]{due.size(), expenses.size()};
+    }
+
+    private void advance(List<Progress> progress) {
+        List<Object[]> rows = new ArrayList<>(progress.size());
+        for (Progress row : progress) {
+            rows.add(new Object[]{row.nextIndex(), Date.valueOf(row.nextOccurrence()),
+                    row.recurringExpenseId(), row.previousIndex()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate("""
+                UPDATE recurring_expenses SET next_index = ?, next_occurrence = ?
+                WHERE recurring_expense_id = ? AND next_index = ?""", rows);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new IllegalStateException("Recurring expense " + progress.get(i).recurringExpenseId()
+                        + " was advanced concurrently");
+            }
+        }
+    }
+
+    private static Expense occurrence(Due definition, LocalDate date, Instant now, Map<Long, User> owners) {
+        User owner = owners.computeIfAbsent(definition.userId(), userId -> {
+            User user = new User();
+            user.setUserId(userId);
+            return user;
+        });
+
+        Expense expense = new Expense();
+        expense.setUser(owner);
+        expense.setDescription(definition.description());
+        expense.setAmount(definition.amount());
+        expense.setEntryDate(date);
+        expense.setCreatedAt(now);
+        expense.setUpdatedAt(now);
+        return expense;
+    }
+}
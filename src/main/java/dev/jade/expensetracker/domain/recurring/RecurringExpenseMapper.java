@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import dev.jade.expensetracker.config.MapStructConfig;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpensePatchRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
+
+@Mapper(config = MapStructConfig.class)
+public interface RecurringExpenseMapper {
+
+    RecurringExpenseResponse toResponse(RecurringExpense recurringExpense);
+
+    RecurringExpense toEntity(RecurringExpenseRequest request);
+
+    void updateEntityFromRequest(RecurringExpensePatchRequest patch, @MappingTarget RecurringExpense recurringExpense);
+
+}
@@ -0,0 +1,17 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import dev.jade.expensetracker.domain.user.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    List<RecurringExpense> findAllByUserOrderByRecurringExpenseId(User user);
+
+    Optional<RecurringExpense> findByRecurringExpenseIdAndUser(Long recurringExpenseId, User user);
+
+}
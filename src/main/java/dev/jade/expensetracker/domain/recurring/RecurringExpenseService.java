@@ -0,0 +1,79 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import dev.jade.expensetracker.common.ResourceNotFoundException;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpensePatchRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseRequest;
+import dev.jade.expensetracker.domain.recurring.dto.RecurringExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Definitions only; occurrences are materialized in the background by
+ * {@link RecurringExpenseGenerator}, never on the request path.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringExpenseService {
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final RecurringExpenseMapper mapper;
+
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseResponse> findAll() {
+        return recurringExpenseRepository
+                .findAllByUserOrderByRecurringExpenseId(getCurrentUser())
+                .stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public RecurringExpenseResponse create(RecurringExpenseRequest request) {
+        RecurringExpense recurringExpense = mapper.toEntity(request);
+        recurringExpense.setUser(getCurrentUser());
+        recurringExpense.setNextIndex(0);
+        recurringExpense.setNextOccurrence(request.startDate());
+        requireValidEndDate(recurringExpense);
+
+        return mapper.toResponse(recurringExpenseRepository.save(recurringExpense));
+    }
+
+    @Transactional
+    public RecurringExpenseResponse update(Long recurringExpenseId, RecurringExpensePatchRequest patch) {
+        RecurringExpense recurringExpense = findOwned(recurringExpenseId);
+        mapper.updateEntityFromRequest(patch, recurringExpense);
+        requireValidEndDate(recurringExpense);
+
+        return mapper.toResponse(recurringExpenseRepository.save(recurringExpense));
+    }
+
+    @Transactional
+    public void delete(Long recurringExpenseId) {
+        recurringExpenseRepository.delete(findOwned(recurringExpenseId));
+    }
+
+    private RecurringExpense findOwned(Long recurringExpenseId) {
+        return recurringExpenseRepository
+                .findByRecurringExpenseIdAndUser(recurringExpenseId, getCurrentUser())
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring expense not found or access denied"));
+    }
+
+    private static void requireValidEndDate(RecurringExpense recurringExpense) {
+        if (recurringExpense.getEndDate() != null
+                && recurringExpense.getEndDate().isBefore(recurringExpense.getStartDate())) {
+            throw new RuntimeException("End date must not be before the start date");
+        }
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
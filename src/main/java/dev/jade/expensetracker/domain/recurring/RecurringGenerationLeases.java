@@ -0,0 +1,102 @@
+package dev.jade.expensetracker.domain.recurring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Time-limited claims on user-id ranges in {@code recurring_generation_leases}.
+ *
+ * <p>A claim is a guarded {@code UPDATE} that only succeeds on a range that is due
+ * and whose lease is free or expired, so of several nodes racing for a range
+ * exactly one wins. Each claim carries a fresh token, and renewing or releasing
+ * it only works while the token still matches. A worker that stalled past its
+ * lease finds out on its next renewal instead of overwriting whoever took over.</p>
+ */
+@Component
+@RequiredArgsConstructor
+class RecurringGenerationLeases {
+
+    private static final int CANDIDATES = 16;
+    private static final int INSERT_CHUNK = 1000;
+
+    record Lease(long rangeStart, String token) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile long lastKnownRangeStart = -1;
+
+    /** Adds a lease row for every range up to the highest user id with a definition. */
+    void ensureRanges(long rangeSize) {
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT MAX(user_id) FROM recurring_expenses", Long.class);
+        if (maxUserId == null) {
+            return;
+        }
+        long lastRangeStart = maxUserId / rangeSize * rangeSize;
+        if (lastRangeStart <= lastKnownRangeStart) {
+            return;
+        }
+
+        // INSERT IGNORE leaves ranges another node already added untouched.
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        for (long start = 0; start <= lastRangeStart; start += rangeSize) {
+            rows.add(new Object[]{start});
+            if (rows.size() == INSERT_CHUNK) {
+                jdbcTemplate.batchUpdate("INSERT IGNORE INTO recurring_generation_leases (range_start) VALUES (?)", rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO recurring_generation_leases (range_start) VALUES (?)", rows);
+        }
+        lastKnownRangeStart = lastRangeStart;
+    }
+
+    /** Claims a due, unleased range, or returns {@code null} when none is left. */
+    Lease claim(long leaseSeconds) {
+        List<Long> candidates = new ArrayList<>(jdbcTemplate.queryForList("""
+                SELECT range_start FROM recurring_generation_leases
+                WHERE next_run_at <= NOW(3) AND (lease_expires_at IS NULL OR lease_expires_at < NOW(3))
+                ORDER BY next_run_at
+                LIMIT ?""", Long.class, CANDIDATES));
+        // Workers on every node see the same candidates; shuffling spreads their attempts.
+        Collections.shuffle(candidates);
+
+        for (Long rangeStart : candidates) {
+            String token = UUID.randomUUID().toString();
+            int claimed = jdbcTemplate.update("""
+                    UPDATE recurring_generation_leases
+                    SET lease_token = ?, lease_expires_at = NOW(3) + INTERVAL ? SECOND
+                    WHERE range_start = ? AND next_run_at <= NOW(3)
+                      AND (lease_expires_at IS NULL OR lease_expires_at < NOW(3))""",
+                    token, leaseSeconds, rangeStart);
+            if (claimed == 1) {
+                return new Lease(rangeStart, token);
+            }
+        }
+        return null;
+    }
+
+    boolean renew(Lease lease, long leaseSeconds) {
+        return jdbcTemplate.update("""
+                UPDATE recurring_generation_leases
+                SET lease_expires_at = NOW(3) + INTERVAL ? SECOND
+                WHERE range_start = ? AND lease_token = ?""",
+                leaseSeconds, lease.rangeStart(), lease.token()) == 1;
+    }
+
+    /** Frees the range and makes it due again after {@code delaySeconds}. */
+    void release(Lease lease, long delaySeconds) {
+        jdbcTemplate.update("""
+                UPDATE recurring_generation_leases
+                SET lease_token = NULL, lease_expires_at = NULL, next_run_at = NOW(3) + INTERVAL ? SECOND
+                WHERE range_start = ? AND lease_token = ?""",
+                delaySeconds, lease.rangeStart(), lease.token());
+    }
+}
@@ -0,0 +1,32 @@
+package dev.jade.expensetracker.domain.recurring.dto;
+
+import dev.jade.expensetracker.domain.recurring.Frequency;
+import jakarta.validation.constraints.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RecurringExpenseRequest(
+
+        @NotBlank(message = "Description is required")
+        @Size(min = 3, max = 255, message = "Description must be between 3 and 255 characters")
+        String description,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+        @Digits(integer = 10, fraction = 2, message = "Amount format must be valid (up to 10 digits and 2 decimals)")
+        BigDecimal amount,
+
+        @NotNull(message = "Frequency is required")
+        Frequency frequency,
+
+        @NotNull(message = "Start date is required")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate startDate,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate endDate
+
+) {
+}
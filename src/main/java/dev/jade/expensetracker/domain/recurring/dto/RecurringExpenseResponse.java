@@ -0,0 +1,30 @@
+package dev.jade.expensetracker.domain.recurring.dto;
+
+import dev.jade.expensetracker.domain.recurring.Frequency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record RecurringExpenseResponse(
+
+        Long recurringExpenseId,
+
+        String description,
+
+        BigDecimal amount,
+
+        Frequency frequency,
+
+        LocalDate startDate,
+
+        LocalDate endDate,
+
+        LocalDate nextOccurrence,
+
+        Instant createdAt,
+
+        Instant updatedAt
+
+) {
+}
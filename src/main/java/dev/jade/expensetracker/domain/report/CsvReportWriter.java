@@ -0,0 +1,79 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: an expense section, a blank line, then the monthly breakdown.
+ * Text that a spreadsheet would evaluate as a formula is prefixed with a quote.
+ */
+final class CsvReportWriter implements ReportWriter {
+
+    private final Writer out;
+    private boolean started;
+
+    CsvReportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeExpense(ExpenseReportRow row) throws IOException {
+        start();
+        out.write(row.entryDate().toString());
+        out.write(',');
+        writeText(row.description());
+        out.write(',');
+        writeText(row.category());
+        out.write(',');
+        out.write(row.amount().toPlainString());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish(List<MonthlyTotal> months) throws IOException {
+        start();
+        out.write("\r\nMonth,Count,Total\r\n");
+        for (MonthlyTotal month : months) {
+            out.write(month.month().toString());
+            out.write(',');
+            out.write(Long.toString(month.count()));
+            out.write(',');
+            out.write(month.total().toPlainString());
+            out.write("\r\n");
+        }
+        out.flush();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            out.write("Date,Description,Category,Amount\r\n");
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        boolean formula = !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0;
+        boolean quote = formula || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,7 @@
+package dev.jade.expensetracker.domain.report;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+record MonthlyTotal(YearMonth month, long count, BigDecimal total) {
+}
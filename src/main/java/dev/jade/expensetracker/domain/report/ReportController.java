@@ -0,0 +1,52 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.domain.report.dto.ReportJobResponse;
+import dev.jade.expensetracker.domain.report.dto.ReportRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> requestReport(@Valid @RequestBody ReportRequest request) {
+        ReportJobResponse job = reportService.create(request);
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}")
+                        .buildAndExpand(job.jobId())
+                        .toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ReportJobResponse getReport(@PathVariable Long jobId) {
+        return reportService.get(jobId);
+    }
+
+    /** Served as a resource, so Spring MVC answers {@code Range} requests with 206 Partial Content. */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable Long jobId) {
+        ReportService.ReportDownload download = reportService.download(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.format().mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(download.filename()).build().toString())
+                .body(new FileSystemResource(download.path()));
+    }
+}
@@ -0,0 +1,32 @@
+package dev.jade.expensetracker.domain.report;
+
+import java.io.OutputStream;
+import java.util.function.Function;
+
+public enum ReportFormat {
+
+    CSV("csv", "text/csv", CsvReportWriter::new),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", XlsxReportWriter::new);
+
+    private final String extension;
+    private final String mediaType;
+    private final Function<OutputStream, ReportWriter> writerFactory;
+
+    ReportFormat(String extension, String mediaType, Function<OutputStream, ReportWriter> writerFactory) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+        this.writerFactory = writerFactory;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    ReportWriter open(OutputStream out) {
+        return writerFactory.apply(out);
+    }
+}
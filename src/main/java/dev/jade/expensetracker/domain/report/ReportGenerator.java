@@ -0,0 +1,137 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes one report file. Rows are streamed from the database straight into the
+ * file, so memory stays flat however many expenses the year holds. Output goes
+ * to a part file per attempt and is moved into place only once it is complete
+ * and synced, so a download never sees a half-written report. The worker's
+ * claim is checked while rows are written and confirmed against the database
+ * before the move, so a worker whose claim went stale stops instead of
+ * replacing the report its successor writes.
+ */
+@Component
+class ReportGenerator {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ROWS_PER_CLAIM_CHECK = 10_000;
+
+    /** A worker's hold on the job it is generating. */
+    interface Claim {
+
+        /** Whether the last heartbeat found the job claimed by someone else; cheap. */
+        boolean isLost();
+
+        /** Renews the claim in the database and returns whether it is still held. */
+        boolean confirm();
+    }
+
+    private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+
+    ReportGenerator(
+            ExpenseRepository expenseRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.directory:${java.io.tmpdir}/expense-reports}") Path directory) {
+        this.expenseRepository = expenseRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = directory;
+    }
+
+    Path pathFor(ReportJob job) {
+        return directory.resolve("report-" + job.getJobId() + "." + job.getFormat().extension());
+    }
+
+    /** Returns the size of the finished file in bytes. */
+    long generate(ReportJob job, Claim claim) throws IOException {
+        Files.createDirectories(directory);
+        Path target = pathFor(job);
+        Path part = target.resolveSibling(target.getFileName() + "." + job.getAttempts() + ".part");
+
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            ReportWriter writer = job.getFormat().open(out);
+            List<MonthlyTotal> months = readOnlyTransaction.execute(status -> writeExpenses(job, writer, claim));
+            writer.finish(months);
+            out.flush();
+            channel.force(true);
+            if (!claim.confirm()) {
+                throw new IllegalStateException("Report " + job.getJobId() + " was claimed again");
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return Files.size(target);
+    }
+
+    private List<MonthlyTotal> writeExpenses(ReportJob job, ReportWriter writer, Claim claim) {
+        LocalDate from = LocalDate.of(job.getYear(), 1, 1);
+        LocalDate to = LocalDate.of(job.getYear(), 12, 31);
+
+        List<MonthlyTotal> months = new ArrayList<>(12);
+        YearMonth month = null;
+        long count = 0;
+        long written = 0;
+        BigDecimal total = BigDecimal.ZERO;
+
+        try (Stream<ExpenseReportRow> rows = expenseRepository.streamReportRows(job.getUserId(), from, to)) {
+            Iterator<ExpenseReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ExpenseReportRow row = it.next();
+                writer.writeExpense(row);
+                if (++written % ROWS_PER_CLAIM_CHECK == 0 && claim.isLost()) {
+                    throw new IllegalStateException("Report " + job.getJobId() + " was claimed again");
+                }
+
+                // Rows arrive in date order, so each month's total closes when the next one starts.
+                YearMonth rowMonth = YearMonth.from(row.entryDate());
+                if (!rowMonth.equals(month)) {
+                    if (month != null) {
+                        months.add(new MonthlyTotal(month, count, total));
+                    }
+                    month = rowMonth;
+                    count = 0;
+                    total = BigDecimal.ZERO;
+                }
+                count++;
+                total = total.add(row.amount());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (month != null) {
+            months.add(new MonthlyTotal(month, count, total));
+        }
+        return months;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.jade.expensetracker.domain.report;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+/**
+ * A requested report. Workers move it through {@link ReportStatus} with native
+ * statements in {@link ReportJobRepository}; {@code attempts} doubles as the
+ * fencing token that keeps a worker whose claim went stale from completing it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Entity
+@Table(name = "report_jobs")
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Column(nullable = false, updatable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private ReportFormat format;
+
+    @Column(name = "report_year", nullable = false, updatable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private Instant claimedAt;
+
+    private Long sizeBytes;
+
+    private String error;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    private Instant completedAt;
+
+}
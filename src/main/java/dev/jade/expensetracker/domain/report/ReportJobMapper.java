@@ -0,0 +1,12 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.config.MapStructConfig;
+import dev.jade.expensetracker.domain.report.dto.ReportJobResponse;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapStructConfig.class)
+public interface ReportJobMapper {
+
+    ReportJobResponse toResponse(ReportJob job);
+
+}
@@ -0,0 +1,74 @@
+package dev.jade.expensetracker.domain.report;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByJobIdAndUserId(Long jobId, Long userId);
+
+    List<ReportJob> findAllByUserId(Long userId);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<ReportStatus> statuses);
+
+    /*
+     Worker claims. The row lock is held until the claiming transaction commits,
+     and SKIP LOCKED lets concurrent workers pass over each other's candidates
+     instead of queueing behind them. A RUNNING job whose claim is older than
+     staleSeconds belonged to a worker that died and is claimable again.
+    */
+    @Query(value = """
+            SELECT job_id FROM report_jobs
+            WHERE status = 'PENDING'
+               OR (status = 'RUNNING' AND claimed_at < NOW(3) - INTERVAL :staleSeconds SECOND)
+            ORDER BY job_id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    Optional<Long> findClaimableJobId(long staleSeconds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE report_jobs
+            SET status = 'RUNNING', claimed_at = NOW(3), attempts = attempts + 1, updated_at = NOW()
+            WHERE job_id = :jobId""", nativeQuery = true)
+    int markRunning(Long jobId);
+
+    /** Heartbeat of a running attempt; returns 0 if the job was claimed again since it began. */
+    @Modifying
+    @Query(value = """
+            UPDATE report_jobs
+            SET claimed_at = NOW(3)
+            WHERE job_id = :jobId AND status = 'RUNNING' AND attempts = :attempt""", nativeQuery = true)
+    int renewClaim(Long jobId, int attempt);
+
+    /** Returns 0 if the job was claimed again after {@code attempt} began. */
+    @Modifying
+    @Query(value = """
+            UPDATE report_jobs
+            SET status = 'DONE', size_bytes = :sizeBytes, error = NULL, completed_at = NOW(), updated_at = NOW()
+            WHERE job_id = :jobId AND status = 'RUNNING' AND attempts = :attempt""", nativeQuery = true)
+    int markDone(Long jobId, int attempt, long sizeBytes);
+
+    @Modifying
+    @Query(value = """
+            UPDATE report_jobs
+            SET status = 'FAILED', error = :error, completed_at = NOW(), updated_at = NOW()
+            WHERE job_id = :jobId AND status = 'RUNNING' AND attempts = :attempt""", nativeQuery = true)
+    int markFailed(Long jobId, int attempt, String error);
+
+    @Query("""
+            select j from ReportJob j
+            where j.status in (dev.jade.expensetracker.domain.report.ReportStatus.DONE,
+                               dev.jade.expensetracker.domain.report.ReportStatus.FAILED)
+              and j.completedAt < :before""")
+    List<ReportJob> findFinishedBefore(Instant before);
+
+}
@@ -0,0 +1,5 @@
+package dev.jade.expensetracker.domain.report;
+
+/** Published when a job is enqueued, so an idle worker pool starts without waiting for its next poll. */
+public record ReportRequestedEvent(Long jobId) {
+}
@@ -0,0 +1,133 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.common.ResourceNotFoundException;
+import dev.jade.expensetracker.domain.report.dto.ReportJobResponse;
+import dev.jade.expensetracker.domain.report.dto.ReportRequest;
+import dev.jade.expensetracker.domain.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Requests only enqueue a job and return; {@link ReportWorker} generates the
+ * file in the background and the client polls the job until it is
+ * {@code DONE}. Finished jobs and their files are removed after
+ * {@code reports.retention-days}.
+ */
+@Slf4j
+@Service
+public class ReportService {
+
+    public record ReportDownload(Path path, ReportFormat format, String filename) {
+    }
+
+    private static final EnumSet<ReportStatus> ACTIVE = EnumSet.of(ReportStatus.PENDING, ReportStatus.RUNNING);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportGenerator generator;
+    private final ReportJobMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxActivePerUser;
+    private final int retentionDays;
+
+    public ReportService(
+            ReportJobRepository reportJobRepository,
+            ReportGenerator generator,
+            ReportJobMapper mapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${reports.max-pending-per-user:3}") int maxActivePerUser,
+            @Value("${reports.retention-days:7}") int retentionDays) {
+        this.reportJobRepository = reportJobRepository;
+        this.generator = generator;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.maxActivePerUser = maxActivePerUser;
+        this.retentionDays = retentionDays;
+    }
+
+    @Transactional
+    public ReportJobResponse create(ReportRequest request) {
+        Long userId = getCurrentUser().getUserId();
+        if (reportJobRepository.countByUserIdAndStatusIn(userId, ACTIVE) >= maxActivePerUser) {
+            throw new RuntimeException("At most " + maxActivePerUser + " reports can be pending at a time");
+        }
+
+        ReportJob job = new ReportJob();
+        job.setUserId(userId);
+        job.setYear(request.year());
+        job.setFormat(request.format());
+        job.setStatus(ReportStatus.PENDING);
+        job = reportJobRepository.save(job);
+
+        // Delivered after commit, so a worker woken by it can already claim the job.
+        eventPublisher.publishEvent(new ReportRequestedEvent(job.getJobId()));
+        return mapper.toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public ReportJobResponse get(Long jobId) {
+        return mapper.toResponse(findOwned(jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public ReportDownload download(Long jobId) {
+        ReportJob job = findOwned(jobId);
+        if (job.getStatus() != ReportStatus.DONE) {
+            throw new RuntimeException("Report is not ready (status " + job.getStatus() + ")");
+        }
+        Path path = generator.pathFor(job);
+        if (!Files.isReadable(path)) {
+            throw new ResourceNotFoundException("Report file is no longer available");
+        }
+        return new ReportDownload(path, job.getFormat(),
+                "expenses-" + job.getYear() + "." + job.getFormat().extension());
+    }
+
+    @Scheduled(cron = "${reports.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        for (ReportJob job : reportJobRepository.findFinishedBefore(Instant.now().minus(Duration.ofDays(retentionDays)))) {
+            try {
+                Files.deleteIfExists(generator.pathFor(job));
+            } catch (IOException e) {
+                log.warn("Could not delete report file of job {}", job.getJobId(), e);
+                continue;
+            }
+            reportJobRepository.delete(job);
+        }
+    }
+
+    /**
+     * Deletes the report files of a user whose account is being purged. The job
+     * rows go with the users row through their foreign key.
+     */
+    public void deleteFilesOf(Long userId) throws IOException {
+        for (ReportJob job : reportJobRepository.findAllByUserId(userId)) {
+            Files.deleteIfExists(generator.pathFor(job));
+        }
+    }
+
+    private ReportJob findOwned(Long jobId) {
+        return reportJobRepository
+                .findByJobIdAndUserId(jobId, getCurrentUser().getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found or access denied"));
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,8 @@
+package dev.jade.expensetracker.domain.report;
+
+public enum ReportStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,164 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.common.DrainingWorkerPool;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates queued reports on a fixed pool of {@code reports.workers} threads,
+ * never on a request thread. Jobs are claimed from {@code report_jobs} with
+ * {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can run workers
+ * against the same queue. Every {@code reports.heartbeat-interval-millis} the
+ * claims of jobs still being generated on this node are renewed, so a report
+ * may take longer than {@code reports.stale-after-seconds}. A claim that is not
+ * renewed within that time (the worker or its node died) is claimed again, up
+ * to {@code reports.max-attempts} times in all. A worker that finds its claim
+ * taken over stops, and keeps its file out of place.
+ */
+@Slf4j
+@Component
+class ReportWorker {
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportGenerator generator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final long staleAfterSeconds;
+    private final int maxAttempts;
+
+    private final DrainingWorkerPool workers;
+    private final Map<Long, HeldClaim> claims = new ConcurrentHashMap<>();
+
+    ReportWorker(
+            ReportJobRepository reportJobRepository,
+            ReportGenerator generator,
+            TransactionTemplate transactionTemplate,
+            @Value("${reports.stale-after-seconds:900}") long staleAfterSeconds,
+            @Value("${reports.max-attempts:3}") int maxAttempts,
+            @Value("${reports.workers:2}") int workerCount) {
+        this.reportJobRepository = reportJobRepository;
+        this.generator = generator;
+        this.transactionTemplate = transactionTemplate;
+        this.staleAfterSeconds = staleAfterSeconds;
+        this.maxAttempts = maxAttempts;
+        this.workers = new DrainingWorkerPool("report-worker", workerCount, this::drainJobs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportRequested(ReportRequestedEvent event) {
+        workers.start();
+    }
+
+    /** Picks up jobs queued on other nodes and claims that went stale. */
+    @Scheduled(fixedDelayString = "${reports.poll-interval-millis:30000}")
+    public void poll() {
+        workers.start();
+    }
+
+    @Scheduled(fixedDelayString = "${reports.heartbeat-interval-millis:60000}")
+    public void renewClaims() {
+        claims.values().forEach(HeldClaim::confirm);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /** Runs on the worker pool until no job is left to claim. */
+    private void drainJobs() {
+        try {
+            ReportJob job;
+            while ((job = claim()) != null) {
+                run(job);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Report generation stopped", e);
+        }
+    }
+
+    private ReportJob claim() {
+        return transactionTemplate.execute(status -> reportJobRepository
+                .findClaimableJobId(staleAfterSeconds)
+                .map(jobId -> {
+                    reportJobRepository.markRunning(jobId);
+                    return reportJobRepository.findById(jobId).orElseThrow();
+                })
+                .orElse(null));
+    }
+
+    private void run(ReportJob job) {
+        int attempt = job.getAttempts();
+        if (attempt > maxAttempts) {
+            finish(job, attempt, null, "Report generation did not complete after " + maxAttempts + " attempts");
+            return;
+        }
+
+        long started = System.nanoTime();
+        HeldClaim claim = new HeldClaim(job.getJobId(), attempt);
+        claims.put(job.getJobId(), claim);
+        try {
+            long sizeBytes = generator.generate(job, claim);
+            finish(job, attempt, sizeBytes, null);
+            log.info("Generated report {} ({} bytes) in {} ms",
+                    job.getJobId(), sizeBytes, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Report {} failed on attempt {}", job.getJobId(), attempt, e);
+            finish(job, attempt, null, "Report generation failed");
+        } finally {
+            claims.remove(job.getJobId(), claim);
+        }
+    }
+
+    private void finish(ReportJob job, int attempt, Long sizeBytes, String error) {
+        Integer updated = transactionTemplate.execute(status -> sizeBytes != null
+                ? reportJobRepository.markDone(job.getJobId(), attempt, sizeBytes)
+                : reportJobRepository.markFailed(job.getJobId(), attempt, error));
+        if (updated == null || updated == 0) {
+            log.warn("Report {} was claimed again while attempt {} ran; its result is discarded",
+                    job.getJobId(), attempt);
+        }
+    }
+
+    /** The claim of one running attempt, renewed by the heartbeat and before the file is moved. */
+    private final class HeldClaim implements ReportGenerator.Claim {
+
+        private final Long jobId;
+        private final int attempt;
+        private volatile boolean lost;
+
+        HeldClaim(Long jobId, int attempt) {
+            this.jobId = jobId;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public boolean isLost() {
+            return lost;
+        }
+
+        @Override
+        public boolean confirm() {
+            if (lost) {
+                return false;
+            }
+            try {
+                Integer renewed = transactionTemplate.execute(status -> reportJobRepository.renewClaim(jobId, attempt));
+                lost = renewed == null || renewed == 0;
+            } catch (RuntimeException e) {
+                // Unknown rather than lost; the next heartbeat or the final check decides.
+                log.warn("Could not renew the claim on report {}", jobId, e);
+                return false;
+            }
+            return !lost;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes one report as its rows arrive: every expense in date order, then the
+ * monthly breakdown. Implementations keep no rows and write straight through to
+ * the stream they were opened on, which they flush but never close.
+ */
+interface ReportWriter {
+
+    void writeExpense(ExpenseReportRow row) throws IOException;
+
+    void finish(List<MonthlyTotal> months) throws IOException;
+
+}
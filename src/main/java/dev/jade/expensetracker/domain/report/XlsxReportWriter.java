@@ -0,0 +1,175 @@
+package dev.jade.expensetracker.domain.report;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseReportRow;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The smallest SpreadsheetML package Excel and LibreOffice open: a workbook
+ * with an "Expenses" and a "Monthly" sheet, text as inline strings and amounts
+ * as numbers. Each sheet is one zip entry written row by row, so a report of any
+ * size streams through in constant memory.
+ */
+final class XlsxReportWriter implements ReportWriter {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String OFFICE_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String WORKSHEET_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml";
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private boolean started;
+
+    XlsxReportWriter(OutputStream out) {
+        // Closing entries must not close the caller's stream.
+        this.zip = new ZipOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeExpense(ExpenseReportRow row) throws IOException {
+        start();
+        xml.write("<row>");
+        textCell(row.entryDate().toString());
+        textCell(row.description());
+        textCell(row.category());
+        numberCell(row.amount().toPlainString());
+        xml.write("</row>");
+    }
+
+    @Override
+    public void finish(List<MonthlyTotal> months) throws IOException {
+        start();
+        endSheet();
+
+        beginSheet("xl/worksheets/sheet2.xml");
+        xml.write("<row>");
+        textCell("Month");
+        textCell("Count");
+        textCell("Total");
+        xml.write("</row>");
+        for (MonthlyTotal month : months) {
+            xml.write("<row>");
+            textCell(month.month().toString());
+            numberCell(Long.toString(month.count()));
+            numberCell(month.total().toPlainString());
+            xml.write("</row>");
+        }
+        endSheet();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        entry("[Content_Types].xml", XML_DECLARATION
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\""
+                + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"" + WORKSHEET_TYPE + "\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet2.xml\" ContentType=\"" + WORKSHEET_TYPE + "\"/>"
+                + "</Types>");
+        entry("_rels/.rels", XML_DECLARATION
+                + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        entry("xl/workbook.xml", XML_DECLARATION
+                + "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + OFFICE_RELATIONSHIPS + "\"><sheets>"
+                + "<sheet name=\"Expenses\" sheetId=\"1\" r:id=\"rId1\"/>"
+                + "<sheet name=\"Monthly\" sheetId=\"2\" r:id=\"rId2\"/>"
+                + "</sheets></workbook>");
+        entry("xl/_rels/workbook.xml.rels", XML_DECLARATION
+                + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "<Relationship Id=\"rId2\" Type=\"" + OFFICE_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet2.xml\"/>"
+                + "</Relationships>");
+
+        beginSheet("xl/worksheets/sheet1.xml");
+        xml.write("<row>");
+        textCell("Date");
+        textCell("Description");
+        textCell("Category");
+        textCell("Amount");
+        xml.write("</row>");
+    }
+
+    private void entry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void beginSheet(String name) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(XML_DECLARATION);
+        xml.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+    }
+
+    private void endSheet() throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void textCell(String text) throws IOException {
+        if (text == null) {
+            xml.write("<c/>");
+            return;
+        }
+        xml.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        escape(text);
+        xml.write("</t></is></c>");
+    }
+
+    private void numberCell(String number) throws IOException {
+        xml.write("<c><v>");
+        xml.write(number);
+        xml.write("</v></c>");
+    }
+
+    private void escape(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> xml.write("&amp;");
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                case '"' -> xml.write("&quot;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML 1.0.
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
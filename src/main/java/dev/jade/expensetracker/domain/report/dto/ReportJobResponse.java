@@ -0,0 +1,28 @@
+package dev.jade.expensetracker.domain.report.dto;
+
+import dev.jade.expensetracker.domain.report.ReportFormat;
+import dev.jade.expensetracker.domain.report.ReportStatus;
+
+import java.time.Instant;
+
+/** {@code sizeBytes} and {@code completedAt} are set once the report is {@code DONE}. */
+public record ReportJobResponse(
+
+        Long jobId,
+
+        int year,
+
+        ReportFormat format,
+
+        ReportStatus status,
+
+        Long sizeBytes,
+
+        String error,
+
+        Instant createdAt,
+
+        Instant completedAt
+
+) {
+}
@@ -0,0 +1,19 @@
+package dev.jade.expensetracker.domain.report.dto;
+
+import dev.jade.expensetracker.domain.report.ReportFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ReportRequest(
+
+        @NotNull(message = "Year is required")
+        @Min(value = 1900, message = "Year must be 1900 or later")
+        @Max(value = 9999, message = "Year must be 9999 or earlier")
+        Integer year,
+
+        @NotNull(message = "Format is required")
+        ReportFormat format
+
+) {
+}
@@ -0,0 +1,24 @@
+package dev.jade.expensetracker.domain.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/account")
+public class AccountController {
+
+    private final AccountService accountService;
+
+    /** Accepted rather than done: the account's data is purged in the background. */
+    @DeleteMapping
+    public ResponseEntity<Void> deleteAccount() {
+        accountService.delete();
+        return ResponseEntity.accepted().build();
+    }
+}
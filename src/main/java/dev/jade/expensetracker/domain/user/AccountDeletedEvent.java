@@ -0,0 +1,5 @@
+package dev.jade.expensetracker.domain.user;
+
+/** Published when an account is deleted, so an idle {@link AccountPurger} starts without waiting for its next poll. */
+public record AccountDeletedEvent(Long userId) {
+}
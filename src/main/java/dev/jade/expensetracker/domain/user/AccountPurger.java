@@ -0,0 +1,300 @@
+package dev.jade.expensetracker.domain.user;
+
+import dev.jade.expensetracker.common.DrainingWorkerPool;
+import dev.jade.expensetracker.domain.report.ReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Removes the data of deleted accounts in the background.
+ *
+ * <p>Deleting the users row directly would not be enough: {@code expenses} is
+ * partitioned and has no foreign key to cascade through (see V2), and a cascade
+ * over hundreds of thousands of rows would be one transaction holding locks and
+ * undo for all of them. Instead every purge walks through its stages in batches
+ * of {@code account.purge.batch-size} rows, each batch its own transaction, with
+ * a pause of {@code account.purge.pause-millis} between batches so replicas and
+ * the purge thread of InnoDB keep up:</p>
+ *
+ * <ol>
+ *     <li>{@code EXPENSES} and {@code ARCHIVE}: the user's expenses and archived
+ *     expenses, in {@code (entry_date, expense_id)} order along the user's index,
+ *     together with their {@code expense_tags} rows. The search mirror follows
+ *     through its trigger.</li>
+ *     <li>{@code RELATED}: tombstones and idempotency keys, which carry a user id
+ *     but no foreign key. Revoked tokens are left to expire.</li>
+ *     <li>{@code USER}: report files, then the users row, whose delete cascades to
+ *     the small per-user tables and to the purge's own progress row.</li>
+ * </ol>
+ *
+ * <p>Progress is committed with every batch in {@code account_purges}, so after
+ * a crash the purge resumes from its last batch. A batch locks the progress row
+ * with {@code SKIP LOCKED}, which keeps two workers (on any node) off the same
+ * account while letting them purge different ones. A batch that fails puts its
+ * purge off for {@code account.purge.retry-base-seconds}, doubled with each
+ * failure in a row up to {@code account.purge.retry-max-seconds}, and the
+ * worker moves on to the next account. Once the users row is gone a
+ * {@link UserPurgedEvent} tells the in-memory stores to drop the user.</p>
+ */
+@Slf4j
+@Component
+public class AccountPurger {
+
+    private static final LocalDate CURSOR_START = LocalDate.of(1000, 1, 1);
+
+    private static final List<String> RELATED_TABLES = List.of("expense_tombstones", "idempotency_keys");
+
+    private enum Stage {
+        EXPENSES, ARCHIVE, RELATED, USER
+    }
+
+    private record Purge(long userId, Stage stage, LocalDate lastEntryDate, long lastExpenseId, long rowsDeleted,
+                         int failedAttempts) {
+    }
+
+    private record Key(long expenseId, LocalDate entryDate) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportService reportService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long retryBaseSeconds;
+    private final long retryMaxSeconds;
+
+    private final DrainingWorkerPool workers;
+
+    public AccountPurger(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ReportService reportService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${account.purge.batch-size:1000}") int batchSize,
+            @Value("${account.purge.pause-millis:100}") long pauseMillis,
+            @Value("${account.purge.workers:1}") int workerCount,
+            @Value("${account.purge.retry-base-seconds:60}") long retryBaseSeconds,
+            @Value("${account.purge.retry-max-seconds:3600}") long retryMaxSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reportService = reportService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.retryMaxSeconds = retryMaxSeconds;
+        this.workers = new DrainingWorkerPool("account-purger", workerCount, this::drainPurges);
+    }
+
+    /** Queues the purge; runs in the transaction that marks the account deleted. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long userId) {
+        jdbcTemplate.update("""
+                INSERT IGNORE INTO account_purges
+                    (user_id, stage, last_entry_date, last_expense_id, rows_deleted, created_at, updated_at)
+                VALUES (?, ?, ?, 0, 0, NOW(), NOW())""", userId, Stage.EXPENSES.name(), Date.valueOf(CURSOR_START));
+        // Definitions go at once, so the generator cannot add occurrences behind the purge.
+        jdbcTemplate.update("DELETE FROM recurring_expenses WHERE user_id = ?", userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(AccountDeletedEvent event) {
+        workers.start();
+    }
+
+    /** Resumes purges interrupted by a restart and picks up those queued on other nodes. */
+    @Scheduled(fixedDelayString = "${account.purge.interval-millis:60000}")
+    public void poll() {
+        workers.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /** Runs on the worker pool until no purge is left to work on. */
+    private void drainPurges() {
+        try {
+            AtomicReference<Purge> claimed = new AtomicReference<>();
+            while (true) {
+                claimed.set(null);
+                try {
+                    if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeBatch(claimed)))) {
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    if (claimed.get() == null) {
+                        throw e;
+                    }
+                    postpone(claimed.get(), e);
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Account purge stopped", e);
+        }
+    }
+
+    /**
+     * Runs one batch of the first unlocked purge that is not put off, handing it
+     * to {@code claimed} before any work; {@code false} when none is left.
+     */
+    private boolean purgeBatch(AtomicReference<Purge> claimed) {
+        List<Purge> due = jdbcTemplate.query("""
+                        SELECT user_id, stage, last_entry_date, last_expense_id, rows_deleted, failed_attempts
+                        FROM account_purges
+                        WHERE next_attempt_at IS NULL OR next_attempt_at <= NOW()
+                        ORDER BY user_id
+                        LIMIT 1
+                        FOR UPDATE SKIP LOCKED""",
+                (rs, rowNum) -> new Purge(
+                        rs.getLong("user_id"),
+                        Stage.valueOf(rs.getString("stage")),
+                        rs.getObject("last_entry_date", LocalDate.class),
+                        rs.getLong("last_expense_id"),
+                        rs.getLong("rows_deleted"),
+                        rs.getInt("failed_attempts")));
+        if (due.isEmpty()) {
+            return false;
+        }
+
+        Purge purge = due.getFirst();
+        claimed.set(purge);
+        switch (purge.stage()) {
+            case EXPENSES -> deleteExpenses(purge, "expenses", Stage.ARCHIVE);
+            case ARCHIVE -> deleteExpenses(purge, "expenses_archive", Stage.RELATED);
+            case RELATED -> deleteRelated(purge);
+            case USER -> deleteUser(purge);
+        }
+        return true;
+    }
+
+    /*
+     Keyed on the user's (user_id, entry_date) index, which carries expense_id as
+     the primary key suffix. Starting after the last key removed, rather than from
+     the start of the user's range each time, keeps later batches from scanning
+     the delete-marked entries of earlier ones.
+    */
+    private void deleteExpenses(Purge purge, String table, Stage next) {
+        List<Key> keys = jdbcTemplate.query("""
+                        SELECT expense_id, entry_date FROM %s
+                        WHERE user_id = ?
+                          AND (entry_date > ? OR (entry_date = ? AND expense_id > ?))
+                        ORDER BY entry_date, expense_id
+                        LIMIT ?""".formatted(table),
+                (rs, rowNum) -> new Key(rs.getLong("expense_id"), rs.getObject("entry_date", LocalDate.class)),
+                purge.userId(), Date.valueOf(purge.lastEntryDate()), Date.valueOf(purge.lastEntryDate()),
+                purge.lastExpenseId(), batchSize);
+
+        if (!keys.isEmpty()) {
+            Object[] ids = new Object[keys.size()];
+            Object[] parameters = new Object[keys.size() + 3];
+            parameters[0] = purge.userId();
+            parameters[1] = Date.valueOf(keys.getFirst().entryDate());
+            parameters[2] = Date.valueOf(keys.getLast().entryDate());
+            for (int i = 0; i < keys.size(); i++) {
+                ids[i] = keys.get(i).expenseId();
+                parameters[i + 3] = ids[i];
+            }
+            // The date bounds let MySQL prune the partitions the batch cannot touch.
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ? AND entry_date BETWEEN ? AND ?"
+                    + " AND expense_id IN (" + placeholders(keys.size()) + ")", parameters);
+            jdbcTemplate.update("DELETE FROM expense_tags WHERE expense_id IN ("
+                    + placeholders(keys.size()) + ")", ids);
+        }
+
+        if (keys.size() < batchSize) {
+            advance(purge.userId(), next, CURSOR_START, 0, keys.size());
+        } else {
+            Key last = keys.getLast();
+            advance(purge.userId(), purge.stage(), last.entryDate(), last.expenseId(), keys.size());
+        }
+    }
+
+    private void deleteRelated(Purge purge) {
+        int deleted = 0;
+        for (String table : RELATED_TABLES) {
+            int rows = jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ? LIMIT ?",
+                    purge.userId(), batchSize);
+            deleted += rows;
+            if (rows == batchSize) {
+                advance(purge.userId(), Stage.RELATED, CURSOR_START, 0, deleted);
+                return;
+            }
+        }
+        advance(purge.userId(), Stage.USER, CURSOR_START, 0, deleted);
+    }
+
+    private void deleteUser(Purge purge) {
+        // A request authenticated before the delete may still have added an expense; go round again.
+        Boolean remaining = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM expenses WHERE user_id = ?)", Boolean.class, purge.userId());
+        if (Boolean.TRUE.equals(remaining)) {
+            advance(purge.userId(), Stage.EXPENSES, CURSOR_START, 0, 0);
+            return;
+        }
+
+        try {
+            reportService.deleteFilesOf(purge.userId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", purge.userId());
+        eventPublisher.publishEvent(new UserPurgedEvent(purge.userId()));
+        log.info("Purged account {} ({} rows)", purge.userId(), purge.rowsDeleted());
+    }
+
+    /** Records a failed batch and puts the purge off, in a transaction of its own since the batch rolled back. */
+    private void postpone(Purge purge, RuntimeException cause) {
+        int failures = purge.failedAttempts() + 1;
+        long delaySeconds = Math.min(retryBaseSeconds << Math.min(failures - 1, 20), retryMaxSeconds);
+        log.warn("Purge of account {} failed {} time(s), retrying in {}s", purge.userId(), failures, delaySeconds, cause);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                        UPDATE account_purges
+                        SET failed_attempts = ?, next_attempt_at = NOW() + INTERVAL ? SECOND
+                        WHERE user_id = ?""",
+                failures, delaySeconds, purge.userId()));
+    }
+
+    private void advance(long userId, Stage stage, LocalDate lastEntryDate, long lastExpenseId, int deleted) {
+        jdbcTemplate.update("""
+                        UPDATE account_purges
+                        SET stage = ?, last_entry_date = ?, last_expense_id = ?,
+                            rows_deleted = rows_deleted + ?, failed_attempts = 0, next_attempt_at = NULL,
+                            updated_at = NOW()
+                        WHERE user_id = ?""",
+                stage.name(), Date.valueOf(lastEntryDate), lastExpenseId, deleted, userId);
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('?');
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package dev.jade.expensetracker.domain.user;
+
+import dev.jade.expensetracker.common.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Deleting an account only marks the user deleted and queues the purge; the
+ * data is removed afterwards by {@link AccountPurger}. From the commit on, the
+ * user can neither sign in nor use a token they still hold.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountService {
+
+    private final UserRepository userRepository;
+    private final AccountPurger accountPurger;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void delete() {
+        User user = userRepository.findById(getCurrentUser().getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (user.getDeletedAt() != null) {
+            return;
+        }
+
+        user.setDeletedAt(Instant.now());
+        accountPurger.enqueue(user.getUserId());
+        eventPublisher.publishEvent(new AccountDeletedEvent(user.getUserId()));
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+}
@@ -0,0 +1,52 @@
+package dev.jade.expensetracker.domain.user;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Non-blocking user lookup for the reactive serving mode, where the JWT filter
+ * runs on an event loop and cannot call {@link UserRepository}.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByEmail(String email) {
+        return databaseClient.sql("""
+                        SELECT user_id, email, password, created_at, role, tokens_revoked_at, deleted_at
+                        FROM users
+                        WHERE email = :email
+                        """)
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    private static User toUser(Readable row) {
+        User user = new User();
+        user.setUserId(row.get("user_id", Long.class));
+        user.setEmail(row.get("email", String.class));
+        user.setPassword(row.get("password", String.class));
+        user.setCreatedAt(toInstant(row.get("created_at", LocalDateTime.class)));
+        user.setRole(Role.valueOf(row.get("role", String.class)));
+        user.setTokensRevokedAt(toInstant(row.get("tokens_revoked_at", LocalDateTime.class)));
+        user.setDeletedAt(toInstant(row.get("deleted_at", LocalDateTime.class)));
+        return user;
+    }
+
+    // DATETIME columns are written through JDBC in the JVM's zone, so read them back the same way.
+    private static Instant toInstant(LocalDateTime value) {
+        return value == null ? null : value.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
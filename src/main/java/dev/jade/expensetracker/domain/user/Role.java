@@ -0,0 +1,6 @@
+package dev.jade.expensetracker.domain.user;
+
+public enum Role {
+    USER,
+    ADMIN
+}
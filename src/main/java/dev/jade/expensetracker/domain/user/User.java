@@ -36,6 +36,22 @@ public class User implements UserDetails {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role = Role.USER;
+
+    /**
+     * Tokens issued at or before this instant are rejected, which revokes every
+     * session of the user at once. {@code null} when never revoked.
+     */
+    private Instant tokensRevokedAt;
+
+    /**
+     * Set when the account is deleted. The user can no longer sign in or use a
+     * token from then on, while its data is purged in the background.
+     */
+    private Instant deletedAt;
+
     @Override
     public String getUsername() {
         return email; // email is the unique identifier
@@ -43,7 +59,7 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
@@ -63,7 +79,7 @@ public class User implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return deletedAt == null;
     }
 
 }
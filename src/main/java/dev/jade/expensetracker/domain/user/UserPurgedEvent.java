@@ -0,0 +1,5 @@
+package dev.jade.expensetracker.domain.user;
+
+/** Published once {@link AccountPurger} has removed an account, so in-memory stores drop what they hold for it. */
+public record UserPurgedEvent(Long userId) {
+}
@@ -1,6 +1,9 @@
 package dev.jade.expensetracker.security;
 
+import dev.jade.expensetracker.domain.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,8 +11,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 
@@ -43,11 +53,29 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    /** Far above any token this service issues; anything longer is rejected unread. */
+    private static final int MAX_TOKEN_LENGTH = 4096;
 
-    @Value("${jwt.expiration}")
-    private long accessTokenExpiration;
+    private final long accessTokenExpiration;
+    private final SecretKey signingKey;
+
+    /**
+     * Parsers are immutable and thread-safe, so one instance is built up front
+     * instead of re-deriving the key and rebuilding a parser for every call.
+     */
+    private final JwtParser parser;
+
+    /** {@code Mac} is stateful, so each thread keeps its own initialised instance. */
+    private final ThreadLocal<Mac> signatureMac;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long accessTokenExpiration) {
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.signingKey = deriveSigningKey(secretKey);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.signatureMac = ThreadLocal.withInitial(this::newMac);
+    }
 
     /**
      * Derives a {@code SecretKey} suitable for signing and verifying JWTs.
@@ -55,16 +83,28 @@ public class JwtService {
      * decodes it and creates an HMAC SHA key instance that JJWT expects for
      * signature operations.</p>
      */
-    private SecretKey getSigningKey() {
+    private static SecretKey deriveSigningKey(String secretKey) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(signingKey.getAlgorithm());
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT signing key cannot be used for HMAC", e);
+        }
+    }
+
     /**
      * Generates a JWT string for the given user details.
      * <p>The token includes:
+     * - a random token id ({@code jti}) so the token can be revoked individually,
      * - the user’s username as subject,
-     * - the current timestamp as issuedAt,
+     * - the current timestamp as issuedAt, or the user's revoke-all instant if
+     *   that is still ahead, so the token is not caught by the revoke,
      * - an expiration timestamp based on configuration,
      * - a cryptographic signature using the signing key</p>
      *
@@ -73,13 +113,28 @@ public class JwtService {
      */
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date())
+                .issuedAt(issuedAt(userDetails))
                 .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * The issued-at claim is in whole seconds and the revoke-all instant is
+     * rounded up to the next one, so for up to a second after a revoke the
+     * current time would still fall before it.
+     */
+    private static Date issuedAt(UserDetails userDetails) {
+        Instant now = Instant.now();
+        if (userDetails instanceof User user && user.getTokensRevokedAt() != null
+                && now.isBefore(user.getTokensRevokedAt())) {
+            return Date.from(user.getTokensRevokedAt());
+        }
+        return Date.from(now);
+    }
+
     /**
      * Checks if the token’s expiration date has already passed.
      *
@@ -108,18 +163,16 @@ public class JwtService {
     /**
      * Parses the JWT string and retrieves all claims after verifying the
      * signature with the configured secret key.
-     * <p>Under the hood this uses a {@code JwtParserBuilder} with
-     * {@code verifyWith(SecretKey)} then {@code build()} to produce a
-     * {@code JwtParser}, and finally {@code parseSignedClaims(token)} to
-     * both verify signature and extract the payload.</p>
+     * <p>Uses the {@code JwtParser} built once in the constructor from a
+     * {@code JwtParserBuilder} with {@code verifyWith(SecretKey)}, and
+     * {@code parseSignedClaims(token)} to both verify signature and extract
+     * the payload.</p>
      *
      * @param token the signed JWT string
      * @return the parsed {@code Claims} payload
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -134,6 +187,16 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Extracts the token id ({@code jti}) used for revocation.
+     *
+     * @param token the JWT string
+     * @return the token id, or {@code null} for tokens issued before ids were added
+     */
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     /**
      * Extracts the expiration date from the token claims.
      *
@@ -156,4 +219,80 @@ public class JwtService {
         String username = extractUsername(token);
         return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
     }
+
+    /**
+     * Verifies a token and returns its claims, or {@code null} if the token is
+     * malformed, carries a bad signature or has expired.
+     *
+     * <p>Unlike the {@code extract*} methods this never throws for a bad token.
+     * Garbage is rejected by a character scan, and forged or corrupted tokens by
+     * an HMAC comparison on a cached {@code Mac}, both before JJWT is involved.
+     * Only tokens with a genuine signature reach the parser, so the exception
+     * path inside JJWT is limited to legitimately issued tokens that expired.</p>
+     *
+     * @param token the JWT string
+     * @return the verified claims, or {@code null} if the token must be rejected
+     */
+    public Claims verify(String token) {
+        int signatureStart = signatureStart(token);
+        if (signatureStart < 0 || !hasValidSignature(token, signatureStart)) {
+            return null;
+        }
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Validates already verified claims against the loaded user.
+     *
+     * @param claims      claims returned by {@link #verify(String)}
+     * @param userDetails the expected user principal
+     * @return true if the token belongs to the user and has not expired
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        Date expiration = claims.getExpiration();
+        return userDetails.getUsername().equals(claims.getSubject())
+                && expiration != null
+                && expiration.after(new Date());
+    }
+
+    /*
+     Returns the index just past the second '.', or -1 unless the token is three
+     non-empty base64url segments within the length limit.
+    */
+    private static int signatureStart(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return -1;
+        }
+        int dots = 0;
+        int signatureStart = -1;
+        int segmentLength = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return -1;
+                }
+                signatureStart = i + 1;
+                segmentLength = 0;
+            } else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_') {
+                segmentLength++;
+            } else {
+                return -1;
+            }
+        }
+        // A base64url segment can never have a length of 1 modulo 4.
+        return dots == 2 && segmentLength > 0 && segmentLength % 4 != 1 ? signatureStart : -1;
+    }
+
+    private boolean hasValidSignature(String token, int signatureStart) {
+        Mac mac = signatureMac.get();
+        byte[] expected = mac.doFinal(token.substring(0, signatureStart - 1).getBytes(StandardCharsets.US_ASCII));
+        byte[] actual = Base64.getUrlDecoder().decode(token.substring(signatureStart));
+        return MessageDigest.isEqual(expected, actual);
+    }
 }
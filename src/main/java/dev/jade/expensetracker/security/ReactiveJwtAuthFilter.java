@@ -0,0 +1,104 @@
+package dev.jade.expensetracker.security;
+
+import dev.jade.expensetracker.common.InvalidTokenException;
+import dev.jade.expensetracker.common.PreSerializedError;
+import dev.jade.expensetracker.domain.user.ReactiveUserRepository;
+import dev.jade.expensetracker.domain.user.User;
+import dev.jade.expensetracker.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * The {@link JwtAuthFilter} of the reactive serving mode.
+ *
+ * <p>Same checks in the same order, but nothing may block the event loop: the
+ * user row is read through R2DBC, and the revocation table is only consulted
+ * (on a worker thread) when the in-memory Bloom filter cannot rule the token
+ * out. The authentication travels in the Reactor context instead of a thread local.</p>
+ *
+ * <p>Not a bean: WebFlux would otherwise also install it as a global
+ * {@code WebFilter}, outside the security chain. {@link ReactiveSecurityConfig}
+ * creates it.</p>
+ */
+@RequiredArgsConstructor
+public class ReactiveJwtAuthFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final PreSerializedError INVALID_TOKEN =
+            new PreSerializedError(HttpStatus.UNAUTHORIZED, InvalidTokenException.INSTANCE.getMessage());
+
+    private final JwtService jwtService;
+    private final ReactiveUserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims = jwtService.verify(authHeader.substring(BEARER_PREFIX.length()));
+        if (claims == null) {
+            return reject(exchange.getResponse());
+        }
+
+        String username = claims.getSubject();
+        if (username == null) {
+            return chain.filter(exchange);
+        }
+
+        /*
+         An unknown or deleted user or a revoked token leaves the exchange unauthenticated,
+         and the authorization rules in ReactiveSecurityConfig answer it.
+        */
+        return userRepository.findByEmail(username)
+                .filter(User::isEnabled)
+                .filter(user -> jwtService.isTokenValid(claims, user))
+                .filterWhen(user -> isRevoked(claims, user).map(revoked -> !revoked))
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                .then();
+    }
+
+    private Mono<Boolean> isRevoked(Claims claims, User user) {
+        if (user.getTokensRevokedAt() != null) {
+            Date issuedAt = claims.getIssuedAt();
+            if (issuedAt == null || issuedAt.toInstant().isBefore(user.getTokensRevokedAt())) {
+                return Mono.just(Boolean.TRUE);
+            }
+        }
+        String tokenId = claims.getId();
+        if (!tokenRevocationService.mightBeRevoked(tokenId)) {
+            return Mono.just(Boolean.FALSE);
+        }
+        return Mono.fromCallable(() -> tokenRevocationService.isRevoked(tokenId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(INVALID_TOKEN.render(Instant.now()));
+        return response.writeWith(Mono.just(body));
+    }
+}
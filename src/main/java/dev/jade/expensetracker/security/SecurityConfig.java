@@ -1,7 +1,10 @@
 package dev.jade.expensetracker.security;
 
 import dev.jade.expensetracker.domain.user.UserRepository;
+import dev.jade.expensetracker.security.ratelimit.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,12 +21,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
      * Configures the Spring Security filter chain for a stateless, JWT-based authentication system.
@@ -87,6 +92,16 @@ public class SecurityConfig {
                 /*
                   Defines authorization rules for incoming HTTP requests.
 
+                  requestMatchers("/api/auth/logout").authenticated():
+                  - Logout revokes the caller's own token, so it needs one.
+
+                  requestMatchers("/api/admin/**").hasRole("ADMIN"):
+                  - Administrative operations such as revoking all of a user's tokens.
+
+                  requestMatchers("/actuator/health/**").permitAll():
+                  - Liveness and readiness probes are polled by the orchestrator
+                    without credentials.
+
                   requestMatchers("/api/auth/**").permitAll():
                   - Allows unrestricted access to authentication-related endpoints
                     (e.g., login, registration).
@@ -95,8 +110,17 @@ public class SecurityConfig {
                   - All other endpoints require a successfully authenticated user.
                   - If no valid Authentication object is present in the SecurityContext,
                     access is denied.
+
+                  dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll():
+                  - Long-lived responses such as the expense SSE stream finish with an
+                    async re-dispatch. The original request was already authorized, and
+                    the stateless JwtAuthFilter does not run again for that dispatch.
                  */
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/logout").authenticated()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .anyRequest().authenticated())
 
@@ -115,7 +139,13 @@ public class SecurityConfig {
                   Positioning is critical: the filter must run early enough to establish
                   authentication before authorization rules are evaluated.
                  */
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+                /*
+                  Applies the per-user rate limit right after the principal is known,
+                  before any controller or database work is done for the request.
+                 */
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         /*
           Builds and returns the configured SecurityFilterChain.
@@ -174,7 +204,8 @@ public class SecurityConfig {
 
         config.setAllowedOrigins(List.of("http://localhost:*")); // frontend URL
         config.setAllowedMethods(List.of("GET", "POST", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key"));
+        config.setExposedHeaders(List.of("RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Retry-After"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,78 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets implemented with the generic cell rate algorithm.
+ *
+ * <p>A bucket is a single {@link AtomicLong} holding its theoretical arrival time
+ * (TAT): the instant at which it would be full again. Acquiring tokens is one
+ * compare-and-set that pushes the TAT forward by one emission interval each, so
+ * contended users never block each other and uncontended ones never share a
+ * cache line.</p>
+ *
+ * <p>A bucket whose TAT has passed is full and therefore indistinguishable from a
+ * new one, so inactive buckets are swept away, which keeps memory proportional
+ * to recently active users. The sweep also runs inline when the map grows past
+ * {@code rate-limit.max-entries}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public InMemoryRateLimitBackend(@Value("${rate-limit.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String bucketKey, RateLimitPolicy policy, long permits) {
+        AtomicLong bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                sweep();
+            }
+            bucket = buckets.computeIfAbsent(bucketKey, key -> new AtomicLong(System.nanoTime()));
+        }
+
+        long window = policy.window().toNanos();
+        long interval = window / policy.capacity();
+
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + interval * permits;
+            long allowAt = newTat - window;
+
+            if (allowAt > now) {
+                return new RateLimitDecision(false, policy.capacity(), 0,
+                        toSeconds(tat - now), toSeconds(allowAt - now));
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return new RateLimitDecision(true, policy.capacity(), (now - allowAt) / interval,
+                        toSeconds(newTat - now), 0);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-millis:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(0, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+}
@@ -0,0 +1,13 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+/**
+ * Holds bucket state for the rate limiter. The in-memory backend limits per
+ * node; a shared backend (for example Redis running the same algorithm in a
+ * script) makes the budget cluster-wide.
+ */
+public interface RateLimitBackend {
+
+    /** Takes {@code permits} tokens at once, or none if the bucket cannot cover them all. */
+    RateLimitDecision tryAcquire(String bucketKey, RateLimitPolicy policy, long permits);
+
+}
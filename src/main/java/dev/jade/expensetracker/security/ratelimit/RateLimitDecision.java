@@ -0,0 +1,14 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+/**
+ * @param resetSeconds      seconds until the bucket is back to full capacity
+ * @param retryAfterSeconds seconds until the next request would be allowed, {@code 0} when allowed
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        long limit,
+        long remaining,
+        long resetSeconds,
+        long retryAfterSeconds
+) {
+}
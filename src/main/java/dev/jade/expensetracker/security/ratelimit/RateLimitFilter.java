@@ -0,0 +1,85 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+import dev.jade.expensetracker.common.RateLimitExceededException;
+import dev.jade.expensetracker.domain.user.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Per-user token-bucket limiter for the expense API, including {@code /api/batch}
+ * (one write here, the rest of its operations charged by the batch endpoint
+ * through {@link RateLimiter#chargeWrites}) and {@code /api/dashboard} (one read,
+ * however many sections it fans out to).
+ *
+ * <p>Registered directly after {@code JwtAuthFilter}, so the principal is already
+ * known and every authenticated user gets an independent budget. Reads and
+ * writes draw from separate buckets, which keeps a client stuck in a polling
+ * loop from also starving its own writes. Every response carries the
+ * {@code RateLimit-*} headers; a denied request gets 429 with
+ * {@code Retry-After} through {@code GlobalExceptionHandler}.</p>
+ *
+ * <p>Unauthenticated requests are passed through untouched; the authorization
+ * rules reject them before they reach a controller.</p>
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.rateLimiter = rateLimiter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/expenses") && !uri.startsWith("/api/batch")
+                && !uri.startsWith("/api/dashboard");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitDecision decision = rateLimiter.acquire(user.getUserId(), isRead(request.getMethod()));
+
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new RateLimitExceededException(decision.retryAfterSeconds()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
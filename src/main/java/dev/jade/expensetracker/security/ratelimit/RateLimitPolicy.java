@@ -0,0 +1,13 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A budget of {@code capacity} requests per {@code window}, refilled continuously.
+ * A client may burst up to the full capacity after being idle for a window.
+ */
+public record RateLimitPolicy(
+        long capacity,
+        Duration window
+) {
+}
@@ -0,0 +1,53 @@
+package dev.jade.expensetracker.security.ratelimit;
+
+import dev.jade.expensetracker.common.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * The per-user read and write budgets. {@link RateLimitFilter} charges one token
+ * per request; an endpoint that carries several writes in one request charges
+ * the rest through {@link #chargeWrites} once it knows how many there are.
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitBackend backend;
+    private final RateLimitPolicy readPolicy;
+    private final RateLimitPolicy writePolicy;
+
+    public RateLimiter(
+            RateLimitBackend backend,
+            @Value("${rate-limit.read.capacity:120}") long readCapacity,
+            @Value("${rate-limit.read.window:PT1M}") Duration readWindow,
+            @Value("${rate-limit.write.capacity:30}") long writeCapacity,
+            @Value("${rate-limit.write.window:PT1M}") Duration writeWindow) {
+        this.backend = backend;
+        this.readPolicy = new RateLimitPolicy(readCapacity, readWindow);
+        this.writePolicy = new RateLimitPolicy(writeCapacity, writeWindow);
+    }
+
+    RateLimitDecision acquire(Long userId, boolean read) {
+        return read
+                ? backend.tryAcquire(userId + ":r", readPolicy, 1)
+                : backend.tryAcquire(userId + ":w", writePolicy, 1);
+    }
+
+    /**
+     * Takes {@code permits} more write tokens, or throws when the bucket cannot
+     * cover them. A request larger than the whole bucket is charged its capacity,
+     * so it drains the bucket instead of being impossible to send.
+     */
+    public void chargeWrites(Long userId, long permits) {
+        if (permits <= 0) {
+            return;
+        }
+        RateLimitDecision decision = backend.tryAcquire(userId + ":w", writePolicy,
+                Math.min(permits, writePolicy.capacity()));
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(decision.retryAfterSeconds());
+        }
+    }
+}
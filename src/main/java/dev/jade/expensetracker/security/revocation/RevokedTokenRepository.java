@@ -0,0 +1,24 @@
+package dev.jade.expensetracker.security.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select t.tokenId from RevokedToken t where t.expiresAt > :now")
+    List<String> findActiveTokenIds(Instant now);
+
+    @Query("select t from RevokedToken t where t.revokedAt > :since order by t.revokedAt")
+    List<RevokedToken> findRevokedSince(Instant since);
+
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(Instant now);
+
+}
@@ -0,0 +1,106 @@
+package dev.jade.expensetracker.security.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Denylist of revoked token ids fronted by an in-memory Bloom filter.
+ *
+ * <p>Almost every request carries a token that was never revoked; for those the
+ * filter answers "no" from memory and the database is never consulted. Only a
+ * filter hit, a real revocation or a rare false positive, is confirmed against
+ * {@code revoked_tokens}.</p>
+ *
+ * <p>Other nodes learn about revocations by polling for rows newer than the last
+ * one they saw, which only reads the tail of {@code idx_revoked_tokens_revoked_at}.
+ * The filter is periodically rebuilt from the live rows so entries for expired
+ * tokens stop occupying bits.</p>
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    /** Rows committed slightly out of order are picked up by re-reading this overlap. */
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSeen = Instant.EPOCH;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.revocation.expected-entries:100000}") int expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.0001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Long userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        revokedTokenRepository.save(new RevokedToken(tokenId, userId, expiresAt, now));
+        filter.put(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!mightBeRevoked(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenId);
+    }
+
+    /**
+     * The in-memory half of {@link #isRevoked}: {@code false} means definitely not
+     * revoked. Lets non-blocking callers skip the database hop for almost every token.
+     */
+    public boolean mightBeRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Scheduled(cron = "${jwt.revocation.rebuild-cron:0 0 * * * *}")
+    public synchronized void rebuild() {
+        Instant startedAt = Instant.now();
+        List<String> active = revokedTokenRepository.findActiveTokenIds(startedAt);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::put);
+
+        filter = rebuilt;
+        lastSeen = startedAt.minus(REFRESH_OVERLAP);
+        refresh();
+        log.debug("Rebuilt token revocation filter with {} entries", active.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-millis:5000}")
+    public synchronized void refresh() {
+        List<RevokedToken> revoked = revokedTokenRepository.findRevokedSince(lastSeen.minus(REFRESH_OVERLAP));
+        BloomFilter current = filter;
+        for (RevokedToken token : revoked) {
+            current.put(token.getTokenId());
+            if (token.getRevokedAt().isAfter(lastSeen)) {
+                lastSeen = token.getRevokedAt();
+            }
+        }
+    }
+
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+}
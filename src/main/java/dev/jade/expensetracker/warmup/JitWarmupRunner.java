@@ -0,0 +1,183 @@
+package dev.jade.expensetracker.warmup;
+
+import dev.jade.expensetracker.domain.expense.Expense;
+import dev.jade.expensetracker.domain.expense.ExpenseMapper;
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import dev.jade.expensetracker.domain.user.User;
+import dev.jade.expensetracker.domain.user.UserRepository;
+import dev.jade.expensetracker.security.JwtAuthFilter;
+import dev.jade.expensetracker.security.JwtService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Optional JIT warm-up that runs the request hot paths before the instance
+ * reports ready.
+ *
+ * <p>Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC} after all
+ * {@link ApplicationRunner}s have returned, so while this runs the readiness
+ * probe keeps the instance out of the load balancer and the first real requests
+ * hit code that C2 has already compiled.</p>
+ *
+ * <p>Everything happens inside one transaction that is always rolled back: the
+ * warm-up user and its expenses are visible to the queries being exercised but
+ * never committed. No HTTP request is made and no {@code ExpenseService} method
+ * is called, so request metrics and derived state (events, caches, limits) are
+ * not touched either. Repository metrics stay on; {@link WarmupMeterFilter}
+ * drops only the invocations made here.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class JitWarmupRunner implements ApplicationRunner {
+
+    private static final int WARMUP_EXPENSES = 50;
+
+    private final JwtService jwtService;
+    private final JwtAuthFilter jwtAuthFilter;
+    private final UserRepository userRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseMapper expenseMapper;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final WarmupMeterFilter meterFilter;
+
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${warmup.max-duration:PT30S}")
+    private Duration maxDuration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+
+        Integer completed = meterFilter.suppressing(() -> transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return exercise(deadline);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }));
+
+        log.info("JIT warm-up ran {} iterations in {} ms",
+                completed, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private int exercise(long deadline) {
+        User user = new User();
+        user.setEmail("warmup-" + UUID.randomUUID() + "@warmup.invalid");
+        user.setPassword("{noop}warmup");
+        user = userRepository.saveAndFlush(user);
+
+        List<Expense> expenses = new ArrayList<>(WARMUP_EXPENSES);
+        for (int i = 0; i < WARMUP_EXPENSES; i++) {
+            Expense expense = new Expense();
+            expense.setUser(user);
+            expense.setDescription("Warm-up expense " + i);
+            expense.setAmount(BigDecimal.valueOf(100 + i, 2));
+            expense.setEntryDate(LocalDate.now().minusDays(i));
+            expenses.add(expense);
+        }
+        expenseRepository.saveAllAndFlush(expenses);
+
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("entryDate").descending());
+        FilterChain noOpChain = (request, response) -> {
+        };
+
+        int i = 0;
+        while (i < iterations && System.nanoTime() < deadline) {
+            String token = jwtService.generateToken(user);
+            jwtService.verify(token);
+
+            try {
+                jwtAuthFilter.doFilter(request("Bearer " + token), response(), noOpChain);
+            } catch (Exception e) {
+                throw new IllegalStateException("JWT filter failed during warm-up", e);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+
+            Page<ExpenseResponse> page = expenseRepository.findAllByUser(user, pageable).map(expenseMapper::toResponse);
+            jsonMapper.writeValueAsBytes(new PagedModel<>(page));
+            i++;
+        }
+        return i;
+    }
+
+    /*
+     Minimal stand-ins for the servlet objects: only what OncePerRequestFilter,
+     JwtAuthFilter and WebAuthenticationDetails read is answered, everything else
+     returns a zero value. The servlet container is not involved at all.
+    */
+    private static HttpServletRequest request(String authorization) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                JitWarmupRunner.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> HttpHeaders.AUTHORIZATION.equalsIgnoreCase((String) args[0]) ? authorization : null;
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getDispatcherType" -> DispatcherType.REQUEST;
+                    case "getRemoteAddr" -> "127.0.0.1";
+                    case "getRequestURI" -> "/api/expenses";
+                    case "getMethod" -> "GET";
+                    default -> zeroValue(method.getReturnType());
+                });
+    }
+
+    private static HttpServletResponse response() {
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                JitWarmupRunner.class.getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> zeroValue(method.getReturnType()));
+    }
+
+    private static Object zeroValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package dev.jade.expensetracker.warmup;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the warm-up's repository calls out of the repository invocation metrics
+ * while leaving those metrics on for everything else.
+ *
+ * <p>A denied meter is handed out as a no-op and is not registered, so the
+ * filter is asked again on the next invocation; only calls made on the warm-up
+ * thread, inside {@link #suppressing}, are dropped.</p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupMeterFilter implements MeterFilter {
+
+    private static final ThreadLocal<Boolean> WARMING_UP = ThreadLocal.withInitial(() -> false);
+
+    private final String repositoryMetricName;
+
+    public WarmupMeterFilter(
+            @Value("${management.metrics.data.repository.metric-name:spring.data.repository.invocations}")
+            String repositoryMetricName) {
+        this.repositoryMetricName = repositoryMetricName;
+    }
+
+    <T> T suppressing(Supplier<T> action) {
+        WARMING_UP.set(true);
+        try {
+            return action.get();
+        } finally {
+            WARMING_UP.remove();
+        }
+    }
+
+    @Override
+    public MeterFilterReply accept(Meter.Id id) {
+        return WARMING_UP.get() && id.getName().equals(repositoryMetricName)
+                ? MeterFilterReply.DENY
+                : MeterFilterReply.NEUTRAL;
+    }
+}
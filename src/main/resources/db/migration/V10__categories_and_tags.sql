@@ -0,0 +1,35 @@
+-- Per-user categories and tags. Names are stored normalized (trimmed, lower-case),
+-- so the unique keys are what make concurrent first uses of a name converge on one row.
+CREATE TABLE IF NOT EXISTS categories
+(
+    category_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    name        VARCHAR(50) NOT NULL,
+    CONSTRAINT categories_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+    CONSTRAINT uq_categories_user_name UNIQUE (user_id, name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tags
+(
+    tag_id  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT      NOT NULL,
+    name    VARCHAR(50) NOT NULL,
+    CONSTRAINT tags_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+    CONSTRAINT uq_tags_user_name UNIQUE (user_id, name)
+) ENGINE = InnoDB;
+
+-- expenses is partitioned, so neither of these can carry a foreign key to it (see V2).
+ALTER TABLE expenses ADD COLUMN category_id BIGINT NULL;
+CREATE INDEX idx_expenses_user_category ON expenses (user_id, category_id);
+
+ALTER TABLE expenses_archive ADD COLUMN category_id BIGINT NULL;
+
+-- The second index serves the join-based tag filter, which starts from the tag.
+CREATE TABLE IF NOT EXISTS expense_tags
+(
+    expense_id BIGINT NOT NULL,
+    tag_id     BIGINT NOT NULL,
+    PRIMARY KEY (expense_id, tag_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_expense_tags_tag_expense ON expense_tags (tag_id, expense_id);
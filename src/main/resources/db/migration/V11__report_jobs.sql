@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS report_jobs
+(
+    job_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    format       VARCHAR(10)  NOT NULL,
+    report_year  INT          NOT NULL,
+    status       VARCHAR(10)  NOT NULL,
+    attempts     INT          NOT NULL,
+    claimed_at   DATETIME(3)  NULL,
+    size_bytes   BIGINT       NULL,
+    error        VARCHAR(255) NULL,
+    created_at   DATETIME     NOT NULL,
+    updated_at   DATETIME     NOT NULL,
+    completed_at DATETIME     NULL,
+    CONSTRAINT report_jobs_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Workers claim the oldest claimable job with FOR UPDATE SKIP LOCKED, which only
+-- skips rows it reaches through an index; this one keeps the scan to one status.
+CREATE INDEX idx_report_jobs_status_job ON report_jobs (status, job_id);
+CREATE INDEX idx_report_jobs_user_status ON report_jobs (user_id, status);
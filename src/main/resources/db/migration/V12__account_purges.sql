@@ -0,0 +1,18 @@
+-- A deleted account is rejected at once through deleted_at; its data is removed
+-- afterwards, in batches, by the purger. The users row goes last.
+ALTER TABLE users ADD COLUMN deleted_at DATETIME NULL;
+
+-- Purge progress per deleted account, so a purge resumes where it stopped after a
+-- crash. The cursor is the (entry_date, expense_id) key of the last row removed in
+-- the current stage. Deleting the users row at the end removes this row with it.
+CREATE TABLE IF NOT EXISTS account_purges
+(
+    user_id         BIGINT      NOT NULL PRIMARY KEY,
+    stage           VARCHAR(10) NOT NULL,
+    last_entry_date DATE        NOT NULL,
+    last_expense_id BIGINT      NOT NULL,
+    rows_deleted    BIGINT      NOT NULL,
+    created_at      DATETIME    NOT NULL,
+    updated_at      DATETIME    NOT NULL,
+    CONSTRAINT account_purges_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
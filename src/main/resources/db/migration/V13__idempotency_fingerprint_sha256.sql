@@ -0,0 +1,4 @@
+-- Fingerprints become the hex SHA-256 of a canonical request. A retry of a key
+-- stored with the old integer hash no longer matches and is rejected with 409,
+-- which is safer than running it a second time; such rows expire within the TTL.
+ALTER TABLE idempotency_keys MODIFY fingerprint CHAR(64) NOT NULL;
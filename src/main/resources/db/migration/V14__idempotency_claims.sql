@@ -0,0 +1,3 @@
+-- A key is claimed before its request runs: the row is inserted with a NULL
+-- response and a short expiry, then completed with the response afterwards.
+ALTER TABLE idempotency_keys MODIFY response JSON NULL;
@@ -0,0 +1,10 @@
+-- Scheduled jobs that must run on one node at a time hold a time-limited lease
+-- here. Timestamps come from the database clock, like recurring_generation_leases.
+CREATE TABLE IF NOT EXISTS job_leases
+(
+    job_name         VARCHAR(64) NOT NULL PRIMARY KEY,
+    lease_token      VARCHAR(36) NULL,
+    lease_expires_at DATETIME(3) NULL
+) ENGINE = InnoDB;
+
+INSERT INTO job_leases (job_name) VALUES ('expense-archive');
@@ -0,0 +1,5 @@
+-- A purge whose batch fails is put off until next_attempt_at, doubling the wait
+-- with every failure in a row, so one broken account does not hold up the others.
+ALTER TABLE account_purges
+    ADD COLUMN failed_attempts INT      NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at DATETIME NULL;
@@ -0,0 +1,36 @@
+-- MySQL refuses foreign keys on partitioned tables, so the cascade to users is dropped.
+-- Ownership is still enforced by every expense query filtering on user_id.
+ALTER TABLE expenses DROP FOREIGN KEY expenses_user_id_fkey;
+ALTER TABLE expenses DROP INDEX expenses_user_id_fkey;
+ALTER TABLE expenses DROP INDEX idx_expenses_entry_date;
+
+-- Every unique key of a partitioned table has to contain the partitioning column.
+ALTER TABLE expenses
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (expense_id, entry_date);
+
+CREATE INDEX idx_expenses_user_entry_date ON expenses (user_id, entry_date);
+
+ALTER TABLE expenses
+    PARTITION BY RANGE COLUMNS (entry_date) (
+        PARTITION p_history VALUES LESS THAN ('2024-01-01'),
+        PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+        PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+        );
+
+CREATE TABLE IF NOT EXISTS expenses_archive
+(
+    expense_id  BIGINT                             NOT NULL PRIMARY KEY,
+    user_id     BIGINT                             NOT NULL,
+    description VARCHAR(255)                       NOT NULL,
+    amount      DECIMAL(12, 2)                     NOT NULL,
+    entry_date  DATE                               NOT NULL,
+    created_at  DATETIME                           NOT NULL,
+    updated_at  DATETIME                           NOT NULL,
+    archived_at DATETIME DEFAULT CURRENT_TIMESTAMP NOT NULL
+) ENGINE = InnoDB
+  ROW_FORMAT = COMPRESSED;
+
+CREATE INDEX idx_expenses_archive_user_entry_date ON expenses_archive (user_id, entry_date);
@@ -0,0 +1,10 @@
+CREATE INDEX idx_expenses_user_updated ON expenses (user_id, updated_at, expense_id);
+
+CREATE TABLE IF NOT EXISTS expense_tombstones
+(
+    expense_id BIGINT   NOT NULL PRIMARY KEY,
+    user_id    BIGINT   NOT NULL,
+    deleted_at DATETIME NOT NULL
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_expense_tombstones_user_deleted ON expense_tombstones (user_id, deleted_at, expense_id);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    user_id         BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     INT          NOT NULL,
+    response        JSON         NOT NULL,
+    expires_at      DATETIME     NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
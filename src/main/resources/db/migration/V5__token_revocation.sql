@@ -0,0 +1,14 @@
+ALTER TABLE users
+    ADD COLUMN role              VARCHAR(20) DEFAULT 'USER' NOT NULL,
+    ADD COLUMN tokens_revoked_at DATETIME                   NULL;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens
+(
+    token_id   VARCHAR(36) NOT NULL PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME    NOT NULL,
+    revoked_at DATETIME(3) NOT NULL
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,41 @@
+-- MySQL rejects FULLTEXT indexes on partitioned tables, so descriptions are
+-- mirrored into an unpartitioned side table that carries the index. Triggers
+-- keep it in step with every write, including the archive job's deletes.
+CREATE TABLE IF NOT EXISTS expense_search
+(
+    expense_id  BIGINT       NOT NULL PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    entry_date  DATE         NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    FULLTEXT INDEX ft_expense_search_description (description)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_expense_search_user_entry_date ON expense_search (user_id, entry_date);
+
+INSERT INTO expense_search (expense_id, user_id, entry_date, description)
+SELECT expense_id, user_id, entry_date, description
+FROM expenses;
+
+CREATE TRIGGER trg_expenses_search_insert
+    AFTER INSERT
+    ON expenses
+    FOR EACH ROW
+    INSERT INTO expense_search (expense_id, user_id, entry_date, description)
+    VALUES (NEW.expense_id, NEW.user_id, NEW.entry_date, NEW.description);
+
+CREATE TRIGGER trg_expenses_search_update
+    AFTER UPDATE
+    ON expenses
+    FOR EACH ROW
+    UPDATE expense_search
+    SET description = NEW.description,
+        entry_date  = NEW.entry_date
+    WHERE expense_id = NEW.expense_id;
+
+CREATE TRIGGER trg_expenses_search_delete
+    AFTER DELETE
+    ON expenses
+    FOR EACH ROW
+    DELETE
+    FROM expense_search
+    WHERE expense_id = OLD.expense_id;
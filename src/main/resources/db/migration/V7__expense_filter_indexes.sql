@@ -0,0 +1,5 @@
+-- Range filters on GET /api/expenses. Each index leads with user_id, so a bound on the
+-- second column scans only the matching slice of one user's rows.
+-- Date filters and seek pages use idx_expenses_user_entry_date from V2.
+CREATE INDEX idx_expenses_user_amount ON expenses (user_id, amount);
+CREATE INDEX idx_expenses_user_description ON expenses (user_id, description);
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS budgets
+(
+    user_id    BIGINT         NOT NULL PRIMARY KEY,
+    amount     DECIMAL(12, 2) NOT NULL,
+    created_at DATETIME       NOT NULL,
+    updated_at DATETIME       NOT NULL,
+    CONSTRAINT budgets_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,31 @@
+CREATE TABLE IF NOT EXISTS recurring_expenses
+(
+    recurring_expense_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id              BIGINT         NOT NULL,
+    description          VARCHAR(255)   NOT NULL,
+    amount               DECIMAL(12, 2) NOT NULL,
+    frequency            VARCHAR(10)    NOT NULL,
+    start_date           DATE           NOT NULL,
+    end_date             DATE           NULL,
+    next_index           INT            NOT NULL,
+    next_occurrence      DATE           NOT NULL,
+    created_at           DATETIME       NOT NULL,
+    updated_at           DATETIME       NOT NULL,
+    CONSTRAINT recurring_expenses_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- The generator scans one user-id range at a time for definitions that are due.
+CREATE INDEX idx_recurring_expenses_user_next ON recurring_expenses (user_id, next_occurrence);
+
+-- One row per user-id range of recurring.generator.range-size users, claimed by a node
+-- through a time-limited lease. Timestamps come from the database clock, so nodes
+-- with skewed clocks still agree on when a lease has expired.
+CREATE TABLE IF NOT EXISTS recurring_generation_leases
+(
+    range_start      BIGINT       NOT NULL PRIMARY KEY,
+    lease_token      VARCHAR(36)  NULL,
+    lease_expires_at DATETIME(3)  NULL,
+    next_run_at      DATETIME(3)  DEFAULT (CURRENT_TIMESTAMP(3)) NOT NULL
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_recurring_generation_leases_next_run ON recurring_generation_leases (next_run_at);
@@ -0,0 +1,87 @@
+package dev.jade.expensetracker.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrainingWorkerPoolTest {
+
+    @Test
+    void startTopsThePoolUpToItsSize() throws Exception {
+        AtomicInteger drains = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        DrainingWorkerPool pool = new DrainingWorkerPool("test", 2, () -> {
+            drains.incrementAndGet();
+            running.countDown();
+            await(release);
+        });
+        try {
+            pool.start();
+            pool.start();
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            pool.start();
+
+            assertThat(drains.get()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void finishedDrainsFreeTheirSlot() throws Exception {
+        AtomicInteger drains = new AtomicInteger();
+        CountDownLatch failed = new CountDownLatch(1);
+        CountDownLatch restarted = new CountDownLatch(1);
+        DrainingWorkerPool pool = new DrainingWorkerPool("test", 1, () -> {
+            if (drains.getAndIncrement() == 0) {
+                failed.countDown();
+                throw new IllegalStateException("boom");
+            }
+            restarted.countDown();
+        });
+        try {
+            pool.start();
+            assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+
+            awaitStarted(pool, restarted);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void startAfterShutdownDoesNothing() {
+        AtomicInteger drains = new AtomicInteger();
+        DrainingWorkerPool pool = new DrainingWorkerPool("test", 1, drains::incrementAndGet);
+
+        pool.shutdown();
+        pool.start();
+
+        assertThat(drains.get()).isZero();
+    }
+
+    /** The slot is freed just after the drain returns, so keep starting until the next one runs. */
+    private static void awaitStarted(DrainingWorkerPool pool, CountDownLatch started) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (started.getCount() > 0 && System.nanoTime() < deadline) {
+            pool.start();
+            started.await(5, TimeUnit.MILLISECONDS);
+        }
+        assertThat(started.getCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package dev.jade.expensetracker.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerUserResidentCacheTest {
+
+    private static final long USER = 1L;
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PerUserResidentCache<Values> cache = cache((userId, state) -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            state.completeLoad(List.of(1));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Values> loader = executor.submit(() -> cache.get(USER));
+            await(started);
+            Future<Values> waiter = executor.submit(() -> cache.get(USER));
+
+            release.countDown();
+
+            assertThat(waiter.get()).isSameAs(loader.get());
+            assertThat(waiter.get().values()).containsExactly(1);
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadReleasesWaitersToLoadAgain() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("boom");
+        PerUserResidentCache<Values> cache = cache((userId, state) -> {
+            if (loads.incrementAndGet() == 1) {
+                started.countDown();
+                await(release);
+                throw failure;
+            }
+            state.completeLoad(List.of(2));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Values> first = executor.submit(() -> cache.get(USER));
+            await(started);
+            Future<Values> waiter = executor.submit(() -> cache.get(USER));
+
+            release.countDown();
+
+            assertThatThrownBy(first::get).hasCause(failure);
+            assertThat(waiter.get().values()).containsExactly(2);
+            assertThat(loads.get()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void changesDuringTheLoadAreReplayedOnTopOfTheSnapshot() {
+        PerUserResidentCache<Values> cache = cache((userId, state) -> {
+            assertThat(state.isLoaded()).isFalse();
+            state.add(3);
+            state.completeLoad(List.of(1, 2));
+        });
+
+        Values values = cache.get(USER);
+
+        assertThat(values.isLoaded()).isTrue();
+        assertThat(values.values()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void loaderThatDoesNotCompleteFailsTheLoad() {
+        PerUserResidentCache<Values> cache = cache((userId, state) -> {
+        });
+
+        assertThatThrownBy(() -> cache.get(USER)).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.resident(USER)).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUsersOverBudget() {
+        PerUserResidentCache<Values> cache = new PerUserResidentCache<>(Values::new,
+                (userId, state) -> state.completeLoad(List.of(1, 2, 3)), 2 * 3 * Values.BYTES_PER_VALUE);
+        Values first = cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+
+        cache.get(3L);
+
+        assertThat(cache.resident(1L)).isSameAs(first);
+        assertThat(cache.resident(2L)).isNull();
+        assertThat(cache.resident(3L)).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsTheNewestUserEvenWhenItAloneIsOverBudget() {
+        PerUserResidentCache<Values> cache = new PerUserResidentCache<>(Values::new,
+                (userId, state) -> state.completeLoad(List.of(1, 2, 3)), 1);
+        cache.get(1L);
+
+        Values newest = cache.get(2L);
+
+        assertThat(cache.resident(1L)).isNull();
+        assertThat(cache.resident(2L)).isSameAs(newest);
+    }
+
+    @Test
+    void residentDoesNotLoadAndEvictedUsersReload() {
+        AtomicInteger loads = new AtomicInteger();
+        PerUserResidentCache<Values> cache = cache((userId, state) -> {
+            loads.incrementAndGet();
+            state.completeLoad(List.of());
+        });
+
+        assertThat(cache.resident(USER)).isNull();
+        Values loaded = cache.get(USER);
+        cache.evict(USER);
+
+        assertThat(cache.resident(USER)).isNull();
+        assertThat(cache.get(USER)).isNotSameAs(loaded);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static PerUserResidentCache<Values> cache(BiConsumer<Long, Values> loader) {
+        return new PerUserResidentCache<>(Values::new, loader, Long.MAX_VALUE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Values extends LoadableUserState {
+
+        static final long BYTES_PER_VALUE = 16;
+
+        private final List<Integer> values = new ArrayList<>();
+
+        void completeLoad(List<Integer> snapshot) {
+            completeLoad(() -> values.addAll(snapshot));
+        }
+
+        void add(int value) {
+            mutate(() -> values.add(value));
+        }
+
+        List<Integer> values() {
+            lock.readLock().lock();
+            try {
+                return List.copyOf(values);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public long estimatedBytes() {
+            lock.readLock().lock();
+            try {
+                return values.size() * BYTES_PER_VALUE;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.jade.expensetracker.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 3;
+
+    private Counter coalesced;
+    private SingleFlight<String, String> flights;
+
+    @BeforeEach
+    void setUp() {
+        coalesced = new SimpleMeterRegistry().counter("coalesced");
+        flights = new SingleFlight<>(coalesced);
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "value";
+            }));
+            awaitCalls(calls, 1);
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < FOLLOWERS; i++) {
+                followers.add(executor.submit(() -> flights.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            awaitCoalesced(FOLLOWERS);
+
+            release.countDown();
+
+            assertThat(leader.get()).isEqualTo("value");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("value");
+            }
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("boom");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw failure;
+            }));
+            await(started);
+            Future<String> follower = executor.submit(() -> flights.execute("key", () -> "value"));
+            awaitCoalesced(1);
+
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasCause(failure);
+            assertThatThrownBy(follower::get).hasCause(failure);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedCallsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        flights.execute("key", () -> "v" + calls.incrementAndGet());
+        String second = flights.execute("key", () -> "v" + calls.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(coalesced.count()).isEqualTo(0.0);
+    }
+
+    @Test
+    void failedCallsAreRetriedByTheNextCaller() {
+        assertThatThrownBy(() -> flights.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flights.execute("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void differentKeysRunSeparately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> flights.execute("a", () -> {
+                await(release);
+                return "a";
+            }));
+
+            assertThat(flights.execute("b", () -> "b")).isEqualTo("b");
+
+            release.countDown();
+            assertThat(first.get()).isEqualTo("a");
+            assertThat(coalesced.count()).isEqualTo(0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitCoalesced(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (coalesced.count() < followers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalesced.count()).isEqualTo((double) followers);
+    }
+
+    private static void awaitCalls(AtomicInteger calls, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (calls.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
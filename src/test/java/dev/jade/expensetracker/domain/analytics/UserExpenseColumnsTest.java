@@ -0,0 +1,114 @@
+package dev.jade.expensetracker.domain.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserExpenseColumnsTest {
+
+    @Test
+    void aggregatesOnlyTheRequestedDays() {
+        UserExpenseColumns columns = new UserExpenseColumns();
+        columns.completeLoad(new long[]{1, 2, 3, 4}, new long[]{100, 250, 40, 900}, new int[]{10, 11, 11, 20}, 4);
+
+        UserExpenseColumns.RangeAggregate aggregate = aggregate(columns, 11, 19);
+
+        assertThat(aggregate.count).isEqualTo(2L);
+        assertThat(aggregate.sum).isEqualTo(290L);
+        assertThat(aggregate.min).isEqualTo(40L);
+        assertThat(aggregate.max).isEqualTo(250L);
+    }
+
+    @Test
+    void sortsAnUnorderedSnapshotOnce() {
+        UserExpenseColumns ordered = new UserExpenseColumns();
+        ordered.completeLoad(new long[]{2, 5, 3, 1}, new long[]{20, 50, 30, 10}, new int[]{1, 1, 2, 3}, 4);
+        UserExpenseColumns unordered = new UserExpenseColumns();
+        unordered.completeLoad(new long[]{3, 1, 5, 2}, new long[]{30, 10, 50, 20}, new int[]{2, 3, 1, 1}, 4);
+
+        for (int day = 0; day <= 4; day++) {
+            assertThat(aggregate(unordered, day, day).sum).isEqualTo(aggregate(ordered, day, day).sum);
+        }
+        assertThat(aggregate(unordered, 1, 2).count).isEqualTo(3L);
+    }
+
+    @Test
+    void upsertMovesAnExpenseToItsNewDay() {
+        UserExpenseColumns columns = loaded();
+        columns.upsert(1, 500, 10);
+        columns.upsert(2, 300, 10);
+
+        columns.upsert(1, 700, 30);
+
+        assertThat(aggregate(columns, 10, 10).sum).isEqualTo(300L);
+        assertThat(aggregate(columns, 30, 30).sum).isEqualTo(700L);
+        assertThat(aggregate(columns, 0, 100).count).isEqualTo(2L);
+    }
+
+    @Test
+    void removeDropsTheExpense() {
+        UserExpenseColumns columns = loaded();
+        columns.upsert(1, 500, 10);
+        columns.upsert(2, 300, 12);
+
+        columns.remove(1);
+        columns.remove(42);
+
+        UserExpenseColumns.RangeAggregate aggregate = aggregate(columns, 0, 100);
+        assertThat(aggregate.count).isEqualTo(1L);
+        assertThat(aggregate.sum).isEqualTo(300L);
+    }
+
+    @Test
+    void countsOnlyTheGivenIds() {
+        UserExpenseColumns columns = new UserExpenseColumns();
+        columns.completeLoad(new long[]{1, 2, 3}, new long[]{100, 200, 300}, new int[]{5, 5, 6}, 3);
+
+        UserExpenseColumns.RangeAggregate aggregate = new UserExpenseColumns.RangeAggregate();
+        columns.aggregate(0, 10, new long[]{1, 3}, aggregate);
+
+        assertThat(aggregate.count).isEqualTo(2L);
+        assertThat(aggregate.sum).isEqualTo(400L);
+    }
+
+    @Test
+    void replaysChangesQueuedDuringLoadExactlyOnce() {
+        UserExpenseColumns columns = new UserExpenseColumns();
+        // Already in the snapshot, and queued as well.
+        columns.upsert(1, 100, 5);
+        columns.upsert(3, 300, 7);
+        columns.remove(2);
+
+        columns.completeLoad(new long[]{1, 2}, new long[]{100, 200}, new int[]{5, 6}, 2);
+
+        UserExpenseColumns.RangeAggregate aggregate = aggregate(columns, 0, 10);
+        assertThat(aggregate.count).isEqualTo(2L);
+        assertThat(aggregate.sum).isEqualTo(400L);
+    }
+
+    @Test
+    void growsItsEstimateOnlyWhenTheColumnsGrow() {
+        UserExpenseColumns columns = loaded();
+        long initial = columns.estimatedBytes();
+
+        columns.upsert(1, 100, 1);
+        assertThat(columns.estimatedBytes()).isEqualTo(initial);
+
+        for (int i = 2; i <= 100; i++) {
+            columns.upsert(i, 100, i);
+        }
+        assertThat(columns.estimatedBytes()).isGreaterThanOrEqualTo(100L * UserExpenseColumns.BYTES_PER_ROW);
+    }
+
+    private static UserExpenseColumns loaded() {
+        UserExpenseColumns columns = new UserExpenseColumns();
+        columns.completeLoad(new long[0], new long[0], new int[0], 0);
+        return columns;
+    }
+
+    private static UserExpenseColumns.RangeAggregate aggregate(UserExpenseColumns columns, int fromDay, int toDay) {
+        UserExpenseColumns.RangeAggregate aggregate = new UserExpenseColumns.RangeAggregate();
+        columns.aggregate(fromDay, toDay, aggregate);
+        return aggregate;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.jade.expensetracker.domain.budget;
+
+import dev.jade.expensetracker.domain.expense.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MonthlySpendingTotalsTest {
+
+    private static final Long USER = 7L;
+    private static final YearMonth MONTH = YearMonth.of(2026, 3);
+
+    private BigDecimal committed;
+    private MonthlySpendingTotals totals;
+
+    @BeforeEach
+    void setUp() {
+        committed = BigDecimal.ZERO;
+        ExpenseRepository repository = mock(ExpenseRepository.class);
+        when(repository.sumAmountByUserIdBetween(any(), any(), any())).thenAnswer(invocation -> committed);
+        totals = new MonthlySpendingTotals(repository, 100);
+    }
+
+    @Test
+    void seedCountsABatchCommittedBeforeItOnce() {
+        long first = commit(10000);
+        long second = commit(10000);
+        long third = commit(10000);
+
+        assertChange(totals.apply(USER, MONTH, 10000, first), 0, 10000);
+        assertChange(totals.apply(USER, MONTH, 10000, second), 10000, 20000);
+        assertChange(totals.apply(USER, MONTH, 10000, third), 20000, 30000);
+        assertThat(totals.spentCents(USER, MONTH)).isEqualTo(30000L);
+    }
+
+    @Test
+    void changeQueuedAfterTheSeedIsAdded() {
+        long first = commit(10000);
+        totals.apply(USER, MONTH, 10000, first);
+
+        long second = commit(2500);
+
+        assertChange(totals.apply(USER, MONTH, 2500, second), 10000, 12500);
+        assertThat(totals.spentCents(USER, MONTH)).isEqualTo(12500L);
+    }
+
+    @Test
+    void reconcileLeavesQueuedChangesToReplay() {
+        long first = commit(10000);
+        totals.apply(USER, MONTH, 10000, first);
+        long second = commit(-4000);
+
+        totals.reconcile();
+
+        assertThat(totals.spentCents(USER, MONTH)).isEqualTo(6000L);
+        assertChange(totals.apply(USER, MONTH, -4000, second), 10000, 6000);
+        assertThat(totals.spentCents(USER, MONTH)).isEqualTo(6000L);
+    }
+
+    @Test
+    void droppedChangeNoLongerCountsAsPending() {
+        long dropped = commit(3000);
+        totals.settled(USER, MONTH, 3000);
+        long next = commit(1000);
+
+        assertChange(totals.apply(USER, MONTH, 1000, next), 3000, 4000);
+        assertThat(dropped).isLessThan(next);
+    }
+
+    @Test
+    void readingAMonthDoesNotSeedIt() {
+        committed = new BigDecimal("50.00");
+        assertThat(totals.spentCents(USER, MONTH)).isEqualTo(5000L);
+
+        long next = commit(1000);
+
+        assertChange(totals.apply(USER, MONTH, 1000, next), 5000, 6000);
+    }
+
+    /** Commits the delta to the "database" and queues it, as the monitor's listener does. */
+    private long commit(long cents) {
+        committed = committed.add(MonthlySpendingTotals.fromCents(cents));
+        return totals.queued(USER, Map.of(MONTH, cents));
+    }
+
+    private static void assertChange(MonthlySpendingTotals.Change change, long before, long after) {
+        assertThat(change.before()).isEqualTo(before);
+        assertThat(change.after()).isEqualTo(after);
+    }
+}
@@ -0,0 +1,171 @@
+package dev.jade.expensetracker.domain.expense;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseFilter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filtered listing queries exactly as Hibernate generates them through
+ * {@code EXPLAIN}, and checks each one range-scans its {@code (user_id, column)}
+ * index rather than reading every row the user owns.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "dev.jade.expensetracker.domain.expense.ExpenseQueryPlanTest$CapturingInspector")
+class ExpenseQueryPlanTest {
+
+    private static final int ROWS = 5000;
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    /** Records every statement Hibernate prepares, in order. */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO users (email, password) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, "plan-" + System.nanoTime() + "@example.com");
+            statement.setString(2, "unused");
+            return statement;
+        }, keyHolder);
+        userId = keyHolder.getKey().longValue();
+
+        // Amounts, descriptions and dates spread evenly, so each filter below is selective.
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{
+                    userId,
+                    "item-%05d".formatted(i),
+                    BigDecimal.valueOf(i + 1).setScale(2),
+                    Date.valueOf(FIRST_DAY.plusDays(i % 730))
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO expenses (user_id, description, amount, entry_date) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE expenses");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void dateRangeScansUserEntryDateIndex() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 7);
+        Map<String, Object> plan = explainPage(new ExpenseFilter(from, to, null, null, null, null, null),
+                userId, Date.valueOf(from), Date.valueOf(to));
+
+        assertRangeScan(plan, "idx_expenses_user_entry_date");
+    }
+
+    @Test
+    void amountRangeScansUserAmountIndex() {
+        BigDecimal min = new BigDecimal("100.00");
+        BigDecimal max = new BigDecimal("150.00");
+        Map<String, Object> plan = explainPage(new ExpenseFilter(null, null, min, max, null, null, null),
+                userId, min, max);
+
+        assertRangeScan(plan, "idx_expenses_user_amount");
+    }
+
+    @Test
+    void descriptionPrefixScansUserDescriptionIndex() {
+        Map<String, Object> plan = explainPage(new ExpenseFilter(null, null, null, null, "item-0012", null, null),
+                userId, "item-0012%");
+
+        assertRangeScan(plan, "idx_expenses_user_description");
+    }
+
+    @Test
+    void seekPageScansUserEntryDateIndex() {
+        ExpenseSeekCursor cursor = new ExpenseSeekCursor(LocalDate.of(2025, 6, 1), Long.MAX_VALUE);
+        Specification<Expense> specification = ExpenseSpecifications
+                .matching(userId, new ExpenseFilter(null, null, null, null, null, null, null))
+                .and(ExpenseSpecifications.after(cursor, Sort.Direction.DESC));
+
+        CapturingInspector.STATEMENTS.clear();
+        expenseRepository.findBy(specification, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "entryDate", "expenseId"))
+                .limit(PAGE_SIZE + 1)
+                .all());
+        Map<String, Object> plan = explain(PAGE_SIZE + 1, userId,
+                Date.valueOf(cursor.entryDate()), Date.valueOf(cursor.entryDate()), cursor.expenseId());
+
+        assertRangeScan(plan, "idx_expenses_user_entry_date");
+    }
+
+    private Map<String, Object> explainPage(ExpenseFilter filter, Object... parameters) {
+        CapturingInspector.STATEMENTS.clear();
+        expenseRepository.findAll(ExpenseSpecifications.matching(userId, filter),
+                PageRequest.of(0, PAGE_SIZE, Sort.by("entryDate").descending()));
+        return explain(PAGE_SIZE, parameters);
+    }
+
+    /**
+     * Explains the last row query captured, binding {@code parameters} in order.
+     * Hibernate binds the row limit as a trailing parameter, which gets {@code limit}.
+     */
+    private Map<String, Object> explain(int limit, Object... parameters) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.startsWith("select") && !statement.contains("count("))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] bound = Arrays.copyOf(parameters, placeholders);
+        Arrays.fill(bound, parameters.length, placeholders, limit);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, bound);
+        assertThat(plan).hasSize(1);
+        return plan.getFirst();
+    }
+
+    private static void assertRangeScan(Map<String, Object> plan, String index) {
+        assertThat(plan.get("type")).as("access type").isEqualTo("range");
+        assertThat(plan.get("key")).as("index").isEqualTo(index);
+    }
+}
@@ -0,0 +1,68 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Long USER = 1L;
+
+    private final InMemoryIdempotencyStore store =
+            new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofSeconds(30), 2);
+
+    @Test
+    void secondClaimLosesUntilTheFirstIsReleased() {
+        assertThat(store.claim(USER, "k", "f")).isTrue();
+        assertThat(store.claim(USER, "k", "f")).isFalse();
+        assertThat(store.find(USER, "k").get().isPending()).isTrue();
+
+        store.release(USER, "k");
+
+        assertThat(store.find(USER, "k").isPresent()).isFalse();
+        assertThat(store.claim(USER, "k", "f")).isTrue();
+    }
+
+    @Test
+    void completedClaimIsReplayedAndNotReleased() {
+        store.claim(USER, "k", "f");
+        IdempotentResult result = new IdempotentResult("f", response(10L));
+
+        store.complete(USER, "k", result);
+        store.release(USER, "k");
+
+        assertThat(store.find(USER, "k").get()).isEqualTo(result);
+        assertThat(store.claim(USER, "k", "f")).isFalse();
+    }
+
+    @Test
+    void expiredClaimIsTakenOver() {
+        InMemoryIdempotencyStore shortClaims =
+                new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(-1), 10);
+        shortClaims.claim(USER, "k", "f");
+
+        assertThat(shortClaims.find(USER, "k").isPresent()).isFalse();
+        assertThat(shortClaims.claim(USER, "k", "g")).isTrue();
+    }
+
+    @Test
+    void keepsOnlyTheNewestEntries() {
+        store.complete(USER, "a", new IdempotentResult("f", response(1L)));
+        store.complete(USER, "b", new IdempotentResult("f", response(2L)));
+        store.complete(USER, "c", new IdempotentResult("f", response(3L)));
+
+        assertThat(store.find(USER, "a").isPresent()).isFalse();
+        assertThat(store.find(USER, "c").get().response().expenseId()).isEqualTo(3L);
+    }
+
+    private static ExpenseResponse response(Long expenseId) {
+        return new ExpenseResponse(expenseId, USER, "Lunch", new BigDecimal("12.50"), LocalDate.of(2026, 3, 14),
+                null, null, Instant.EPOCH, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.jade.expensetracker.domain.expense.idempotency;
+
+import dev.jade.expensetracker.domain.expense.dto.ExpenseRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestFingerprintTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Test
+    void isAHexSha256() {
+        String fingerprint = RequestFingerprint.of(request("Lunch", "12.50", "Food", List.of("work")));
+
+        assertThat(fingerprint.length()).isEqualTo(64);
+        assertThat(fingerprint.matches("[0-9a-f]+")).isTrue();
+    }
+
+    @Test
+    void ignoresTheScaleOfTheAmount() {
+        assertThat(RequestFingerprint.of(request("Lunch", "12.5", null, null)))
+                .isEqualTo(RequestFingerprint.of(request("Lunch", "12.50", null, null)));
+    }
+
+    @Test
+    void distinguishesEveryField() {
+        String base = RequestFingerprint.of(request("Lunch", "12.50", "Food", List.of("work")));
+
+        assertThat(RequestFingerprint.of(request("Lunch!", "12.50", "Food", List.of("work")))).isNotEqualTo(base);
+        assertThat(RequestFingerprint.of(request("Lunch", "12.51", "Food", List.of("work")))).isNotEqualTo(base);
+        assertThat(RequestFingerprint.of(request("Lunch", "12.50", "Fun", List.of("work")))).isNotEqualTo(base);
+        assertThat(RequestFingerprint.of(request("Lunch", "12.50", "Food", List.of("home")))).isNotEqualTo(base);
+        assertThat(RequestFingerprint.of(new ExpenseRequest("Lunch", new BigDecimal("12.50"), DAY.plusDays(1), "Food", List.of("work"))))
+                .isNotEqualTo(base);
+    }
+
+    @Test
+    void fieldBoundariesCannotShift() {
+        assertThat(RequestFingerprint.of(request("Lunch", "1", "ab", List.of("c"))))
+                .isNotEqualTo(RequestFingerprint.of(request("Lunch", "1", "a", List.of("bc"))));
+        assertThat(RequestFingerprint.of(request("Lunch", "1", null, List.of("a", "b"))))
+                .isNotEqualTo(RequestFingerprint.of(request("Lunch", "1", null, List.of("ab"))));
+        assertThat(RequestFingerprint.of(request("Lunch", "1", null, null)))
+                .isNotEqualTo(RequestFingerprint.of(request("Lunch", "1", null, List.of())));
+    }
+
+    private static ExpenseRequest request(String description, String amount, String category, List<String> tags) {
+        return new ExpenseRequest(description, new BigDecimal(amount), DAY, category, tags);
+    }
+}
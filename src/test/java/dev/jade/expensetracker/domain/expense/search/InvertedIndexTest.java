@@ -0,0 +1,104 @@
+package dev.jade.expensetracker.domain.expense.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void termMatchesEveryWordItPrefixes() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY, "Coffee beans");
+        index.put(2, DAY, "coffeehouse");
+        index.put(3, DAY, "Tea");
+
+        assertThat(ids(index.search(List.of("coff"), null, null, null, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void documentMustMatchAllTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY, "coffee beans");
+        index.put(2, DAY, "coffee cup");
+
+        assertThat(ids(index.search(List.of("coffee", "bean"), null, null, null, 10))).containsExactly(1L);
+        assertThat(index.search(List.of("coffee", "tea"), null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void datesOutsideTheRangeAreSkipped() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY.minusDays(1), "taxi");
+        index.put(2, DAY, "taxi");
+        index.put(3, DAY.plusDays(1), "taxi");
+
+        assertThat(ids(index.search(List.of("taxi"), DAY, DAY, null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesTheOldDescription() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY, "groceries");
+
+        index.put(1, DAY, "rent");
+
+        assertThat(index.search(List.of("groceries"), null, null, null, 10)).isEmpty();
+        assertThat(ids(index.search(List.of("rent"), null, null, null, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeDropsTheDocument() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY, "rent");
+        index.put(2, DAY, "rent deposit");
+
+        index.remove(1);
+        index.remove(42);
+
+        assertThat(ids(index.search(List.of("rent"), null, null, null, 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedWordsScoreHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, DAY, "taxi home");
+        index.put(2, DAY, "taxi taxi");
+
+        List<SearchHit> hits = index.search(List.of("taxi"), null, null, null, 10);
+
+        assertThat(ids(hits)).containsExactly(2L, 1L);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void pagesFollowTheCursorWithoutGapsOrRepeats() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 7; id++) {
+            index.put(id, DAY, id % 2 == 0 ? "lunch lunch" : "lunch");
+        }
+
+        List<Long> seen = new ArrayList<>();
+        SearchCursor cursor = null;
+        List<SearchHit> page;
+        while (!(page = index.search(List.of("lunch"), null, null, cursor, 3)).isEmpty()) {
+            assertThat(page.size()).isLessThanOrEqualTo(3);
+            seen.addAll(ids(page));
+            cursor = SearchCursor.of(page.getLast());
+        }
+
+        assertThat(seen).containsExactly(6L, 4L, 2L, 7L, 5L, 3L, 1L);
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::expenseId).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package dev.jade.expensetracker.domain.expense.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmountSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    @Test
+    void quantilesStayWithinTheRelativeAccuracy() {
+        Random random = new Random(42);
+        long[] amounts = new long[10_000];
+        AmountSketch sketch = new AmountSketch();
+        for (int i = 0; i < amounts.length; i++) {
+            // Log-uniform between 1.00 and 100,000.00, like real spending.
+            amounts[i] = Math.round(Math.pow(10, 2 + random.nextDouble() * 5));
+            sketch.add(amounts[i]);
+        }
+        Arrays.sort(amounts);
+
+        for (double q : QUANTILES) {
+            long exact = amounts[(int) Math.floor(q * (amounts.length - 1))];
+            long estimate = sketch.quantileCents(q);
+            assertThat((double) Math.abs(estimate - exact))
+                    .isLessThanOrEqualTo(exact * AmountSketch.RELATIVE_ACCURACY + 1);
+        }
+    }
+
+    @Test
+    void tracksExactTotalsAndExtremes() {
+        AmountSketch sketch = new AmountSketch();
+        sketch.add(1250);
+        sketch.add(99);
+        sketch.add(40000);
+
+        assertThat(sketch.count()).isEqualTo(3L);
+        assertThat(sketch.sumCents()).isEqualTo(41349L);
+        assertThat(sketch.minCents()).isEqualTo(99L);
+        assertThat(sketch.maxCents()).isEqualTo(40000L);
+    }
+
+    @Test
+    void mergeEqualsTheSketchOfTheUnion() {
+        Random random = new Random(7);
+        AmountSketch january = new AmountSketch();
+        AmountSketch february = new AmountSketch();
+        AmountSketch both = new AmountSketch();
+        for (int i = 0; i < 2_000; i++) {
+            long cents = 100 + random.nextInt(50_000);
+            (i % 3 == 0 ? january : february).add(cents);
+            both.add(cents);
+        }
+        // February alone reaches a lower bucket, so the merge has to grow downwards.
+        february.add(1);
+        both.add(1);
+
+        AmountSketch merged = new AmountSketch();
+        merged.merge(january);
+        merged.merge(february);
+
+        assertThat(merged.count()).isEqualTo(both.count());
+        assertThat(merged.sumCents()).isEqualTo(both.sumCents());
+        assertThat(merged.minCents()).isEqualTo(both.minCents());
+        assertThat(merged.maxCents()).isEqualTo(both.maxCents());
+        for (double q : QUANTILES) {
+            assertThat(merged.quantileCents(q)).isEqualTo(both.quantileCents(q));
+        }
+        assertThat(merged.histogram(10)).isEqualTo(both.histogram(10));
+    }
+
+    @Test
+    void mergingAnEmptySketchChangesNothing() {
+        AmountSketch sketch = new AmountSketch();
+        sketch.add(500);
+        long bytes = sketch.estimatedBytes();
+
+        sketch.merge(new AmountSketch());
+
+        assertThat(sketch.count()).isEqualTo(1L);
+        assertThat(sketch.minCents()).isEqualTo(500L);
+        assertThat(sketch.estimatedBytes()).isEqualTo(bytes);
+    }
+
+    @Test
+    void histogramCountsEveryAmountOnce() {
+        AmountSketch sketch = new AmountSketch();
+        for (long cents = 100; cents <= 10_000; cents += 100) {
+            sketch.add(cents);
+        }
+
+        long[] histogram = sketch.histogram(4);
+
+        assertThat(Arrays.stream(histogram).sum()).isEqualTo(100L);
+        assertThat(sketch.binBoundCents(0, 4)).isEqualTo(100L);
+        assertThat(sketch.binBoundCents(4, 4)).isEqualTo(10_000L);
+        for (long bin : histogram) {
+            assertThat(bin).isBetween(20L, 30L);
+        }
+    }
+
+    @Test
+    void singleAmountFallsInTheFirstBin() {
+        AmountSketch sketch = new AmountSketch();
+        sketch.add(2500);
+        sketch.add(2500);
+
+        assertThat(sketch.histogram(3)).isEqualTo(new long[]{2, 0, 0});
+        assertThat(sketch.quantileCents(0.5)).isEqualTo(2500L);
+    }
+
+    @Test
+    void allocatesOnlyTheSpanOfAmountsSeen() {
+        AmountSketch narrow = new AmountSketch();
+        for (long cents = 1000; cents <= 1100; cents++) {
+            narrow.add(cents);
+        }
+        AmountSketch wide = new AmountSketch();
+        wide.add(1);
+        wide.add(10_000_000);
+
+        assertThat(narrow.estimatedBytes()).isLessThan(200L);
+        assertThat(wide.estimatedBytes()).isGreaterThan(narrow.estimatedBytes());
+    }
+}
@@ -0,0 +1,91 @@
+package dev.jade.expensetracker.domain.expense.stats;
+
+import dev.jade.expensetracker.domain.expense.ExpenseChangedEvent;
+import dev.jade.expensetracker.domain.expense.dto.ExpenseResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonthlySketchCacheTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    @Test
+    void usersWithoutSketchesAreEvictedToo() {
+        MonthlySketchCache cache = new MonthlySketchCache(3 * MonthlySketchCache.USER_OVERHEAD_BYTES);
+
+        for (long userId = 1; userId <= 10; userId++) {
+            cache.forUser(userId);
+        }
+
+        assertThat(cache.residentUsers()).isEqualTo(3);
+        assertThat(cache.estimatedBytes()).isEqualTo(3 * MonthlySketchCache.USER_OVERHEAD_BYTES);
+    }
+
+    @Test
+    void storedSketchesCountTowardsTheBudget() {
+        MonthlySketchCache cache = new MonthlySketchCache(1 << 20);
+        MonthlySketchCache.UserSketches sketches = cache.forUser(1L);
+        AmountSketch sketch = sketch(1250, 990, 40000);
+
+        cache.store(sketches, MARCH, sketch, sketches.generation());
+
+        assertThat(sketches.get(MARCH)).isSameAs(sketch);
+        assertThat(cache.estimatedBytes()).isEqualTo(MonthlySketchCache.USER_OVERHEAD_BYTES + sketch.estimatedBytes());
+    }
+
+    @Test
+    void changeDropsTheMonthAndItsBytes() {
+        MonthlySketchCache cache = new MonthlySketchCache(1 << 20);
+        MonthlySketchCache.UserSketches sketches = cache.forUser(1L);
+        cache.store(sketches, MARCH, sketch(1250), sketches.generation());
+
+        cache.onExpenseChanged(ExpenseChangedEvent.created(expense(1L, LocalDate.of(2026, 3, 9))));
+
+        assertThat(sketches.get(MARCH)).isNull();
+        assertThat(cache.estimatedBytes()).isEqualTo(MonthlySketchCache.USER_OVERHEAD_BYTES);
+    }
+
+    @Test
+    void sketchStartedBeforeAChangeIsNotStored() {
+        MonthlySketchCache cache = new MonthlySketchCache(1 << 20);
+        MonthlySketchCache.UserSketches sketches = cache.forUser(1L);
+        long startedAt = sketches.generation();
+
+        cache.onExpenseChanged(ExpenseChangedEvent.created(expense(1L, LocalDate.of(2026, 3, 9))));
+        cache.store(sketches, MARCH, sketch(1250), startedAt);
+
+        assertThat(sketches.get(MARCH)).isNull();
+    }
+
+    @Test
+    void evictedUserStoresNothingAndFreesItsBytes() {
+        MonthlySketchCache cache = new MonthlySketchCache(MonthlySketchCache.USER_OVERHEAD_BYTES);
+        MonthlySketchCache.UserSketches first = cache.forUser(1L);
+        cache.forUser(2L);
+
+        cache.store(first, MARCH, sketch(1250), first.generation());
+
+        assertThat(first.get(MARCH)).isNull();
+        assertThat(cache.residentUsers()).isEqualTo(1);
+        assertThat(cache.estimatedBytes()).isEqualTo(MonthlySketchCache.USER_OVERHEAD_BYTES);
+    }
+
+    private static AmountSketch sketch(long... cents) {
+        AmountSketch sketch = new AmountSketch();
+        for (long amount : cents) {
+            sketch.add(amount);
+        }
+        return sketch;
+    }
+
+    private static ExpenseResponse expense(Long userId, LocalDate entryDate) {
+        return new ExpenseResponse(1L, userId, "Lunch", new BigDecimal("12.50"), entryDate, null, null,
+                Instant.EPOCH, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,112 @@
+package dev.jade.expensetracker.domain.expense.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDescriptionIndexTest {
+
+    private static final int TODAY = (int) LocalDate.of(2026, 6, 1).toEpochDay();
+
+    @Test
+    void ranksNewDescriptionsByUseCount() {
+        UserDescriptionIndex index = loaded();
+        index.upsert(1, "Coffee", TODAY);
+        index.upsert(2, "Cinema", TODAY);
+        index.upsert(3, "Coffee", TODAY);
+        index.upsert(4, "Coffee", TODAY);
+        index.upsert(5, "Cinema", TODAY);
+        index.upsert(6, "Car wash", TODAY);
+
+        assertThat(index.suggest("c", TODAY, 3)).containsExactly("Coffee", "Cinema", "Car wash");
+    }
+
+    @Test
+    void prefersRecentUseOverOlderUse() {
+        UserDescriptionIndex index = loaded();
+        index.upsert(1, "Rent", TODAY - 365);
+        index.upsert(2, "Restaurant", TODAY - 1);
+
+        assertThat(index.suggest("re", TODAY, 5)).containsExactly("Restaurant", "Rent");
+    }
+
+    @Test
+    void oneRecentUseOutweighsSeveralOldOnes() {
+        UserDescriptionIndex index = loaded();
+        // Four half-lives old: each of these weighs 1/16.
+        index.upsert(1, "Gym", TODAY - 360);
+        index.upsert(2, "Gym", TODAY - 360);
+        index.upsert(3, "Gym", TODAY - 360);
+        index.upsert(4, "Groceries", TODAY);
+
+        assertThat(index.suggest("g", TODAY, 5)).containsExactly("Groceries", "Gym");
+    }
+
+    @Test
+    void snapshotLoadRanksLikeIncrementalUpdates() {
+        long[] ids = {1, 2, 3, 4, 5, 6, 7};
+        String[] descriptions = {"Bus", "Books", "Bus", "Bakery", "Books", "Bus", "Bakery"};
+        int[] days = {TODAY - 200, TODAY - 3, TODAY - 100, TODAY, TODAY - 2, TODAY - 300, TODAY - 1};
+
+        UserDescriptionIndex snapshot = new UserDescriptionIndex(90);
+        snapshot.completeLoad(ids, descriptions, days, ids.length);
+
+        UserDescriptionIndex incremental = loaded();
+        for (int i = ids.length - 1; i >= 0; i--) {
+            incremental.upsert(ids[i], descriptions[i], days[i]);
+        }
+
+        assertThat(snapshot.suggest("b", TODAY, 5))
+                .containsExactly("Bakery", "Books", "Bus")
+                .isEqualTo(incremental.suggest("b", TODAY, 5));
+    }
+
+    @Test
+    void deleteTakesBackWhatTheExpenseAdded() {
+        UserDescriptionIndex index = loaded();
+        index.upsert(1, "Coffee", TODAY);
+        index.upsert(2, "Coffee", TODAY);
+        index.upsert(3, "Coffee", TODAY);
+        index.upsert(4, "Cinema", TODAY);
+        index.upsert(5, "Cinema", TODAY);
+
+        index.remove(1);
+        index.remove(2);
+
+        assertThat(index.suggest("c", TODAY, 5)).containsExactly("Cinema", "Coffee");
+
+        index.remove(3);
+
+        assertThat(index.suggest("c", TODAY, 5)).containsExactly("Cinema");
+    }
+
+    @Test
+    void updateMovesTheUseToTheNewDescription() {
+        UserDescriptionIndex index = loaded();
+        index.upsert(1, "Coffee", TODAY);
+        index.upsert(2, "Coffee", TODAY);
+        index.upsert(3, "Cake", TODAY);
+
+        index.upsert(2, "Cake", TODAY);
+
+        assertThat(index.suggest("c", TODAY, 5)).containsExactly("Cake", "Coffee");
+    }
+
+    @Test
+    void matchesPrefixIgnoringCaseAndKeepsDisplayCase() {
+        UserDescriptionIndex index = loaded();
+        index.upsert(1, "Netflix", TODAY);
+        index.upsert(2, "Nails", TODAY);
+
+        assertThat(index.suggest("NE", TODAY, 5)).containsExactly("Netflix");
+        assertThat(index.suggest("x", TODAY, 5)).isEmpty();
+    }
+
+    private static UserDescriptionIndex loaded() {
+        UserDescriptionIndex index = new UserDescriptionIndex(90);
+        index.completeLoad(new long[0], new String[0], new int[0], 0);
+        return index;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.jade.expensetracker.domain.expense.tag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserTagBitmapsTest {
+
+    private static final String[] NONE = new String[0];
+
+    @Test
+    void categoryAndEveryGroupMustMatch() {
+        UserTagBitmaps bitmaps = loaded();
+
+        assertThat(bitmaps.match(query("food", List.of("work")))).isEqualTo(new long[]{10});
+        assertThat(bitmaps.match(query(null, List.of("work"), List.of("travel")))).isEqualTo(new long[]{30});
+    }
+
+    @Test
+    void anyTagOfAGroupMatches() {
+        UserTagBitmaps bitmaps = loaded();
+
+        assertThat(bitmaps.match(query(null, List.of("work", "home")))).isEqualTo(new long[]{10, 20, 30});
+        assertThat(bitmaps.match(query("food", List.of("home", "missing")))).isEqualTo(new long[]{20});
+    }
+
+    @Test
+    void unknownNamesAndEmptyQueriesMatchNothing() {
+        UserTagBitmaps bitmaps = loaded();
+
+        assertThat(bitmaps.match(query("rent"))).isEmpty();
+        assertThat(bitmaps.match(query(null, List.of("missing")))).isEmpty();
+        assertThat(bitmaps.match(query(null))).isEmpty();
+    }
+
+    @Test
+    void setReplacesAllLabels() {
+        UserTagBitmaps bitmaps = loaded();
+
+        bitmaps.set(10, "travel", new String[]{"home"});
+
+        assertThat(bitmaps.match(query("food"))).isEqualTo(new long[]{20});
+        assertThat(bitmaps.match(query(null, List.of("work")))).isEqualTo(new long[]{30});
+        assertThat(bitmaps.match(query("travel", List.of("home")))).isEqualTo(new long[]{10});
+    }
+
+    @Test
+    void removeDropsTheExpenseFromEveryBitmap() {
+        UserTagBitmaps bitmaps = loaded();
+
+        bitmaps.remove(30);
+        bitmaps.remove(99);
+
+        assertThat(bitmaps.match(query(null, List.of("travel")))).isEmpty();
+        assertThat(bitmaps.match(query(null, List.of("work")))).isEqualTo(new long[]{10});
+    }
+
+    @Test
+    void expensesLabelledAfterTheLoadComeBackInIdOrder() {
+        UserTagBitmaps bitmaps = loaded();
+
+        bitmaps.set(5, "food", NONE);
+        bitmaps.set(15, "food", NONE);
+
+        assertThat(bitmaps.match(query("food"))).isEqualTo(new long[]{5, 10, 15, 20});
+    }
+
+    @Test
+    void unlabelledExpensesTakeNoSpace() {
+        UserTagBitmaps bitmaps = loaded();
+        long before = bitmaps.estimatedBytes();
+
+        bitmaps.set(50, null, NONE);
+
+        assertThat(bitmaps.estimatedBytes()).isEqualTo(before);
+    }
+
+    private static UserTagBitmaps loaded() {
+        UserTagBitmaps bitmaps = new UserTagBitmaps();
+        complete(bitmaps);
+        return bitmaps;
+    }
+
+    private static void complete(UserTagBitmaps bitmaps) {
+        bitmaps.completeLoad(
+                new long[]{10, 20, 30},
+                new String[]{"food", "food", null},
+                new String[][]{{"work"}, {"home"}, {"work", "travel"}},
+                3);
+    }
+
+    @SafeVarargs
+    private static TagQuery query(String category, List<String>... groups) {
+        return new TagQuery(category, List.of(groups));
+    }
+}